@@ -0,0 +1,57 @@
+package com.mapsh.demo
+
+import android.app.Activity
+import android.os.Handler
+import android.support.v7.widget.RecyclerView
+import android.view.Menu
+import android.view.MenuItem
+import com.mapsh.recyclerview.divider.testing.DividerFrameMetrics
+import com.mapsh.recyclerview.divider.testing.StressAdapter
+import com.mapsh.recyclerview.divider.testing.StressScenario
+import com.mapsh.recyclerview.divider.testing.StressScenarios
+
+/**
+ * Lists the stress scenarios of divider-testing in the options menu, only in the debug builds.
+ * Their frame metrics are logged with the tag DividerFrameMetrics.
+ */
+class StressMenu(private val activity: Activity,
+                 private val recyclerView: RecyclerView,
+                 private val onScenarioShown: () -> Unit) {
+
+    private val scenarios = StressScenarios.all()
+    private val handler = Handler()
+    private var metrics: DividerFrameMetrics? = null
+
+    fun onCreateOptionsMenu(menu: Menu) {
+        // the stress scenarios are listed in the overflow menu
+        scenarios.forEachIndexed { index, scenario -> menu.add(Menu.NONE, index, index, scenario.name) }
+    }
+
+    fun onOptionsItemSelected(item: MenuItem): Boolean {
+        val scenario = scenarios.getOrNull(item.itemId) ?: return false
+        show(scenario)
+        return true
+    }
+
+    fun onDestroy() {
+        handler.removeCallbacksAndMessages(null)
+    }
+
+    private fun show(scenario: StressScenario) {
+        handler.removeCallbacksAndMessages(null)
+        onScenarioShown()
+        metrics?.removeFrom(recyclerView)
+        metrics = scenario.showIn(recyclerView)
+        activity.title = scenario.name
+
+        val script = scenario.mutationScript ?: return
+        val adapter = recyclerView.adapter as StressAdapter
+        for (step in 0 until script.stepCount) {
+            handler.postDelayed({ script.apply(step, adapter) }, (step + 1) * STEP_DELAY_MS)
+        }
+    }
+
+    companion object {
+        private const val STEP_DELAY_MS = 500L
+    }
+}
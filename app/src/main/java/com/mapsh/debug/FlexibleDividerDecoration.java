@@ -11,7 +11,6 @@ import android.support.annotation.ColorRes;
 import android.support.annotation.DimenRes;
 import android.support.annotation.DrawableRes;
 import android.support.v4.content.ContextCompat;
-import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.view.View;
@@ -35,7 +34,11 @@ public abstract class FlexibleDividerDecoration extends RecyclerView.ItemDecorat
     protected FlexibleDividerDecoration.SizeProvider mSizeProvider;
     protected boolean mShowLastDivider;
     protected boolean mPositionInsideItem;
+    protected boolean mReverseLayout;
     private Paint mPaint;
+    private final Rect mBounds = new Rect();
+    private final SpanLineCache mSpanLineCache = new SpanLineCache();
+    private final LineBatch mLineBatch = new LineBatch();
 
     protected FlexibleDividerDecoration(FlexibleDividerDecoration.Builder builder) {
         if (builder.mPaintProvider != null) {
@@ -88,8 +91,11 @@ public abstract class FlexibleDividerDecoration extends RecyclerView.ItemDecorat
             return;
         }
 
+        onFrameStart(parent);
+        mSpanLineCache.update(parent);
+
         int itemCount = adapter.getItemCount();
-        int lastDividerOffset = getLastDividerOffset(parent);
+        int lastDividerOffset = mSpanLineCache.getLastDividerOffset();
         int validChildCount = parent.getChildCount();
         int lastChildPosition = -1;
         for (int i = 0; i < validChildCount; i++) {
@@ -107,17 +113,19 @@ public abstract class FlexibleDividerDecoration extends RecyclerView.ItemDecorat
                 continue;
             }
 
-            if (wasDividerAlreadyDrawn(childPosition, parent)) {
+            if (wasDividerAlreadyDrawn(childPosition)) {
                 // No need to draw divider again as it was drawn already by previous column
                 continue;
             }
 
-            int groupIndex = getGroupIndex(childPosition, parent);
+            int groupIndex = mSpanLineCache.getGroupIndex(childPosition);
             if (mVisibilityProvider.shouldHideDivider(groupIndex, parent)) {
                 continue;
             }
 
-            Rect bounds = getDividerBound(groupIndex, parent, child);
+            int dividerSize = getDividerSize(groupIndex, parent);
+            Rect bounds = mBounds;
+            getDividerBound(bounds, groupIndex, dividerSize, parent, child);
             switch (mDividerType) {
                 case DRAWABLE:
                     Drawable drawable = mDrawableProvider.drawableProvider(groupIndex, parent);
@@ -125,29 +133,33 @@ public abstract class FlexibleDividerDecoration extends RecyclerView.ItemDecorat
                     drawable.draw(c);
                     break;
                 case PAINT:
-                    mPaint = mPaintProvider.dividerPaint(groupIndex, parent);
-                    c.drawLine(bounds.left, bounds.top, bounds.right, bounds.bottom, mPaint);
+                    Paint paint = mPaintProvider.dividerPaint(groupIndex, parent);
+                    mLineBatch.add(paint, paint.getColor(), paint.getStrokeWidth(),
+                            bounds.left, bounds.top, bounds.right, bounds.bottom);
                     break;
                 case COLOR:
-                    mPaint.setColor(mColorProvider.dividerColor(groupIndex, parent));
-                    mPaint.setStrokeWidth(mSizeProvider.dividerSize(groupIndex, parent));
-                    c.drawLine(bounds.left, bounds.top, bounds.right, bounds.bottom, mPaint);
+                    mLineBatch.add(null, mColorProvider.dividerColor(groupIndex, parent), dividerSize,
+                            bounds.left, bounds.top, bounds.right, bounds.bottom);
                     break;
             }
         }
+
+        // lines are drawn with one call for each distinct style
+        mLineBatch.flush(c, mPaint);
     }
 
     @Override
     public void getItemOffsets(Rect rect, View v, RecyclerView parent, RecyclerView.State state) {
         int position = parent.getChildAdapterPosition(v);
         int itemCount = parent.getAdapter().getItemCount();
-        int lastDividerOffset = getLastDividerOffset(parent);
+        mSpanLineCache.update(parent);
+        int lastDividerOffset = mSpanLineCache.getLastDividerOffset();
         if (!mShowLastDivider && position >= itemCount - lastDividerOffset) {
             // Don't set item offset for last line if mShowLastDivider = false
             return;
         }
 
-        int groupIndex = getGroupIndex(position, parent);
+        int groupIndex = mSpanLineCache.getGroupIndex(position);
         if (mVisibilityProvider.shouldHideDivider(groupIndex, parent)) {
             return;
         }
@@ -155,6 +167,16 @@ public abstract class FlexibleDividerDecoration extends RecyclerView.ItemDecorat
         setItemOffsets(rect, groupIndex, parent);
     }
 
+    /**
+     * Captures the values which don't change between the children of the same frame,
+     * so they are read once per {@link #onDraw(Canvas, RecyclerView, RecyclerView.State)} instead of once per child
+     *
+     * @param parent RecyclerView
+     */
+    protected void onFrameStart(RecyclerView parent) {
+        mReverseLayout = isReverseLayout(parent);
+    }
+
     /**
      * Check if recyclerview is reverse layout
      *
@@ -171,30 +193,12 @@ public abstract class FlexibleDividerDecoration extends RecyclerView.ItemDecorat
     }
 
     /**
-     * In the case mShowLastDivider = false,
-     * Returns offset for how many views we don't have to draw a divider for,
-     * for LinearLayoutManager it is as simple as not drawing the last child divider,
-     * but for a GridLayoutManager it needs to take the span count for the last items into account
-     * until we use the span count configured for the grid.
-     *
-     * @param parent RecyclerView
-     * @return offset for how many views we don't have to draw a divider or 1 if its a
-     * LinearLayoutManager
+     * Invalidates the cached span data. It must be called when the span size lookup attached to the
+     * GridLayoutManager changes its results without being replaced, otherwise adapter notifications,
+     * span count changes and new span size lookups are detected automatically.
      */
-    private int getLastDividerOffset(RecyclerView parent) {
-        if (parent.getLayoutManager() instanceof GridLayoutManager) {
-            GridLayoutManager layoutManager = (GridLayoutManager) parent.getLayoutManager();
-            GridLayoutManager.SpanSizeLookup spanSizeLookup = layoutManager.getSpanSizeLookup();
-            int spanCount = layoutManager.getSpanCount();
-            int itemCount = parent.getAdapter().getItemCount();
-            for (int i = itemCount - 1; i >= 0; i--) {
-                if (spanSizeLookup.getSpanIndex(i, spanCount) == 0) {
-                    return itemCount - i;
-                }
-            }
-        }
-
-        return 1;
+    public void invalidateSpanIndexCache() {
+        mSpanLineCache.invalidate();
     }
 
     /**
@@ -202,40 +206,33 @@ public abstract class FlexibleDividerDecoration extends RecyclerView.ItemDecorat
      * effectively only makes sense for a grid
      *
      * @param position current view position to draw divider
-     * @param parent   RecyclerView
      * @return true if the divider can be skipped as it is in the same row as the previous one.
      */
-    private boolean wasDividerAlreadyDrawn(int position, RecyclerView parent) {
-        if (parent.getLayoutManager() instanceof GridLayoutManager) {
-            GridLayoutManager layoutManager = (GridLayoutManager) parent.getLayoutManager();
-            GridLayoutManager.SpanSizeLookup spanSizeLookup = layoutManager.getSpanSizeLookup();
-            int spanCount = layoutManager.getSpanCount();
-            return spanSizeLookup.getSpanIndex(position, spanCount) > 0;
-        }
-
-        return false;
+    private boolean wasDividerAlreadyDrawn(int position) {
+        return mSpanLineCache.getSpanIndex(position) > 0;
     }
 
     /**
-     * Returns a group index for GridLayoutManager.
-     * for LinearLayoutManager, always returns position.
+     * Writes the divider bounds of a child into a reused rect.
+     * Values captured in {@link #onFrameStart(RecyclerView)} are valid while this method is called.
      *
-     * @param position current view position to draw divider
-     * @param parent   RecyclerView
-     * @return group index of items
+     * @param outBounds   rect that will receive the bounds
+     * @param position    Divider position (or group index for GridLayoutManager)
+     * @param dividerSize size of the divider already resolved for this position
+     * @param parent      RecyclerView
+     * @param child       child view
      */
-    private int getGroupIndex(int position, RecyclerView parent) {
-        if (parent.getLayoutManager() instanceof GridLayoutManager) {
-            GridLayoutManager layoutManager = (GridLayoutManager) parent.getLayoutManager();
-            GridLayoutManager.SpanSizeLookup spanSizeLookup = layoutManager.getSpanSizeLookup();
-            int spanCount = layoutManager.getSpanCount();
-            return spanSizeLookup.getSpanGroupIndex(position, spanCount);
-        }
+    protected abstract void getDividerBound(Rect outBounds, int position, int dividerSize, RecyclerView parent, View child);
 
-        return position;
-    }
-
-    protected abstract Rect getDividerBound(int position, RecyclerView parent, View child);
+    /**
+     * Returns size value of divider.
+     * Height for horizontal divider, width for vertical divider
+     *
+     * @param position Divider position (or group index for GridLayoutManager)
+     * @param parent   RecyclerView
+     * @return Size of divider
+     */
+    protected abstract int getDividerSize(int position, RecyclerView parent);
 
     protected abstract void setItemOffsets(Rect outRect, int position, RecyclerView parent);
 
@@ -15,6 +15,8 @@ import android.view.View;
 public class HorizontalDividerItemDecoration extends FlexibleDividerDecoration {
 
     private MarginProvider mMarginProvider;
+    private int mParentLeft;
+    private int mParentRight;
 
     protected HorizontalDividerItemDecoration(Builder builder) {
         super(builder);
@@ -22,18 +24,23 @@ public class HorizontalDividerItemDecoration extends FlexibleDividerDecoration {
     }
 
     @Override
-    protected Rect getDividerBound(int position, RecyclerView parent, View child) {
-        Rect bounds = new Rect(0, 0, 0, 0);
+    protected void onFrameStart(RecyclerView parent) {
+        super.onFrameStart(parent);
+        mParentLeft = parent.getPaddingLeft();
+        mParentRight = parent.getWidth() - parent.getPaddingRight();
+    }
+
+    @Override
+    protected void getDividerBound(Rect bounds, int position, int dividerSize, RecyclerView parent, View child) {
         int transitionX = (int) ViewCompat.getTranslationX(child);
         int transitionY = (int) ViewCompat.getTranslationY(child);
         RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
-        bounds.left = parent.getPaddingLeft() +
+        bounds.left = mParentLeft +
                 mMarginProvider.dividerLeftMargin(position, parent) + transitionX;
-        bounds.right = parent.getWidth() - parent.getPaddingRight() -
+        bounds.right = mParentRight -
                 mMarginProvider.dividerRightMargin(position, parent) + transitionX;
 
-        int dividerSize = getDividerSize(position, parent);
-        boolean isReverseLayout = isReverseLayout(parent);
+        boolean isReverseLayout = mReverseLayout;
         if (mDividerType == DividerType.DRAWABLE) {
             // set top and bottom position of divider
             if (isReverseLayout) {
@@ -63,8 +70,6 @@ public class HorizontalDividerItemDecoration extends FlexibleDividerDecoration {
                 bounds.bottom -= dividerSize;
             }
         }
-
-        return bounds;
     }
 
     @Override
@@ -81,7 +86,8 @@ public class HorizontalDividerItemDecoration extends FlexibleDividerDecoration {
         }
     }
 
-    private int getDividerSize(int position, RecyclerView parent) {
+    @Override
+    protected int getDividerSize(int position, RecyclerView parent) {
         if (mPaintProvider != null) {
             return (int) mPaintProvider.dividerPaint(position, parent).getStrokeWidth();
         } else if (mSizeProvider != null) {
@@ -0,0 +1,127 @@
+package com.mapsh.debug;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * Collects the line endpoints of a frame grouped by style, so every style is drawn
+ * with a single {@link Canvas#drawLines(float[], int, int, Paint)} call.
+ * <br>
+ * A style is defined by the color, the stroke width and, in {@link DividerType#PAINT} mode, the provided {@link Paint}.
+ * All the buffers are reused between frames.
+ */
+class LineBatch {
+
+    private static final int INITIAL_GROUPS = 4;
+    private static final int INITIAL_POINTS = 64;
+
+    private final Paint mScratchPaint = new Paint();
+
+    private Paint[] mPaints = new Paint[INITIAL_GROUPS];
+    private int[] mColors = new int[INITIAL_GROUPS];
+    private float[] mWidths = new float[INITIAL_GROUPS];
+    private float[][] mPoints = new float[INITIAL_GROUPS][];
+    private int[] mCounts = new int[INITIAL_GROUPS];
+    private int mGroupCount;
+    private int mLastGroup = -1;
+
+    /**
+     * Adds a line to the group of its style
+     *
+     * @param paint paint provided by the user, null in {@link DividerType#COLOR} mode
+     * @param color color of the line
+     * @param width stroke width of the line
+     */
+    void add(Paint paint, int color, float width, float startX, float startY, float stopX, float stopY) {
+        int group = findGroup(paint, color, width);
+        float[] points = mPoints[group];
+        int count = mCounts[group];
+        if (count + 4 > points.length) {
+            float[] newPoints = new float[points.length * 2];
+            System.arraycopy(points, 0, newPoints, 0, count);
+            mPoints[group] = points = newPoints;
+        }
+        points[count] = startX;
+        points[count + 1] = startY;
+        points[count + 2] = stopX;
+        points[count + 3] = stopY;
+        mCounts[group] = count + 4;
+    }
+
+    /**
+     * Draws all the collected lines and clears the groups keeping their buffers
+     *
+     * @param canvas     Canvas used to draw the lines
+     * @param colorPaint paint used in {@link DividerType#COLOR} mode
+     */
+    void flush(Canvas canvas, Paint colorPaint) {
+        for (int i = 0; i < mGroupCount; i++) {
+            Paint paint = mPaints[i];
+            if (paint == null) {
+                paint = colorPaint;
+                paint.setColor(mColors[i]);
+                paint.setStrokeWidth(mWidths[i]);
+            } else if (paint.getColor() != mColors[i] || paint.getStrokeWidth() != mWidths[i]) {
+                // the provider changed the same Paint instance between two positions, use a copy of its state at that time
+                mScratchPaint.set(paint);
+                mScratchPaint.setColor(mColors[i]);
+                mScratchPaint.setStrokeWidth(mWidths[i]);
+                paint = mScratchPaint;
+            }
+            canvas.drawLines(mPoints[i], 0, mCounts[i], paint);
+            mPaints[i] = null;
+            mCounts[i] = 0;
+        }
+        mGroupCount = 0;
+        mLastGroup = -1;
+    }
+
+    private int findGroup(Paint paint, int color, float width) {
+        // consecutive dividers usually share the same style
+        if (mLastGroup >= 0 && matches(mLastGroup, paint, color, width)) {
+            return mLastGroup;
+        }
+        for (int i = 0; i < mGroupCount; i++) {
+            if (matches(i, paint, color, width)) {
+                mLastGroup = i;
+                return i;
+            }
+        }
+
+        if (mGroupCount == mPaints.length) {
+            grow();
+        }
+        int group = mGroupCount++;
+        mPaints[group] = paint;
+        mColors[group] = color;
+        mWidths[group] = width;
+        if (mPoints[group] == null) {
+            mPoints[group] = new float[INITIAL_POINTS];
+        }
+        mLastGroup = group;
+        return group;
+    }
+
+    private boolean matches(int group, Paint paint, int color, float width) {
+        return mPaints[group] == paint && mColors[group] == color && mWidths[group] == width;
+    }
+
+    private void grow() {
+        int size = mPaints.length * 2;
+        Paint[] paints = new Paint[size];
+        System.arraycopy(mPaints, 0, paints, 0, mGroupCount);
+        mPaints = paints;
+        int[] colors = new int[size];
+        System.arraycopy(mColors, 0, colors, 0, mGroupCount);
+        mColors = colors;
+        float[] widths = new float[size];
+        System.arraycopy(mWidths, 0, widths, 0, mGroupCount);
+        mWidths = widths;
+        float[][] points = new float[size][];
+        System.arraycopy(mPoints, 0, points, 0, mPoints.length);
+        mPoints = points;
+        int[] counts = new int[size];
+        System.arraycopy(mCounts, 0, counts, 0, mGroupCount);
+        mCounts = counts;
+    }
+}
@@ -0,0 +1,157 @@
+package com.mapsh.debug;
+
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * Keeps the span index and the group index of every position of a grid,
+ * so the per child checks of {@link FlexibleDividerDecoration} don't call the {@link GridLayoutManager.SpanSizeLookup}.
+ * <br>
+ * The data is built once and it is invalidated when the adapter notifies a change,
+ * when the span count changes or when a different span size lookup is set.
+ */
+class SpanLineCache {
+
+    private final RecyclerView.AdapterDataObserver mObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            invalidate();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            invalidate();
+        }
+    };
+
+    private RecyclerView.Adapter mAdapter;
+    private GridLayoutManager.SpanSizeLookup mSpanSizeLookup;
+    private int mSpanCount;
+    private int mItemCount;
+    private boolean mValid;
+    private boolean mGrid;
+
+    private int[] mSpanIndexes = new int[0];
+    private int[] mGroupIndexes = new int[0];
+    private int mLastDividerOffset = 1;
+
+    /**
+     * Checks the state of the RecyclerView and rebuilds the data if it isn't valid anymore.
+     * When the data is still valid, this method runs in constant time.
+     *
+     * @param parent RecyclerView
+     */
+    void update(RecyclerView parent) {
+        RecyclerView.Adapter adapter = parent.getAdapter();
+        if (adapter != mAdapter) {
+            if (mAdapter != null) {
+                mAdapter.unregisterAdapterDataObserver(mObserver);
+            }
+            mAdapter = adapter;
+            if (adapter != null) {
+                adapter.registerAdapterDataObserver(mObserver);
+            }
+            mValid = false;
+        }
+
+        RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
+        if (!(layoutManager instanceof GridLayoutManager) || adapter == null) {
+            mGrid = false;
+            mSpanSizeLookup = null;
+            mLastDividerOffset = 1;
+            return;
+        }
+
+        GridLayoutManager gridLayoutManager = (GridLayoutManager) layoutManager;
+        GridLayoutManager.SpanSizeLookup spanSizeLookup = gridLayoutManager.getSpanSizeLookup();
+        int spanCount = gridLayoutManager.getSpanCount();
+        int itemCount = adapter.getItemCount();
+        if (mValid && mGrid && spanSizeLookup == mSpanSizeLookup && spanCount == mSpanCount && itemCount == mItemCount) {
+            return;
+        }
+
+        mGrid = true;
+        mSpanSizeLookup = spanSizeLookup;
+        mSpanCount = spanCount;
+        mItemCount = itemCount;
+        rebuild();
+        mValid = true;
+    }
+
+    /**
+     * Forces the rebuild of the data on the next {@link #update(RecyclerView)} call
+     */
+    void invalidate() {
+        mValid = false;
+    }
+
+    /**
+     * @return offset for how many views are in the last line, 1 if the layout manager isn't a grid
+     */
+    int getLastDividerOffset() {
+        return mLastDividerOffset;
+    }
+
+    /**
+     * @param position adapter position
+     * @return span index of the item, 0 if the layout manager isn't a grid
+     */
+    int getSpanIndex(int position) {
+        return mGrid && position >= 0 && position < mItemCount ? mSpanIndexes[position] : 0;
+    }
+
+    /**
+     * @param position adapter position
+     * @return group index of the item, the position itself if the layout manager isn't a grid
+     */
+    int getGroupIndex(int position) {
+        return mGrid && position >= 0 && position < mItemCount ? mGroupIndexes[position] : position;
+    }
+
+    private void rebuild() {
+        final int itemCount = mItemCount;
+        final int spanCount = mSpanCount;
+        if (mSpanIndexes.length < itemCount) {
+            mSpanIndexes = new int[itemCount];
+            mGroupIndexes = new int[itemCount];
+        }
+
+        // same algorithm used by GridLayoutManager.SpanSizeLookup, computed in a single pass
+        int span = 0;
+        int group = 0;
+        int lastLineStart = 0;
+        for (int pos = 0; pos < itemCount; pos++) {
+            int size = Math.min(mSpanSizeLookup.getSpanSize(pos), spanCount);
+            if (span + size > spanCount) {
+                span = 0;
+                group++;
+            }
+            if (span == 0) {
+                lastLineStart = pos;
+            }
+            mSpanIndexes[pos] = span;
+            mGroupIndexes[pos] = group;
+            span += size;
+            if (span == spanCount) {
+                span = 0;
+                group++;
+            }
+        }
+        mLastDividerOffset = itemCount == 0 ? 1 : itemCount - lastLineStart;
+    }
+}
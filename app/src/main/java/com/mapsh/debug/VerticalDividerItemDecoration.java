@@ -15,6 +15,8 @@ import android.view.View;
 public class VerticalDividerItemDecoration extends FlexibleDividerDecoration {
 
     private MarginProvider mMarginProvider;
+    private int mParentTop;
+    private int mParentBottom;
 
     private VerticalDividerItemDecoration(Builder builder) {
         super(builder);
@@ -22,18 +24,23 @@ public class VerticalDividerItemDecoration extends FlexibleDividerDecoration {
     }
 
     @Override
-    protected Rect getDividerBound(int position, RecyclerView parent, View child) {
-        Rect bounds = new Rect(0, 0, 0, 0);
+    protected void onFrameStart(RecyclerView parent) {
+        super.onFrameStart(parent);
+        mParentTop = parent.getPaddingTop();
+        mParentBottom = parent.getHeight() - parent.getPaddingBottom();
+    }
+
+    @Override
+    protected void getDividerBound(Rect bounds, int position, int dividerSize, RecyclerView parent, View child) {
         int transitionX = (int) ViewCompat.getTranslationX(child);
         int transitionY = (int) ViewCompat.getTranslationY(child);
         RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
-        bounds.top = parent.getPaddingTop() +
+        bounds.top = mParentTop +
                 mMarginProvider.dividerTopMargin(position, parent) + transitionY;
-        bounds.bottom = parent.getHeight() - parent.getPaddingBottom() -
+        bounds.bottom = mParentBottom -
                 mMarginProvider.dividerBottomMargin(position, parent) + transitionY;
 
-        int dividerSize = getDividerSize(position, parent);
-        boolean isReverseLayout = isReverseLayout(parent);
+        boolean isReverseLayout = mReverseLayout;
         if (mDividerType == DividerType.DRAWABLE) {
             // set left and right position of divider
             if (isReverseLayout) {
@@ -63,8 +70,6 @@ public class VerticalDividerItemDecoration extends FlexibleDividerDecoration {
                 bounds.right -= dividerSize;
             }
         }
-
-        return bounds;
     }
 
     @Override
@@ -81,7 +86,8 @@ public class VerticalDividerItemDecoration extends FlexibleDividerDecoration {
         }
     }
 
-    private int getDividerSize(int position, RecyclerView parent) {
+    @Override
+    protected int getDividerSize(int position, RecyclerView parent) {
         if (mPaintProvider != null) {
             return (int) mPaintProvider.dividerPaint(position, parent).getStrokeWidth();
         } else if (mSizeProvider != null) {
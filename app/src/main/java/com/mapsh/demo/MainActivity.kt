@@ -3,13 +3,16 @@ package com.mapsh.demo
 import android.support.v7.app.AppCompatActivity
 import android.os.Bundle
 import android.support.v7.widget.GridLayoutManager
-import android.support.v7.widget.LinearLayoutManager
-import android.support.v7.widget.RecyclerView.HORIZONTAL
+import android.view.Menu
+import android.view.MenuItem
 import com.mapsh.recyclerview.divider.RecyclerViewDivider
 import kotlinx.android.synthetic.main.activity_main.*
 
 class MainActivity : AppCompatActivity() {
 
+    private var divider: RecyclerViewDivider? = null
+    private lateinit var stressMenu: StressMenu
+
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
         setContentView(R.layout.activity_main)
@@ -20,10 +23,29 @@ class MainActivity : AppCompatActivity() {
     fun init() {
         recyclerView.layoutManager = GridLayoutManager(this,4)
         recyclerView.adapter = Adapter(mutableListOf("1", "2", "3", "1", "2", "3", "1", "2", "3", "1", "2", "3", "1"))
-        RecyclerViewDivider.with(this)
+        divider = RecyclerViewDivider.with(this)
                 .size(1)
+                .debugOverlay()
                 .build()
-                .addTo(recyclerView)
+        divider?.addTo(recyclerView)
+
+        // a stress scenario brings its own divider
+        stressMenu = StressMenu(this, recyclerView) {
+            divider?.removeFrom(recyclerView)
+            divider = null
+        }
+    }
+
+    override fun onCreateOptionsMenu(menu: Menu): Boolean {
+        stressMenu.onCreateOptionsMenu(menu)
+        return true
+    }
+
+    override fun onOptionsItemSelected(item: MenuItem): Boolean =
+            stressMenu.onOptionsItemSelected(item) || super.onOptionsItemSelected(item)
 
+    override fun onDestroy() {
+        stressMenu.onDestroy()
+        super.onDestroy()
     }
 }
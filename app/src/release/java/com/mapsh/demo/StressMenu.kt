@@ -0,0 +1,23 @@
+package com.mapsh.demo
+
+import android.app.Activity
+import android.support.v7.widget.RecyclerView
+import android.view.Menu
+import android.view.MenuItem
+
+/**
+ * The stress scenarios of divider-testing are shown only by the debug builds, the release builds have an empty menu
+ */
+@Suppress("UNUSED_PARAMETER")
+class StressMenu(activity: Activity, recyclerView: RecyclerView, onScenarioShown: () -> Unit) {
+
+    fun onCreateOptionsMenu(menu: Menu) {
+        // no scenarios in the release builds
+    }
+
+    fun onOptionsItemSelected(item: MenuItem): Boolean = false
+
+    fun onDestroy() {
+        // nothing to release
+    }
+}
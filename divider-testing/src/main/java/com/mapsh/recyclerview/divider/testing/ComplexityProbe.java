@@ -0,0 +1,196 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import com.mapsh.recyclerview.divider.CompositeDivider;
+import com.mapsh.recyclerview.divider.DrawableProvider;
+import com.mapsh.recyclerview.divider.MarginProvider;
+import com.mapsh.recyclerview.divider.RecyclerViewDivider;
+import com.mapsh.recyclerview.divider.SizeProvider;
+import com.mapsh.recyclerview.divider.TintProvider;
+import com.mapsh.recyclerview.divider.VisibilityProvider;
+
+/**
+ * Harness that checks that the work of a divider in a frame grows with the visible children and not with the adapter's size.
+ * <br>
+ * For each item count, the probe lays out a {@link RecyclerViewFixture} with a grid of the same visible size, draws a first frame
+ * (which can scan the adapter once, e.g. to index the spans), then counts the calls to the SpanSizeLookup and to each provider
+ * while it draws a frame and computes the offsets of all the children.
+ * Since the visible children are the same for each item count, the counts must be the same too:
+ * a count that grows with the adapter reveals a hidden loop on the adapter inside the frame.
+ * <br>
+ * Example of a unit test (e.g. with Robolectric):
+ * <pre>
+ * new ComplexityProbe(context, 3).assertFrameCostIndependentOfItemCount(ComplexityProbe.DEFAULT_ITEM_COUNTS);
+ * </pre>
+ * The probe can also measure a grid with a custom SpanSizeLookup and any decoration built from the counting providers,
+ * e.g. a {@link CompositeDivider}, through a {@link DecorationFactory}.
+ */
+public class ComplexityProbe {
+    public static final int[] DEFAULT_ITEM_COUNTS = {100, 10000, 1000000};
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 600;
+    private static final int ITEM_HEIGHT = 50;
+
+    private final Context context;
+    private final int spanCount;
+    private final GridLayoutManager.SpanSizeLookup spanSizeLookup;
+    private final DecorationFactory decorationFactory;
+
+    /**
+     * Configures the divider under test after the probe set the counting providers
+     */
+    public interface Configurator {
+        /**
+         * @param builder builder with the counting providers already set
+         * @return the builder with the properties under test
+         */
+        @NonNull
+        RecyclerViewDivider.Builder configure(@NonNull RecyclerViewDivider.Builder builder);
+    }
+
+    /**
+     * Creates the decoration under test from the counting providers
+     */
+    public interface DecorationFactory {
+        /**
+         * @param builder builder with the counting providers already set, it can be used to build more dividers
+         * @return the decoration under test
+         */
+        @NonNull
+        RecyclerView.ItemDecoration create(@NonNull RecyclerViewDivider.Builder builder);
+    }
+
+    /**
+     * Creates a probe for the default divider
+     *
+     * @param context   current context
+     * @param spanCount span count of the grid
+     */
+    public ComplexityProbe(@NonNull Context context, int spanCount) {
+        this(context, spanCount, new Configurator() {
+            @NonNull
+            @Override
+            public RecyclerViewDivider.Builder configure(@NonNull RecyclerViewDivider.Builder builder) {
+                return builder;
+            }
+        });
+    }
+
+    /**
+     * Creates a probe for a divider with custom properties
+     *
+     * @param context      current context
+     * @param spanCount    span count of the grid
+     * @param configurator callback that sets the properties under test
+     */
+    public ComplexityProbe(@NonNull Context context, int spanCount, @NonNull final Configurator configurator) {
+        this(context, spanCount, new GridLayoutManager.DefaultSpanSizeLookup(), new DecorationFactory() {
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration create(@NonNull RecyclerViewDivider.Builder builder) {
+                return configurator.configure(builder).build();
+            }
+        });
+    }
+
+    /**
+     * Creates a probe for any decoration on a grid with custom span sizes
+     *
+     * @param context           current context
+     * @param spanCount         span count of the grid
+     * @param spanSizeLookup    lookup that defines the span sizes, it shouldn't override getSpanIndex()
+     * @param decorationFactory callback that creates the decoration under test
+     */
+    public ComplexityProbe(@NonNull Context context,
+                           int spanCount,
+                           @NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup,
+                           @NonNull DecorationFactory decorationFactory) {
+        this.context = context;
+        this.spanCount = spanCount;
+        this.spanSizeLookup = spanSizeLookup;
+        this.decorationFactory = decorationFactory;
+    }
+
+    /**
+     * Counts the calls received in a single frame by a decoration attached to a grid with the given item count
+     *
+     * @param itemCount number of items in the adapter
+     * @param counter   counter that receives the calls of the frame, it's reset after the first frame
+     * @return number of visible children in the frame
+     */
+    public int measure(int itemCount, @NonNull InvocationCounter counter) {
+        final GridLayoutManager layoutManager = new GridLayoutManager(context, spanCount);
+        layoutManager.setSpanSizeLookup(new CountingSpanSizeLookup(spanSizeLookup, counter));
+        final RecyclerViewFixture fixture = new RecyclerViewFixture(context, layoutManager, itemCount,
+                ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT, WIDTH, HEIGHT);
+        final RecyclerView recyclerView = fixture.getRecyclerView();
+
+        final RecyclerViewDivider.Builder builder = RecyclerViewDivider.with(context)
+                .visibilityFactory(CountingProviders.visibility(VisibilityProvider.getDefault(), counter))
+                .drawableFactory(CountingProviders.drawable(DrawableProvider.getDefault(context), counter))
+                .tintFactory(CountingProviders.tint(TintProvider.getGeneralFactory(Color.GRAY), counter))
+                .sizeFactory(CountingProviders.size(SizeProvider.getDefault(context), counter))
+                .marginFactory(CountingProviders.margin(MarginProvider.getDefault(context), counter));
+        final RecyclerView.ItemDecoration decoration = decorationFactory.create(builder);
+        recyclerView.addItemDecoration(decoration);
+
+        // the first frame can index the adapter once
+        fixture.layout();
+        fixture.draw(decoration);
+
+        counter.reset();
+        final RecyclerView.State state = new RecyclerView.State();
+        final Rect offsets = new Rect();
+        final int childCount = recyclerView.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            offsets.set(0, 0, 0, 0);
+            decoration.getItemOffsets(offsets, recyclerView.getChildAt(i), recyclerView, state);
+        }
+        fixture.draw(decoration);
+        // the dividers release their state related to the RecyclerView
+        if (decoration instanceof RecyclerViewDivider) {
+            ((RecyclerViewDivider) decoration).removeFrom(recyclerView);
+        } else if (decoration instanceof CompositeDivider) {
+            ((CompositeDivider) decoration).removeFrom(recyclerView);
+        } else {
+            recyclerView.removeItemDecoration(decoration);
+        }
+        return childCount;
+    }
+
+    /**
+     * Measures a frame for each item count and fails if any count is more than twice the count measured with the first item count.
+     * The first item count must be enough to fill the RecyclerView.
+     *
+     * @param itemCounts item counts to measure, e.g. {@link #DEFAULT_ITEM_COUNTS}
+     * @throws AssertionError if the calls of a frame grow with the item count
+     */
+    public void assertFrameCostIndependentOfItemCount(@NonNull int... itemCounts) {
+        final InvocationCounter baseline = new InvocationCounter();
+        final int baselineChildren = measure(itemCounts[0], baseline);
+
+        final InvocationCounter counter = new InvocationCounter();
+        for (int i = 1; i < itemCounts.length; i++) {
+            counter.reset();
+            final int childCount = measure(itemCounts[i], counter);
+            for (int kind = 0; kind < InvocationCounter.KINDS; kind++) {
+                // a small slack for the children that are partially visible
+                final int budget = 2 * baseline.get(kind) + Math.max(baselineChildren, childCount);
+                if (counter.get(kind) > budget) {
+                    throw new AssertionError("calls of " + InvocationCounter.nameOf(kind) + " grow with the item count: "
+                            + baseline.get(kind) + " calls with " + itemCounts[0] + " items, "
+                            + counter.get(kind) + " calls with " + itemCounts[i] + " items "
+                            + "(" + baseline + " -> " + counter + ")");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.mapsh.recyclerview.divider.DrawableProvider;
+import com.mapsh.recyclerview.divider.MarginProvider;
+import com.mapsh.recyclerview.divider.SizeProvider;
+import com.mapsh.recyclerview.divider.TintProvider;
+import com.mapsh.recyclerview.divider.VisibilityProvider;
+
+/**
+ * Wrappers of the divider's providers that count the resolved groups in an {@link InvocationCounter}.
+ * <br>
+ * Both the single calls and the batch calls are forwarded to the wrapped provider,
+ * so the wrappers don't change the way in which the provider resolves its values.
+ */
+public final class CountingProviders {
+    private CountingProviders() {
+        // empty constructor to avoid initialization
+    }
+
+    /**
+     * @param delegate provider to wrap
+     * @param counter  counter that receives the calls as {@link InvocationCounter#VISIBILITY}
+     * @return the counting wrapper
+     */
+    @NonNull
+    public static VisibilityProvider visibility(@NonNull final VisibilityProvider delegate, @NonNull final InvocationCounter counter) {
+        return new VisibilityProvider() {
+            @Override
+            public int displayDividerForItem(int groupCount, int groupIndex) {
+                counter.add(InvocationCounter.VISIBILITY, 1);
+                return delegate.displayDividerForItem(groupCount, groupIndex);
+            }
+
+            @Override
+            public void fillVisibilities(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+                counter.add(InvocationCounter.VISIBILITY, toGroup - fromGroup);
+                delegate.fillVisibilities(groupCount, fromGroup, toGroup, out);
+            }
+        };
+    }
+
+    /**
+     * @param delegate provider to wrap
+     * @param counter  counter that receives the calls as {@link InvocationCounter#DRAWABLE}
+     * @return the counting wrapper
+     */
+    @NonNull
+    public static DrawableProvider drawable(@NonNull final DrawableProvider delegate, @NonNull final InvocationCounter counter) {
+        return new DrawableProvider() {
+            @Override
+            public Drawable drawableForItem(int groupCount, int groupIndex) {
+                counter.add(InvocationCounter.DRAWABLE, 1);
+                return delegate.drawableForItem(groupCount, groupIndex);
+            }
+
+            @Override
+            public void fillDrawables(int groupCount, int fromGroup, int toGroup, @NonNull Drawable[] out) {
+                counter.add(InvocationCounter.DRAWABLE, toGroup - fromGroup);
+                delegate.fillDrawables(groupCount, fromGroup, toGroup, out);
+            }
+        };
+    }
+
+    /**
+     * @param delegate provider to wrap
+     * @param counter  counter that receives the calls as {@link InvocationCounter#TINT}
+     * @return the counting wrapper
+     */
+    @NonNull
+    public static TintProvider tint(@NonNull final TintProvider delegate, @NonNull final InvocationCounter counter) {
+        return new TintProvider() {
+            @Override
+            public int tintForItem(int groupCount, int groupIndex) {
+                counter.add(InvocationCounter.TINT, 1);
+                return delegate.tintForItem(groupCount, groupIndex);
+            }
+
+            @Override
+            public void fillTints(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+                counter.add(InvocationCounter.TINT, toGroup - fromGroup);
+                delegate.fillTints(groupCount, fromGroup, toGroup, out);
+            }
+        };
+    }
+
+    /**
+     * @param delegate provider to wrap
+     * @param counter  counter that receives the calls as {@link InvocationCounter#SIZE}
+     * @return the counting wrapper
+     */
+    @NonNull
+    public static SizeProvider size(@NonNull final SizeProvider delegate, @NonNull final InvocationCounter counter) {
+        return new SizeProvider() {
+            @Override
+            public int sizeForItem(@Nullable Drawable drawable, int orientation, int groupCount, int groupIndex) {
+                counter.add(InvocationCounter.SIZE, 1);
+                return delegate.sizeForItem(drawable, orientation, groupCount, groupIndex);
+            }
+
+            @Override
+            public void fillSizes(@NonNull Drawable[] drawables, int orientation, int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+                counter.add(InvocationCounter.SIZE, toGroup - fromGroup);
+                delegate.fillSizes(drawables, orientation, groupCount, fromGroup, toGroup, out);
+            }
+        };
+    }
+
+    /**
+     * @param delegate provider to wrap
+     * @param counter  counter that receives the calls as {@link InvocationCounter#MARGIN}
+     * @return the counting wrapper
+     */
+    @NonNull
+    public static MarginProvider margin(@NonNull final MarginProvider delegate, @NonNull final InvocationCounter counter) {
+        return new MarginProvider() {
+            @Override
+            public int marginSizeForItem(int groupCount, int groupIndex) {
+                counter.add(InvocationCounter.MARGIN, 1);
+                return delegate.marginSizeForItem(groupCount, groupIndex);
+            }
+
+            @Override
+            public void fillMarginSizes(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+                counter.add(InvocationCounter.MARGIN, toGroup - fromGroup);
+                delegate.fillMarginSizes(groupCount, fromGroup, toGroup, out);
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.GridLayoutManager;
+
+/**
+ * SpanSizeLookup that counts the calls to {@link #getSpanSize(int)}.
+ * <br>
+ * Only the span sizes are taken from the wrapped lookup: span indexes and group indexes are computed by the default
+ * algorithms of {@link GridLayoutManager.SpanSizeLookup}, which call {@link #getSpanSize(int)} for each previous position.
+ * This way a hidden scan of the adapter (e.g. a group index computed from the first position) is counted too.
+ * The wrapped lookup shouldn't override getSpanIndex() with a different placement of the items.
+ */
+public class CountingSpanSizeLookup extends GridLayoutManager.SpanSizeLookup {
+    private final GridLayoutManager.SpanSizeLookup delegate;
+    private final InvocationCounter counter;
+
+    /**
+     * @param delegate lookup that defines the span sizes
+     * @param counter  counter that receives the calls
+     */
+    public CountingSpanSizeLookup(@NonNull GridLayoutManager.SpanSizeLookup delegate, @NonNull InvocationCounter counter) {
+        this.delegate = delegate;
+        this.counter = counter;
+    }
+
+    @Override
+    public int getSpanSize(int position) {
+        counter.add(InvocationCounter.SPAN_SIZE, 1);
+        return delegate.getSpanSize(position);
+    }
+}
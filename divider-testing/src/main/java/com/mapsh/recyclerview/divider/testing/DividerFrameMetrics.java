@@ -0,0 +1,154 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+import android.view.View;
+
+import com.mapsh.recyclerview.divider.CompositeDivider;
+import com.mapsh.recyclerview.divider.RecyclerViewDivider;
+
+import java.util.Arrays;
+
+/**
+ * Decoration that wraps a divider and measures its frames: the time spent in onDraw() and onDrawOver()
+ * and the calls and the time spent in getItemOffsets() between two frames.
+ * <br>
+ * The metrics are logged every {@link #LOG_INTERVAL} frames with the tag {@link #TAG} and can be read
+ * by a test after a {@link StressScenario#replay(android.content.Context, int, int)}.
+ * Add this decoration to the RecyclerView instead of the wrapped divider.
+ */
+public class DividerFrameMetrics extends RecyclerView.ItemDecoration {
+    public static final String TAG = "DividerFrameMetrics";
+    public static final int LOG_INTERVAL = 120;
+    private static final int WINDOW = 120;
+
+    private final String name;
+    private final RecyclerView.ItemDecoration divider;
+
+    private final long[] drawTimes = new long[WINDOW];
+    private final long[] sortedTimes = new long[WINDOW];
+    private int drawTimeCount;
+    private int nextDrawTime;
+    private long pendingDrawTime;
+
+    private int frameCount;
+    private int itemOffsetsCalls;
+    private long itemOffsetsTime;
+    private int totalItemOffsetsCalls;
+    private int maxItemOffsetsCalls;
+
+    /**
+     * @param name    name of the measured scenario, used in the logs
+     * @param divider divider to measure, a {@link RecyclerViewDivider}, a {@link CompositeDivider} or any other decoration
+     */
+    public DividerFrameMetrics(@NonNull String name, @NonNull RecyclerView.ItemDecoration divider) {
+        this.name = name;
+        this.divider = divider;
+    }
+
+    /**
+     * Add the measured divider to a RecyclerView
+     *
+     * @param recyclerView RecyclerView in which the divider will be added
+     */
+    public void addTo(@NonNull RecyclerView recyclerView) {
+        removeFrom(recyclerView);
+        recyclerView.addItemDecoration(this);
+    }
+
+    /**
+     * Remove the measured divider from a RecyclerView and release its state
+     *
+     * @param recyclerView RecyclerView from which the divider will be removed
+     */
+    public void removeFrom(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeItemDecoration(this);
+        if (divider instanceof RecyclerViewDivider) {
+            ((RecyclerViewDivider) divider).removeFrom(recyclerView);
+        } else if (divider instanceof CompositeDivider) {
+            ((CompositeDivider) divider).removeFrom(recyclerView);
+        }
+    }
+
+    @Override
+    public void getItemOffsets(Rect outRect, View view, RecyclerView parent, RecyclerView.State state) {
+        final long start = System.nanoTime();
+        divider.getItemOffsets(outRect, view, parent, state);
+        itemOffsetsTime += System.nanoTime() - start;
+        itemOffsetsCalls++;
+    }
+
+    @Override
+    public void onDraw(Canvas c, RecyclerView parent, RecyclerView.State state) {
+        final long start = System.nanoTime();
+        divider.onDraw(c, parent, state);
+        pendingDrawTime = System.nanoTime() - start;
+    }
+
+    @Override
+    public void onDrawOver(Canvas c, RecyclerView parent, RecyclerView.State state) {
+        final long start = System.nanoTime();
+        divider.onDrawOver(c, parent, state);
+        onFrame(pendingDrawTime + System.nanoTime() - start);
+    }
+
+    private void onFrame(long drawTime) {
+        drawTimes[nextDrawTime] = drawTime;
+        nextDrawTime = (nextDrawTime + 1) % WINDOW;
+        drawTimeCount = Math.min(drawTimeCount + 1, WINDOW);
+        frameCount++;
+        totalItemOffsetsCalls += itemOffsetsCalls;
+        maxItemOffsetsCalls = Math.max(maxItemOffsetsCalls, itemOffsetsCalls);
+
+        if (frameCount % LOG_INTERVAL == 0 || itemOffsetsCalls > 0) {
+            Log.d(TAG, toString());
+        }
+        itemOffsetsCalls = 0;
+        itemOffsetsTime = 0;
+    }
+
+    /**
+     * @return number of frames drawn since the divider has been added
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100, e.g. 50 for the median
+     * @return percentile of the draw time of the divider in nanoseconds, on the last 120 frames
+     */
+    public long getDrawTimePercentile(int percentile) {
+        if (drawTimeCount == 0)
+            return 0;
+
+        System.arraycopy(drawTimes, 0, sortedTimes, 0, drawTimeCount);
+        Arrays.sort(sortedTimes, 0, drawTimeCount);
+        return sortedTimes[Math.min(drawTimeCount - 1, drawTimeCount * percentile / 100)];
+    }
+
+    /**
+     * @return total calls to getItemOffsets() since the divider has been added
+     */
+    public int getItemOffsetsCalls() {
+        return totalItemOffsetsCalls + itemOffsetsCalls;
+    }
+
+    /**
+     * @return maximum number of calls to getItemOffsets() between two frames, the cost of the most expensive layout
+     */
+    public int getMaxItemOffsetsCallsPerLayout() {
+        return maxItemOffsetsCalls;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": frames=" + frameCount
+                + ", draw p50=" + getDrawTimePercentile(50) / 1000 + "us"
+                + ", p95=" + getDrawTimePercentile(95) / 1000 + "us"
+                + ", getItemOffsets=" + itemOffsetsCalls + " calls in " + itemOffsetsTime / 1000 + "us";
+    }
+}
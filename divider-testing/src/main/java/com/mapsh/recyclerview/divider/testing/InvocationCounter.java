@@ -0,0 +1,76 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Counter of the calls received by the counting wrappers ({@link CountingSpanSizeLookup} and {@link CountingProviders}).
+ * <br>
+ * Each kind of call has its own counter. A batch call of a provider counts as a call for each resolved group,
+ * so a provider resolved once per frame for the visible groups has the same count of a provider called once per visible child.
+ */
+public class InvocationCounter {
+    public static final int SPAN_SIZE = 0;
+    public static final int VISIBILITY = 1;
+    public static final int DRAWABLE = 2;
+    public static final int TINT = 3;
+    public static final int SIZE = 4;
+    public static final int MARGIN = 5;
+    static final int KINDS = 6;
+
+    private static final String[] NAMES = {"spanSize", "visibility", "drawable", "tint", "size", "margin"};
+
+    private final int[] counts = new int[KINDS];
+
+    /**
+     * @param kind kind of call, e.g. {@link #SPAN_SIZE}
+     * @return number of calls of this kind since the last {@link #reset()}
+     */
+    public int get(int kind) {
+        return counts[kind];
+    }
+
+    /**
+     * @return number of calls of all the kinds since the last {@link #reset()}
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Sets all the counters to 0
+     */
+    public void reset() {
+        for (int kind = 0; kind < KINDS; kind++) {
+            counts[kind] = 0;
+        }
+    }
+
+    void add(int kind, int calls) {
+        counts[kind] += calls;
+    }
+
+    /**
+     * @param kind kind of call, e.g. {@link #SPAN_SIZE}
+     * @return readable name of the kind
+     */
+    @NonNull
+    public static String nameOf(int kind) {
+        return NAMES[kind];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("{");
+        for (int kind = 0; kind < KINDS; kind++) {
+            if (kind > 0) {
+                builder.append(", ");
+            }
+            builder.append(NAMES[kind]).append('=').append(counts[kind]);
+        }
+        return builder.append('}').toString();
+    }
+}
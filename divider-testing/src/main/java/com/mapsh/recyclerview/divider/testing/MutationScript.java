@@ -0,0 +1,119 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Sequence of bursts of changes applied to a {@link StressAdapter}, one burst per step.
+ * <br>
+ * A live demo applies a step at a time between the frames, while a headless test can replay all the steps
+ * with {@link StressScenario#replay(android.content.Context, int, int)}.
+ */
+public final class MutationScript {
+    private static final int INSERT = 0;
+    private static final int REMOVE = 1;
+    private static final int MOVE = 2;
+    private static final int STEP_SIZE = 4;
+
+    // op, position, count or target position, repetitions for each step
+    private final int[] steps;
+
+    private MutationScript(@NonNull int[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * @return number of steps of the script
+     */
+    public int getStepCount() {
+        return steps.length / STEP_SIZE;
+    }
+
+    /**
+     * Applies a step of the script
+     *
+     * @param step    index of the step, between 0 and {@link #getStepCount()} - 1
+     * @param adapter adapter that receives the changes
+     */
+    public void apply(int step, @NonNull StressAdapter adapter) {
+        final int offset = step * STEP_SIZE;
+        final int a = steps[offset + 1];
+        final int b = steps[offset + 2];
+        final int repetitions = steps[offset + 3];
+        for (int i = 0; i < repetitions; i++) {
+            switch (steps[offset]) {
+                case INSERT:
+                    adapter.insertItems(a, b);
+                    break;
+                case REMOVE:
+                    adapter.removeItems(a, b);
+                    break;
+                case MOVE:
+                    adapter.moveItem(a, b);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Builder of a {@link MutationScript}
+     */
+    public static class Builder {
+        private int[] steps = new int[8 * STEP_SIZE];
+        private int size;
+
+        /**
+         * Adds a step that inserts a range of items with a single notification
+         *
+         * @param position position of the first inserted item
+         * @param count    number of inserted items
+         * @return {@link Builder} instance
+         */
+        public Builder insert(int position, int count) {
+            return add(INSERT, position, count, 1);
+        }
+
+        /**
+         * Adds a step that removes a range of items with a single notification
+         *
+         * @param position position of the first removed item
+         * @param count    number of removed items
+         * @return {@link Builder} instance
+         */
+        public Builder remove(int position, int count) {
+            return add(REMOVE, position, count, 1);
+        }
+
+        /**
+         * Adds a step that moves an item more times, with a notification for each move
+         *
+         * @param fromPosition position of the moved item
+         * @param toPosition   target position of the moved item
+         * @param times        number of moves in the burst
+         * @return {@link Builder} instance
+         */
+        public Builder move(int fromPosition, int toPosition, int times) {
+            return add(MOVE, fromPosition, toPosition, times);
+        }
+
+        private Builder add(int op, int a, int b, int repetitions) {
+            if (size + STEP_SIZE > steps.length) {
+                steps = Arrays.copyOf(steps, steps.length * 2);
+            }
+            steps[size++] = op;
+            steps[size++] = a;
+            steps[size++] = b;
+            steps[size++] = repetitions;
+            return this;
+        }
+
+        /**
+         * @return the script with the steps added to this builder
+         */
+        @NonNull
+        public MutationScript build() {
+            return new MutationScript(Arrays.copyOf(steps, size));
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Canvas double that records the draw operations issued by a divider instead of rasterizing them.
+ * <br>
+ * It keeps the count of each kind of operation, the total painted area and the number of times each pixel is painted,
+ * so a test can assert a budget of draw operations or check that a divider doesn't paint the same pixel twice.
+ * <br>
+ * The canvas ignores the clips and the transformations other than the translations (e.g. the ones of a ShapeDrawable):
+ * the recorded coordinates are the ones passed to the draw methods, moved by the current translation.
+ * Lines are recorded as axis-aligned rects as wide as the stroke width of their {@link Paint}.
+ * Paths, round rects and ovals (painted e.g. by a ShapeDrawable or a GradientDrawable) are recorded as their bounding rect.
+ * The calls to {@link Drawable#draw(Canvas)} can be recorded wrapping the drawable in a {@link RecordingDrawable}.
+ */
+public class RecordingCanvas extends Canvas {
+    public static final int OP_RECT = 0;
+    public static final int OP_LINE = 1;
+    public static final int OP_BITMAP = 2;
+    public static final int OP_DRAWABLE = 3;
+    public static final int OP_PATH = 4;
+    public static final int OP_ROUND_RECT = 5;
+    public static final int OP_OVAL = 6;
+    private static final int OP_TYPES = 7;
+
+    private final int width;
+    private final int height;
+    private final int[] pixelCounts;
+    private final int[] opCounts = new int[OP_TYPES];
+    private final RectF pathBounds = new RectF();
+    private long paintedArea;
+    // translation of the current save level and the translations saved by save()
+    private float translateX;
+    private float translateY;
+    private float[] savedTranslations = new float[16];
+    private int saveCount = 1;
+
+    /**
+     * Creates a new {@link RecordingCanvas} with the size of the area in which the overdraw will be measured
+     *
+     * @param width  width of the area in px
+     * @param height height of the area in px
+     */
+    public RecordingCanvas(int width, int height) {
+        this.width = width;
+        this.height = height;
+        pixelCounts = new int[width * height];
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void drawRect(@NonNull Rect rect, @NonNull Paint paint) {
+        recordOp(OP_RECT);
+        recordArea(rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    @Override
+    public void drawRect(@NonNull RectF rect, @NonNull Paint paint) {
+        recordOp(OP_RECT);
+        recordArea(rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, @NonNull Paint paint) {
+        recordOp(OP_RECT);
+        recordArea(left, top, right, bottom);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, @NonNull Paint paint) {
+        recordOp(OP_LINE);
+        recordLine(startX, startY, stopX, stopY, paint.getStrokeWidth());
+    }
+
+    @Override
+    public void drawLines(@NonNull float[] pts, int offset, int count, @NonNull Paint paint) {
+        recordOp(OP_LINE);
+        final float strokeWidth = paint.getStrokeWidth();
+        for (int i = offset; i + 3 < offset + count; i += 4) {
+            recordLine(pts[i], pts[i + 1], pts[i + 2], pts[i + 3], strokeWidth);
+        }
+    }
+
+    @Override
+    public void drawLines(@NonNull float[] pts, @NonNull Paint paint) {
+        drawLines(pts, 0, pts.length, paint);
+    }
+
+    @Override
+    public void drawPath(@NonNull Path path, @NonNull Paint paint) {
+        recordOp(OP_PATH);
+        path.computeBounds(pathBounds, true);
+        recordArea(pathBounds.left, pathBounds.top, pathBounds.right, pathBounds.bottom);
+    }
+
+    @Override
+    public void drawRoundRect(@NonNull RectF rect, float rx, float ry, @NonNull Paint paint) {
+        recordOp(OP_ROUND_RECT);
+        recordArea(rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    @Override
+    public void drawRoundRect(float left, float top, float right, float bottom, float rx, float ry, @NonNull Paint paint) {
+        recordOp(OP_ROUND_RECT);
+        recordArea(left, top, right, bottom);
+    }
+
+    @Override
+    public void drawOval(@NonNull RectF oval, @NonNull Paint paint) {
+        recordOp(OP_OVAL);
+        recordArea(oval.left, oval.top, oval.right, oval.bottom);
+    }
+
+    @Override
+    public void drawOval(float left, float top, float right, float bottom, @NonNull Paint paint) {
+        recordOp(OP_OVAL);
+        recordArea(left, top, right, bottom);
+    }
+
+    @Override
+    public void drawBitmap(@NonNull Bitmap bitmap, float left, float top, @Nullable Paint paint) {
+        recordOp(OP_BITMAP);
+        recordArea(left, top, left + bitmap.getWidth(), top + bitmap.getHeight());
+    }
+
+    @Override
+    public void drawBitmap(@NonNull Bitmap bitmap, @Nullable Rect src, @NonNull Rect dst, @Nullable Paint paint) {
+        recordOp(OP_BITMAP);
+        recordArea(dst.left, dst.top, dst.right, dst.bottom);
+    }
+
+    @Override
+    public void drawBitmap(@NonNull Bitmap bitmap, @Nullable Rect src, @NonNull RectF dst, @Nullable Paint paint) {
+        recordOp(OP_BITMAP);
+        recordArea(dst.left, dst.top, dst.right, dst.bottom);
+    }
+
+    @Override
+    public void drawBitmap(@NonNull Bitmap bitmap, @NonNull Matrix matrix, @Nullable Paint paint) {
+        // the matrix is ignored like the other transformations
+        recordOp(OP_BITMAP);
+        recordArea(0, 0, bitmap.getWidth(), bitmap.getHeight());
+    }
+
+    @Override
+    public int save() {
+        if (savedTranslations.length < 2 * saveCount) {
+            savedTranslations = Arrays.copyOf(savedTranslations, 4 * saveCount);
+        }
+        savedTranslations[2 * saveCount - 2] = translateX;
+        savedTranslations[2 * saveCount - 1] = translateY;
+        super.save();
+        return saveCount++;
+    }
+
+    @Override
+    public void restore() {
+        super.restore();
+        if (saveCount <= 1)
+            return;
+
+        saveCount--;
+        translateX = savedTranslations[2 * saveCount - 2];
+        translateY = savedTranslations[2 * saveCount - 1];
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        while (this.saveCount > Math.max(saveCount, 1)) {
+            restore();
+        }
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        super.translate(dx, dy);
+        translateX += dx;
+        translateY += dy;
+    }
+
+    /**
+     * Records a call to {@link Drawable#draw(Canvas)}.
+     * The area isn't recorded because it's already recorded by the operations issued by the drawable.
+     *
+     * @param drawable drawable drawn on this canvas
+     */
+    void recordDrawable(@NonNull Drawable drawable) {
+        recordOp(OP_DRAWABLE);
+    }
+
+    /**
+     * @param op one of {@link #OP_RECT}, {@link #OP_LINE}, {@link #OP_BITMAP}, {@link #OP_DRAWABLE}, {@link #OP_PATH},
+     *           {@link #OP_ROUND_RECT}, {@link #OP_OVAL}
+     * @return number of recorded operations of this kind
+     */
+    public int getOpCount(int op) {
+        return opCounts[op];
+    }
+
+    /**
+     * @return number of recorded operations that paint pixels (rects, lines, bitmaps, paths, round rects and ovals)
+     */
+    public int getDrawOpCount() {
+        return opCounts[OP_RECT] + opCounts[OP_LINE] + opCounts[OP_BITMAP]
+                + opCounts[OP_PATH] + opCounts[OP_ROUND_RECT] + opCounts[OP_OVAL];
+    }
+
+    /**
+     * @return sum of the areas of all the recorded operations, in px. Pixels painted more times are counted more times.
+     */
+    public long getPaintedArea() {
+        return paintedArea;
+    }
+
+    /**
+     * Calculates how many pixels are painted a certain number of times.
+     * <br>
+     * The value at the index n is the number of pixels painted n times, so the value at the index 0 is the number of pixels never painted.
+     *
+     * @return histogram of the overdraw
+     */
+    @NonNull
+    public int[] getOverdrawHistogram() {
+        int[] histogram = new int[getMaxOverdraw() + 1];
+        for (int count : pixelCounts) {
+            histogram[count]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * @return maximum number of times the same pixel was painted
+     */
+    public int getMaxOverdraw() {
+        int max = 0;
+        for (int count : pixelCounts) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    /**
+     * @return number of pixels painted more than once
+     */
+    public int getOverdrawnPixelCount() {
+        int overdrawn = 0;
+        for (int count : pixelCounts) {
+            if (count > 1) {
+                overdrawn++;
+            }
+        }
+        return overdrawn;
+    }
+
+    /**
+     * @param x horizontal coordinate of the pixel
+     * @param y vertical coordinate of the pixel
+     * @return number of times the pixel was painted
+     */
+    public int getPaintCount(int x, int y) {
+        return pixelCounts[y * width + x];
+    }
+
+    /**
+     * Clears all the recorded operations
+     */
+    public void reset() {
+        Arrays.fill(opCounts, 0);
+        Arrays.fill(pixelCounts, 0);
+        paintedArea = 0;
+    }
+
+    private void recordOp(int op) {
+        opCounts[op]++;
+    }
+
+    private void recordLine(float startX, float startY, float stopX, float stopY, float strokeWidth) {
+        // a stroke width of 0 means a hairline, one pixel wide
+        final float halfWidth = Math.max(strokeWidth, 1f) / 2f;
+        if (startY == stopY) {
+            recordArea(Math.min(startX, stopX), startY - halfWidth, Math.max(startX, stopX), startY + halfWidth);
+        } else if (startX == stopX) {
+            recordArea(startX - halfWidth, Math.min(startY, stopY), startX + halfWidth, Math.max(startY, stopY));
+        } else {
+            // dividers never draw diagonal lines, their bounding box is enough
+            recordArea(Math.min(startX, stopX), Math.min(startY, stopY), Math.max(startX, stopX), Math.max(startY, stopY));
+        }
+    }
+
+    private void recordArea(float left, float top, float right, float bottom) {
+        final int l = Math.round(left + translateX);
+        final int t = Math.round(top + translateY);
+        final int r = Math.round(right + translateX);
+        final int b = Math.round(bottom + translateY);
+        if (r <= l || b <= t)
+            return;
+
+        paintedArea += (long) (r - l) * (b - t);
+
+        final int clippedLeft = Math.max(l, 0);
+        final int clippedTop = Math.max(t, 0);
+        final int clippedRight = Math.min(r, width);
+        final int clippedBottom = Math.min(b, height);
+        for (int y = clippedTop; y < clippedBottom; y++) {
+            final int row = y * width;
+            for (int x = clippedLeft; x < clippedRight; x++) {
+                pixelCounts[row + x]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Drawable that records its {@link #draw(Canvas)} calls on a {@link RecordingCanvas} and then draws the wrapped drawable.
+ * <br>
+ * Use it as the divider's drawable to count how many times the divider draws a drawable.
+ */
+public class RecordingDrawable extends Drawable {
+    private final Drawable wrapped;
+
+    /**
+     * @param wrapped drawable that will be drawn
+     */
+    public RecordingDrawable(@NonNull Drawable wrapped) {
+        this.wrapped = wrapped;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (canvas instanceof RecordingCanvas) {
+            ((RecordingCanvas) canvas).recordDrawable(this);
+        }
+        final Rect bounds = getBounds();
+        wrapped.setBounds(bounds.left, bounds.top, bounds.right, bounds.bottom);
+        wrapped.draw(canvas);
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return wrapped.getIntrinsicWidth();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return wrapped.getIntrinsicHeight();
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        wrapped.setAlpha(alpha);
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        wrapped.setColorFilter(colorFilter);
+    }
+
+    @Override
+    public int getOpacity() {
+        return wrapped.getOpacity();
+    }
+}
@@ -0,0 +1,160 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Headless RecyclerView used to measure the dividers without a device.
+ * <br>
+ * The fixture lays out a RecyclerView with a fixed size and an adapter of fixed size items,
+ * then it draws the item decorations on a {@link RecordingCanvas} of the same size.
+ * It needs a real or a simulated Context (e.g. Robolectric's application).
+ */
+public class RecyclerViewFixture {
+    private final RecyclerView recyclerView;
+    private final RecyclerView.Adapter adapter;
+    private final int width;
+    private final int height;
+
+    /**
+     * Creates a new fixture
+     *
+     * @param context       current context
+     * @param layoutManager layout manager of the RecyclerView
+     * @param itemCount     number of items in the adapter
+     * @param itemWidth     width of each item in px, or {@link ViewGroup.LayoutParams#MATCH_PARENT}
+     * @param itemHeight    height of each item in px, or {@link ViewGroup.LayoutParams#MATCH_PARENT}
+     * @param width         width of the RecyclerView in px
+     * @param height        height of the RecyclerView in px
+     */
+    public RecyclerViewFixture(@NonNull Context context,
+                               @NonNull RecyclerView.LayoutManager layoutManager,
+                               int itemCount,
+                               int itemWidth,
+                               int itemHeight,
+                               int width,
+                               int height) {
+        this.width = width;
+        this.height = height;
+        adapter = new FixtureAdapter(itemCount, itemWidth, itemHeight);
+        recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(layoutManager);
+        recyclerView.setAdapter(adapter);
+    }
+
+    /**
+     * Creates a new fixture with a custom adapter, e.g. the {@link StressAdapter} of a {@link StressScenario}
+     *
+     * @param context       current context
+     * @param layoutManager layout manager of the RecyclerView
+     * @param adapter       adapter of the RecyclerView
+     * @param width         width of the RecyclerView in px
+     * @param height        height of the RecyclerView in px
+     */
+    public RecyclerViewFixture(@NonNull Context context,
+                               @NonNull RecyclerView.LayoutManager layoutManager,
+                               @NonNull RecyclerView.Adapter adapter,
+                               int width,
+                               int height) {
+        this.width = width;
+        this.height = height;
+        this.adapter = adapter;
+        recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(layoutManager);
+        recyclerView.setAdapter(adapter);
+    }
+
+    /**
+     * @return RecyclerView of this fixture
+     */
+    @NonNull
+    public RecyclerView getRecyclerView() {
+        return recyclerView;
+    }
+
+    /**
+     * Changes the number of items and notifies the adapter.
+     * This method is ignored if the fixture has been created with a custom adapter.
+     *
+     * @param itemCount new number of items
+     */
+    public void setItemCount(int itemCount) {
+        if (!(adapter instanceof FixtureAdapter))
+            return;
+
+        ((FixtureAdapter) adapter).itemCount = itemCount;
+        adapter.notifyDataSetChanged();
+    }
+
+    /**
+     * Measures and lays out the RecyclerView, calling getItemOffsets() of the attached decorations for each child
+     */
+    public void layout() {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, width, height);
+    }
+
+    /**
+     * Draws a decoration (onDraw() and onDrawOver()) on a new {@link RecordingCanvas} with the size of the RecyclerView
+     *
+     * @param decoration decoration added to the RecyclerView
+     * @return canvas with the recorded operations
+     */
+    @NonNull
+    public RecordingCanvas draw(@NonNull RecyclerView.ItemDecoration decoration) {
+        final RecordingCanvas canvas = new RecordingCanvas(width, height);
+        draw(decoration, canvas);
+        return canvas;
+    }
+
+    /**
+     * Draws a decoration (onDraw() and onDrawOver()) on a {@link RecordingCanvas}
+     *
+     * @param decoration decoration added to the RecyclerView
+     * @param canvas     canvas that will record the operations
+     */
+    public void draw(@NonNull RecyclerView.ItemDecoration decoration, @NonNull RecordingCanvas canvas) {
+        final RecyclerView.State state = new RecyclerView.State();
+        decoration.onDraw(canvas, recyclerView, state);
+        decoration.onDrawOver(canvas, recyclerView, state);
+    }
+
+    private static class FixtureAdapter extends RecyclerView.Adapter<FixtureViewHolder> {
+        private final int itemWidth;
+        private final int itemHeight;
+        private int itemCount;
+
+        FixtureAdapter(int itemCount, int itemWidth, int itemHeight) {
+            this.itemCount = itemCount;
+            this.itemWidth = itemWidth;
+            this.itemHeight = itemHeight;
+        }
+
+        @Override
+        public FixtureViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            final View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(itemWidth, itemHeight));
+            return new FixtureViewHolder(view);
+        }
+
+        @Override
+        public void onBindViewHolder(FixtureViewHolder holder, int position) {
+            // fixed size items don't need to be bound
+        }
+
+        @Override
+        public int getItemCount() {
+            return itemCount;
+        }
+    }
+
+    private static class FixtureViewHolder extends RecyclerView.ViewHolder {
+        FixtureViewHolder(View itemView) {
+            super(itemView);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+/**
+ * Adapter of a {@link StressScenario}: a mutable number of fixed size items labelled with their position.
+ * <br>
+ * With a nested scenario each item is a carousel, a RecyclerView configured by the nested scenario,
+ * and all the carousels share the same pool of views.
+ * With the staggered option the items have three different sizes along the scrolling direction.
+ */
+public class StressAdapter extends RecyclerView.Adapter<StressAdapter.ItemViewHolder> {
+    public static final int TYPE_ITEM = 0;
+    public static final int TYPE_CAROUSEL = 1;
+
+    private final int itemWidth;
+    private final int itemHeight;
+    private final boolean staggered;
+    @Nullable
+    private final StressScenario carousel;
+    private final RecyclerView.RecycledViewPool carouselPool = new RecyclerView.RecycledViewPool();
+    private int itemCount;
+
+    /**
+     * Creates an adapter of simple items
+     *
+     * @param itemCount  initial number of items
+     * @param itemWidth  width of each item in px, or {@link ViewGroup.LayoutParams#MATCH_PARENT}
+     * @param itemHeight height of each item in px, or {@link ViewGroup.LayoutParams#MATCH_PARENT}
+     * @param staggered  true if the items' heights must vary with their position
+     */
+    public StressAdapter(int itemCount, int itemWidth, int itemHeight, boolean staggered) {
+        this(itemCount, itemWidth, itemHeight, staggered, null);
+    }
+
+    /**
+     * Creates an adapter of simple items or carousels
+     *
+     * @param itemCount  initial number of items
+     * @param itemWidth  width of each item in px, or {@link ViewGroup.LayoutParams#MATCH_PARENT}
+     * @param itemHeight height of each item in px, or {@link ViewGroup.LayoutParams#MATCH_PARENT}
+     * @param staggered  true if the items' heights must vary with their position
+     * @param carousel   scenario of the RecyclerView shown by each item, null for simple items
+     */
+    public StressAdapter(int itemCount, int itemWidth, int itemHeight, boolean staggered, @Nullable StressScenario carousel) {
+        this.itemCount = itemCount;
+        this.itemWidth = itemWidth;
+        this.itemHeight = itemHeight;
+        this.staggered = staggered;
+        this.carousel = carousel;
+    }
+
+    /**
+     * Inserts a burst of items with a single notification
+     *
+     * @param position position of the first inserted item
+     * @param count    number of inserted items
+     */
+    public void insertItems(int position, int count) {
+        position = Math.max(0, Math.min(position, itemCount));
+        itemCount += count;
+        notifyItemRangeInserted(position, count);
+    }
+
+    /**
+     * Removes a burst of items with a single notification, the range is clipped to the current items
+     *
+     * @param position position of the first removed item
+     * @param count    number of removed items
+     */
+    public void removeItems(int position, int count) {
+        if (position < 0 || position >= itemCount)
+            return;
+
+        count = Math.min(count, itemCount - position);
+        itemCount -= count;
+        notifyItemRangeRemoved(position, count);
+    }
+
+    /**
+     * Moves an item, the positions are clipped to the current items
+     *
+     * @param fromPosition current position of the item
+     * @param toPosition   new position of the item
+     */
+    public void moveItem(int fromPosition, int toPosition) {
+        if (itemCount == 0)
+            return;
+
+        fromPosition = Math.max(0, Math.min(fromPosition, itemCount - 1));
+        toPosition = Math.max(0, Math.min(toPosition, itemCount - 1));
+        notifyItemMoved(fromPosition, toPosition);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return carousel != null ? TYPE_CAROUSEL : TYPE_ITEM;
+    }
+
+    @Override
+    public ItemViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        final View view;
+        if (viewType == TYPE_CAROUSEL && carousel != null) {
+            final RecyclerView recyclerView = new RecyclerView(parent.getContext());
+            recyclerView.setLayoutManager(carousel.createLayoutManager(parent.getContext()));
+            recyclerView.setAdapter(carousel.createAdapter(parent.getContext()));
+            recyclerView.setRecycledViewPool(carouselPool);
+            recyclerView.setHasFixedSize(true);
+            recyclerView.addItemDecoration(carousel.createDivider(parent.getContext()));
+            view = recyclerView;
+        } else {
+            final TextView textView = new TextView(parent.getContext());
+            textView.setGravity(Gravity.CENTER);
+            view = textView;
+        }
+        view.setLayoutParams(new RecyclerView.LayoutParams(itemWidth, itemHeight));
+        return new ItemViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(ItemViewHolder holder, int position) {
+        if (holder.itemView instanceof TextView) {
+            ((TextView) holder.itemView).setText(String.valueOf(position));
+        }
+        if (staggered && itemHeight > 0) {
+            // three different heights, so the columns of a staggered grid don't stay aligned
+            holder.itemView.getLayoutParams().height = itemHeight + (position % 3) * itemHeight / 2;
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * ViewHolder of a simple item or of a carousel
+     */
+    public static class ItemViewHolder extends RecyclerView.ViewHolder {
+        ItemViewHolder(@NonNull View itemView) {
+            super(itemView);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+
+/**
+ * Load applied to a divider: a layout manager, an adapter, a divider and an optional script of changes of the adapter.
+ * <br>
+ * The same scenario can be shown in a live RecyclerView (e.g. in the demo app) or replayed headless on a {@link RecyclerViewFixture}
+ * (e.g. with Robolectric), so a load observed on a device can be reproduced in a unit test:
+ * <pre>
+ * DividerFrameMetrics metrics = StressScenarios.linear(100000).replay(context, 300, 600);
+ * assertTrue(metrics.getMaxItemOffsetsCallsPerLayout() &lt; 100);
+ * </pre>
+ * The catalog of the built-in scenarios is in {@link StressScenarios}.
+ */
+public abstract class StressScenario {
+    private final String name;
+
+    /**
+     * @param name name of the scenario, shown by the demo and used in the logs
+     */
+    protected StressScenario(@NonNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return name of the scenario
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param context current context
+     * @return a new layout manager for the RecyclerView of the scenario
+     */
+    @NonNull
+    public abstract RecyclerView.LayoutManager createLayoutManager(@NonNull Context context);
+
+    /**
+     * @param context current context
+     * @return a new adapter for the RecyclerView of the scenario
+     */
+    @NonNull
+    public abstract StressAdapter createAdapter(@NonNull Context context);
+
+    /**
+     * @param context current context
+     * @return the divider of the scenario, a new one or a shared one
+     */
+    @NonNull
+    public abstract RecyclerView.ItemDecoration createDivider(@NonNull Context context);
+
+    /**
+     * @return changes applied to the adapter while the scenario runs, null if the adapter never changes
+     */
+    @Nullable
+    public MutationScript getMutationScript() {
+        return null;
+    }
+
+    /**
+     * Shows the scenario in a RecyclerView, replacing its layout manager and its adapter
+     *
+     * @param recyclerView RecyclerView that will show the scenario
+     * @return the measured divider added to the RecyclerView, it must be removed with {@link DividerFrameMetrics#removeFrom(RecyclerView)}
+     */
+    @NonNull
+    public DividerFrameMetrics showIn(@NonNull RecyclerView recyclerView) {
+        final Context context = recyclerView.getContext();
+        recyclerView.setLayoutManager(createLayoutManager(context));
+        recyclerView.setAdapter(createAdapter(context));
+        final DividerFrameMetrics metrics = new DividerFrameMetrics(name, createDivider(context));
+        metrics.addTo(recyclerView);
+        return metrics;
+    }
+
+    /**
+     * Replays the scenario headless: draws a first frame, then applies each step of the script and draws a frame after each layout
+     *
+     * @param context current context, real or simulated (e.g. Robolectric's application)
+     * @param width   width of the RecyclerView in px
+     * @param height  height of the RecyclerView in px
+     * @return the metrics of the replayed frames
+     */
+    @NonNull
+    public DividerFrameMetrics replay(@NonNull Context context, int width, int height) {
+        final StressAdapter adapter = createAdapter(context);
+        final RecyclerViewFixture fixture = new RecyclerViewFixture(context, createLayoutManager(context), adapter, width, height);
+        final RecyclerView recyclerView = fixture.getRecyclerView();
+        final DividerFrameMetrics metrics = new DividerFrameMetrics(name, createDivider(context));
+        metrics.addTo(recyclerView);
+
+        fixture.layout();
+        final RecordingCanvas canvas = fixture.draw(metrics);
+        final MutationScript script = getMutationScript();
+        if (script != null) {
+            for (int step = 0; step < script.getStepCount(); step++) {
+                script.apply(step, adapter);
+                fixture.layout();
+                canvas.reset();
+                fixture.draw(metrics, canvas);
+            }
+        }
+        metrics.removeFrom(recyclerView);
+        return metrics;
+    }
+}
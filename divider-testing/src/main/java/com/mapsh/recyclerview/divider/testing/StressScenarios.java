@@ -0,0 +1,338 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.StaggeredGridLayoutManager;
+import android.view.ViewGroup;
+
+import com.mapsh.recyclerview.divider.DrawableProvider;
+import com.mapsh.recyclerview.divider.MarginProvider;
+import com.mapsh.recyclerview.divider.RecyclerViewDivider;
+import com.mapsh.recyclerview.divider.SizeProvider;
+import com.mapsh.recyclerview.divider.TintProvider;
+import com.mapsh.recyclerview.divider.VisibilityProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog of the built-in {@link StressScenario}s, the loads under which the dividers must keep the frame's budget:
+ * <ul>
+ * <li>very long linear lists and grids</li>
+ * <li>grids with mixed span sizes</li>
+ * <li>staggered grids</li>
+ * <li>vertical lists of horizontal carousels</li>
+ * <li>bursts of insertions, removals and moves</li>
+ * <li>custom providers for every value of the divider</li>
+ * </ul>
+ */
+public final class StressScenarios {
+    public static final int DEFAULT_ITEM_COUNT = 100000;
+
+    private static final int ITEM_SIZE_DP = 48;
+
+    private StressScenarios() {
+        // empty constructor to avoid initialization
+    }
+
+    /**
+     * @return all the built-in scenarios with {@link #DEFAULT_ITEM_COUNT} items
+     */
+    @NonNull
+    public static List<StressScenario> all() {
+        final List<StressScenario> scenarios = new ArrayList<>();
+        scenarios.add(linear(DEFAULT_ITEM_COUNT));
+        scenarios.add(grid(DEFAULT_ITEM_COUNT, 4));
+        scenarios.add(mixedSpans(DEFAULT_ITEM_COUNT, 6));
+        scenarios.add(staggered(DEFAULT_ITEM_COUNT, 3));
+        scenarios.add(nestedCarousels(DEFAULT_ITEM_COUNT / 100, 100));
+        scenarios.add(mutationBursts(DEFAULT_ITEM_COUNT));
+        scenarios.add(allProviders(DEFAULT_ITEM_COUNT, 3));
+        return scenarios;
+    }
+
+    /**
+     * @param itemCount number of items
+     * @return a vertical linear list with the default divider
+     */
+    @NonNull
+    public static StressScenario linear(final int itemCount) {
+        return new StressScenario("Linear, " + itemCount + " items") {
+            @NonNull
+            @Override
+            public RecyclerView.LayoutManager createLayoutManager(@NonNull Context context) {
+                return new LinearLayoutManager(context);
+            }
+
+            @NonNull
+            @Override
+            public StressAdapter createAdapter(@NonNull Context context) {
+                return new StressAdapter(itemCount, ViewGroup.LayoutParams.MATCH_PARENT, itemSize(context), false);
+            }
+
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration createDivider(@NonNull Context context) {
+                return RecyclerViewDivider.with(context).build();
+            }
+        };
+    }
+
+    /**
+     * @param itemCount number of items
+     * @param spanCount span count of the grid
+     * @return a vertical grid in which every item spans 1
+     */
+    @NonNull
+    public static StressScenario grid(final int itemCount, final int spanCount) {
+        return new StressScenario("Grid " + spanCount + ", " + itemCount + " items") {
+            @NonNull
+            @Override
+            public RecyclerView.LayoutManager createLayoutManager(@NonNull Context context) {
+                return new GridLayoutManager(context, spanCount);
+            }
+
+            @NonNull
+            @Override
+            public StressAdapter createAdapter(@NonNull Context context) {
+                return new StressAdapter(itemCount, ViewGroup.LayoutParams.MATCH_PARENT, itemSize(context), false);
+            }
+
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration createDivider(@NonNull Context context) {
+                return RecyclerViewDivider.with(context).uniformSpans().build();
+            }
+        };
+    }
+
+    /**
+     * @param itemCount number of items
+     * @param spanCount span count of the grid, items span the full line, half of it or a single span
+     * @return a vertical grid with mixed span sizes, indexed in parallel
+     */
+    @NonNull
+    public static StressScenario mixedSpans(final int itemCount, final int spanCount) {
+        return new StressScenario("Mixed spans " + spanCount + ", " + itemCount + " items") {
+            @NonNull
+            @Override
+            public RecyclerView.LayoutManager createLayoutManager(@NonNull Context context) {
+                final GridLayoutManager layoutManager = new GridLayoutManager(context, spanCount);
+                layoutManager.setSpanSizeLookup(new GridLayoutManager.SpanSizeLookup() {
+                    @Override
+                    public int getSpanSize(int position) {
+                        if (position % 13 == 0)
+                            return spanCount;
+
+                        return position % 5 == 0 ? Math.max(1, spanCount / 2) : 1;
+                    }
+                });
+                return layoutManager;
+            }
+
+            @NonNull
+            @Override
+            public StressAdapter createAdapter(@NonNull Context context) {
+                return new StressAdapter(itemCount, ViewGroup.LayoutParams.MATCH_PARENT, itemSize(context), false);
+            }
+
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration createDivider(@NonNull Context context) {
+                return RecyclerViewDivider.with(context).parallelSpanIndex().build();
+            }
+        };
+    }
+
+    /**
+     * @param itemCount number of items
+     * @param spanCount number of columns
+     * @return a vertical staggered grid with items of three different heights
+     */
+    @NonNull
+    public static StressScenario staggered(final int itemCount, final int spanCount) {
+        return new StressScenario("Staggered " + spanCount + ", " + itemCount + " items") {
+            @NonNull
+            @Override
+            public RecyclerView.LayoutManager createLayoutManager(@NonNull Context context) {
+                return new StaggeredGridLayoutManager(spanCount, StaggeredGridLayoutManager.VERTICAL);
+            }
+
+            @NonNull
+            @Override
+            public StressAdapter createAdapter(@NonNull Context context) {
+                return new StressAdapter(itemCount, ViewGroup.LayoutParams.MATCH_PARENT, itemSize(context), true);
+            }
+
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration createDivider(@NonNull Context context) {
+                return RecyclerViewDivider.with(context).build();
+            }
+        };
+    }
+
+    /**
+     * @param rowCount       number of carousels
+     * @param carouselLength number of items in each carousel
+     * @return a vertical list of horizontal carousels, which share a single divider
+     */
+    @NonNull
+    public static StressScenario nestedCarousels(final int rowCount, final int carouselLength) {
+        final StressScenario carousel = new StressScenario("Carousel, " + carouselLength + " items") {
+            @NonNull
+            @Override
+            public RecyclerView.LayoutManager createLayoutManager(@NonNull Context context) {
+                return new LinearLayoutManager(context, LinearLayoutManager.HORIZONTAL, false);
+            }
+
+            @NonNull
+            @Override
+            public StressAdapter createAdapter(@NonNull Context context) {
+                return new StressAdapter(carouselLength, 2 * itemSize(context), ViewGroup.LayoutParams.MATCH_PARENT, false);
+            }
+
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration createDivider(@NonNull Context context) {
+                return RecyclerViewDivider.with(context).buildShared();
+            }
+        };
+        return new StressScenario("Nested carousels, " + rowCount + " x " + carouselLength + " items") {
+            @NonNull
+            @Override
+            public RecyclerView.LayoutManager createLayoutManager(@NonNull Context context) {
+                return new LinearLayoutManager(context);
+            }
+
+            @NonNull
+            @Override
+            public StressAdapter createAdapter(@NonNull Context context) {
+                return new StressAdapter(rowCount, ViewGroup.LayoutParams.MATCH_PARENT, 2 * itemSize(context), false, carousel);
+            }
+
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration createDivider(@NonNull Context context) {
+                return RecyclerViewDivider.with(context).build();
+            }
+        };
+    }
+
+    /**
+     * @param itemCount initial number of items
+     * @return a vertical linear list that receives bursts of insertions, removals and moves
+     */
+    @NonNull
+    public static StressScenario mutationBursts(final int itemCount) {
+        return new StressScenario("Mutation bursts, " + itemCount + " items") {
+            private final MutationScript script = new MutationScript.Builder()
+                    .insert(0, 50)
+                    .remove(10, 25)
+                    .move(0, 20, 10)
+                    .insert(itemCount / 2, 1000)
+                    .move(5, 1, 20)
+                    .remove(0, 100)
+                    .insert(3, 1)
+                    .remove(3, 1)
+                    .build();
+
+            @NonNull
+            @Override
+            public RecyclerView.LayoutManager createLayoutManager(@NonNull Context context) {
+                return new LinearLayoutManager(context);
+            }
+
+            @NonNull
+            @Override
+            public StressAdapter createAdapter(@NonNull Context context) {
+                return new StressAdapter(itemCount, ViewGroup.LayoutParams.MATCH_PARENT, itemSize(context), false);
+            }
+
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration createDivider(@NonNull Context context) {
+                return RecyclerViewDivider.with(context).build();
+            }
+
+            @Nullable
+            @Override
+            public MutationScript getMutationScript() {
+                return script;
+            }
+        };
+    }
+
+    /**
+     * @param itemCount number of items
+     * @param spanCount span count of the grid
+     * @return a vertical grid whose divider has a custom provider for each value
+     */
+    @NonNull
+    public static StressScenario allProviders(final int itemCount, final int spanCount) {
+        return new StressScenario("All providers, grid " + spanCount + ", " + itemCount + " items") {
+            @NonNull
+            @Override
+            public RecyclerView.LayoutManager createLayoutManager(@NonNull Context context) {
+                return new GridLayoutManager(context, spanCount);
+            }
+
+            @NonNull
+            @Override
+            public StressAdapter createAdapter(@NonNull Context context) {
+                return new StressAdapter(itemCount, ViewGroup.LayoutParams.MATCH_PARENT, itemSize(context), false);
+            }
+
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration createDivider(@NonNull Context context) {
+                final Drawable even = new ColorDrawable(Color.GRAY);
+                final Drawable odd = new ColorDrawable(Color.BLACK);
+                return RecyclerViewDivider.with(context)
+                        .visibilityFactory(new VisibilityProvider() {
+                            @Override
+                            public int displayDividerForItem(int groupCount, int groupIndex) {
+                                return groupIndex % 10 == 9 ? SHOW_ITEMS_ONLY : SHOW_ALL;
+                            }
+                        })
+                        .drawableFactory(new DrawableProvider() {
+                            @Override
+                            public Drawable drawableForItem(int groupCount, int groupIndex) {
+                                return groupIndex % 2 == 0 ? even : odd;
+                            }
+                        })
+                        .tintFactory(new TintProvider() {
+                            @Override
+                            public int tintForItem(int groupCount, int groupIndex) {
+                                final int red = groupCount > 1 ? 255 * groupIndex / (groupCount - 1) : 0;
+                                return Color.rgb(red, 0, 255 - red);
+                            }
+                        })
+                        .sizeFactory(new SizeProvider() {
+                            @Override
+                            public int sizeForItem(@Nullable Drawable drawable, int orientation, int groupCount, int groupIndex) {
+                                return 1 + groupIndex % 4;
+                            }
+                        })
+                        .marginFactory(new MarginProvider() {
+                            @Override
+                            public int marginSizeForItem(int groupCount, int groupIndex) {
+                                return groupIndex % 3 == 0 ? 16 : 0;
+                            }
+                        })
+                        .build();
+            }
+        };
+    }
+
+    private static int itemSize(@NonNull Context context) {
+        return (int) (ITEM_SIZE_DP * context.getResources().getDisplayMetrics().density);
+    }
+}
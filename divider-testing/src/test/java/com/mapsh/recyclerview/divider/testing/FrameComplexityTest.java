@@ -0,0 +1,91 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import com.mapsh.recyclerview.divider.RecyclerViewDivider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+/**
+ * Checks with a {@link ComplexityProbe} that the work of a frame doesn't grow with the adapter's size
+ */
+@RunWith(RobolectricTestRunner.class)
+public class FrameComplexityTest {
+    private static final int SPAN_COUNT = 3;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void defaultDivider() {
+        new ComplexityProbe(context, SPAN_COUNT).assertFrameCostIndependentOfItemCount(ComplexityProbe.DEFAULT_ITEM_COUNTS);
+    }
+
+    @Test
+    public void noOverdraw() {
+        new ComplexityProbe(context, SPAN_COUNT, new ComplexityProbe.Configurator() {
+            @NonNull
+            @Override
+            public RecyclerViewDivider.Builder configure(@NonNull RecyclerViewDivider.Builder builder) {
+                return builder.noOverdraw();
+            }
+        }).assertFrameCostIndependentOfItemCount(ComplexityProbe.DEFAULT_ITEM_COUNTS);
+    }
+
+    @Test
+    public void insideItem() {
+        new ComplexityProbe(context, SPAN_COUNT, new ComplexityProbe.Configurator() {
+            @NonNull
+            @Override
+            public RecyclerViewDivider.Builder configure(@NonNull RecyclerViewDivider.Builder builder) {
+                return builder.insideItem();
+            }
+        }).assertFrameCostIndependentOfItemCount(ComplexityProbe.DEFAULT_ITEM_COUNTS);
+    }
+
+    @Test
+    public void composite() {
+        new ComplexityProbe(context, SPAN_COUNT, new GridLayoutManager.DefaultSpanSizeLookup(), new ComplexityProbe.DecorationFactory() {
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration create(@NonNull RecyclerViewDivider.Builder builder) {
+                final RecyclerViewDivider base = builder.build();
+                final RecyclerViewDivider outline = RecyclerViewDivider.with(context).color(Color.BLACK).insideItem().build();
+                return RecyclerViewDivider.compose(base, outline);
+            }
+        }).assertFrameCostIndependentOfItemCount(ComplexityProbe.DEFAULT_ITEM_COUNTS);
+    }
+
+    @Test
+    public void nonUniformSpans() {
+        new ComplexityProbe(context, SPAN_COUNT, new SectionSpanSizeLookup(), new ComplexityProbe.DecorationFactory() {
+            @NonNull
+            @Override
+            public RecyclerView.ItemDecoration create(@NonNull RecyclerViewDivider.Builder builder) {
+                return builder.build();
+            }
+        }).assertFrameCostIndependentOfItemCount(ComplexityProbe.DEFAULT_ITEM_COUNTS);
+    }
+
+    /**
+     * Lookup of a grid with a full width header every 10 positions
+     */
+    private static class SectionSpanSizeLookup extends GridLayoutManager.SpanSizeLookup {
+        @Override
+        public int getSpanSize(int position) {
+            return position % 10 == 0 ? SPAN_COUNT : 1;
+        }
+    }
+}
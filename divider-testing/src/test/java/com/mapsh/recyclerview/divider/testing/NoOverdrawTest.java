@@ -0,0 +1,72 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.v7.widget.GridLayoutManager;
+import android.view.ViewGroup;
+
+import com.mapsh.recyclerview.divider.RecyclerViewDivider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the overdraw of the dividers of a grid with and without {@link RecyclerViewDivider.Builder#noOverdraw()}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class NoOverdrawTest {
+    private static final int SPAN_COUNT = 3;
+    private static final int ITEM_COUNT = 30;
+    private static final int ITEM_HEIGHT = 50;
+    private static final int SIZE = 4;
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void noOverdrawPaintsEachPixelOnce() {
+        final RecordingCanvas canvas = drawGrid(RecyclerViewDivider.with(context)
+                .color(Color.RED)
+                .size(SIZE)
+                .noOverdraw()
+                .build());
+
+        assertTrue(canvas.getPaintedArea() > 0);
+        assertEquals(1, canvas.getMaxOverdraw());
+        final int[] histogram = canvas.getOverdrawHistogram();
+        // no bucket above 1: each pixel is painted zero or one time
+        assertEquals(2, histogram.length);
+        assertEquals(0, canvas.getOverdrawnPixelCount());
+    }
+
+    @Test
+    public void defaultModeOverdrawsTheIntersections() {
+        final RecordingCanvas canvas = drawGrid(RecyclerViewDivider.with(context)
+                .color(Color.RED)
+                .size(SIZE)
+                .build());
+
+        assertTrue(canvas.getMaxOverdraw() > 1);
+        assertTrue(canvas.getOverdrawnPixelCount() > 0);
+    }
+
+    private RecordingCanvas drawGrid(RecyclerViewDivider divider) {
+        final RecyclerViewFixture fixture = new RecyclerViewFixture(context, new GridLayoutManager(context, SPAN_COUNT),
+                ITEM_COUNT, ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT, WIDTH, HEIGHT);
+        divider.addTo(fixture.getRecyclerView());
+        fixture.layout();
+        return fixture.draw(divider);
+    }
+}
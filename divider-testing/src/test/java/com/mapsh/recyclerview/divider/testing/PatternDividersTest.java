@@ -0,0 +1,65 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.v7.widget.GridLayoutManager;
+import android.view.ViewGroup;
+
+import com.mapsh.recyclerview.divider.RecyclerViewDivider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the dashed dividers of {@link RecyclerViewDivider.Builder#pattern(int, int)} cost the same operations of the solid ones
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PatternDividersTest {
+    private static final int SPAN_COUNT = 3;
+    private static final int ITEM_COUNT = 30;
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void patternDrawsARectForEachDivider() {
+        final RecordingCanvas solid = drawGrid(RecyclerViewDivider.with(context).color(Color.RED).size(4).build());
+        final RecordingCanvas dashed = drawGrid(RecyclerViewDivider.with(context).color(Color.RED).size(4).pattern(6, 4).build());
+
+        assertTrue(dashed.getOpCount(RecordingCanvas.OP_RECT) > 0);
+        assertEquals(solid.getOpCount(RecordingCanvas.OP_RECT), dashed.getOpCount(RecordingCanvas.OP_RECT));
+        // the dashes are never rasterized again: no paths, bitmaps or drawables
+        assertEquals(dashed.getOpCount(RecordingCanvas.OP_RECT), dashed.getDrawOpCount());
+        assertEquals(0, dashed.getOpCount(RecordingCanvas.OP_DRAWABLE));
+    }
+
+    @Test
+    public void roundPatternDrawsARectForEachDivider() {
+        final RecordingCanvas solid = drawGrid(RecyclerViewDivider.with(context).color(Color.RED).size(6).build());
+        final RecordingCanvas dashed = drawGrid(RecyclerViewDivider.with(context).color(Color.RED).size(6)
+                .pattern(6, 4, RecyclerViewDivider.CAP_ROUND).build());
+
+        assertEquals(solid.getOpCount(RecordingCanvas.OP_RECT), dashed.getOpCount(RecordingCanvas.OP_RECT));
+        assertEquals(dashed.getOpCount(RecordingCanvas.OP_RECT), dashed.getDrawOpCount());
+    }
+
+    private RecordingCanvas drawGrid(RecyclerViewDivider divider) {
+        final RecyclerViewFixture fixture = new RecyclerViewFixture(context, new GridLayoutManager(context, SPAN_COUNT),
+                ITEM_COUNT, ViewGroup.LayoutParams.MATCH_PARENT, 50, WIDTH, HEIGHT);
+        divider.addTo(fixture.getRecyclerView());
+        fixture.layout();
+        return fixture.draw(divider);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import com.mapsh.recyclerview.divider.RecyclerViewDivider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the dividers' bounds translated from the previous frame during a scroll match the bounds computed from scratch
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ScrollReuseTest {
+    private static final int ITEM_COUNT = 60;
+    private static final int ITEM_HEIGHT = 50;
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void scrolledListMatchesAFreshDivider() {
+        assertScrollMatchesAFreshDivider(new LinearLayoutManager(context));
+    }
+
+    @Test
+    public void scrolledGridMatchesAFreshDivider() {
+        assertScrollMatchesAFreshDivider(new GridLayoutManager(context, 3));
+    }
+
+    private void assertScrollMatchesAFreshDivider(RecyclerView.LayoutManager layoutManager) {
+        final RecyclerViewFixture fixture = new RecyclerViewFixture(context, layoutManager, ITEM_COUNT,
+                ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT, WIDTH, HEIGHT);
+        final RecyclerView recyclerView = fixture.getRecyclerView();
+        final RecyclerViewDivider divider = newDivider();
+        divider.addTo(recyclerView);
+        fixture.layout();
+        fixture.draw(divider);
+
+        // a scroll that isn't a multiple of the items' height, some children leave the screen and some enter it
+        for (int frame = 0; frame < 5; frame++) {
+            recyclerView.scrollBy(0, 37);
+            final RecordingCanvas reused = fixture.draw(divider);
+            // a new divider has no previous frame, so it computes every bound
+            final RecordingCanvas computed = fixture.draw(newDivider());
+
+            assertTrue(reused.getPaintedArea() > 0);
+            assertEquals(computed.getPaintedArea(), reused.getPaintedArea());
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int x = 0; x < WIDTH; x++) {
+                    assertEquals("pixel " + x + ", " + y, computed.getPaintCount(x, y), reused.getPaintCount(x, y));
+                }
+            }
+        }
+    }
+
+    private RecyclerViewDivider newDivider() {
+        return RecyclerViewDivider.with(context).color(Color.RED).size(4).marginSize(8).build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.GradientDrawable;
+import android.graphics.drawable.ShapeDrawable;
+import android.graphics.drawable.shapes.OvalShape;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import com.mapsh.recyclerview.divider.RecyclerViewDivider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the operations recorded for the dividers drawn with shape drawables, which paint round rects and ovals instead of rects.
+ * <br>
+ * Each shape divider must issue one operation per divider and cover the same area of a color divider with the same size.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ShapeDividersTest {
+    private static final int ITEM_COUNT = 30;
+    private static final int ITEM_SIZE = 50;
+    private static final int SIZE = 4;
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void verticalListWithOvals() {
+        assertShapeDivider(new LinearLayoutManager(context, LinearLayoutManager.VERTICAL, false),
+                ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE, oval(), RecordingCanvas.OP_OVAL);
+    }
+
+    @Test
+    public void horizontalListWithRoundRects() {
+        assertShapeDivider(new LinearLayoutManager(context, LinearLayoutManager.HORIZONTAL, false),
+                ITEM_SIZE, ViewGroup.LayoutParams.MATCH_PARENT, roundRect(), RecordingCanvas.OP_ROUND_RECT);
+    }
+
+    @Test
+    public void verticalGridWithRoundRects() {
+        assertShapeDivider(new GridLayoutManager(context, 3),
+                ViewGroup.LayoutParams.MATCH_PARENT, ITEM_SIZE, roundRect(), RecordingCanvas.OP_ROUND_RECT);
+    }
+
+    @Test
+    public void horizontalGridWithOvals() {
+        assertShapeDivider(new GridLayoutManager(context, 3, GridLayoutManager.HORIZONTAL, false),
+                ITEM_SIZE, ViewGroup.LayoutParams.MATCH_PARENT, oval(), RecordingCanvas.OP_OVAL);
+    }
+
+    private void assertShapeDivider(RecyclerView.LayoutManager layoutManager, int itemWidth, int itemHeight, Drawable shape, int op) {
+        final RecyclerViewFixture fixture = new RecyclerViewFixture(context, layoutManager, ITEM_COUNT, itemWidth, itemHeight, WIDTH, HEIGHT);
+        final RecyclerView recyclerView = fixture.getRecyclerView();
+
+        final RecyclerViewDivider colorDivider = RecyclerViewDivider.with(context).color(Color.RED).size(SIZE).build();
+        colorDivider.addTo(recyclerView);
+        fixture.layout();
+        final RecordingCanvas colorCanvas = fixture.draw(colorDivider);
+        colorDivider.removeFrom(recyclerView);
+
+        final RecyclerViewDivider shapeDivider = RecyclerViewDivider.with(context).drawable(new RecordingDrawable(shape)).size(SIZE).build();
+        shapeDivider.addTo(recyclerView);
+        fixture.layout();
+        final RecordingCanvas shapeCanvas = fixture.draw(shapeDivider);
+        shapeDivider.removeFrom(recyclerView);
+
+        final int dividers = colorCanvas.getOpCount(RecordingCanvas.OP_RECT);
+        assertTrue(dividers > 0);
+        assertEquals(dividers, shapeCanvas.getOpCount(op));
+        assertEquals(dividers, shapeCanvas.getOpCount(RecordingCanvas.OP_DRAWABLE));
+        assertEquals(dividers, shapeCanvas.getDrawOpCount());
+        assertEquals(colorCanvas.getPaintedArea(), shapeCanvas.getPaintedArea());
+        assertEquals(colorCanvas.getMaxOverdraw(), shapeCanvas.getMaxOverdraw());
+    }
+
+    private static Drawable oval() {
+        final ShapeDrawable oval = new ShapeDrawable(new OvalShape());
+        oval.getPaint().setColor(Color.RED);
+        return oval;
+    }
+
+    private static Drawable roundRect() {
+        final GradientDrawable roundRect = new GradientDrawable();
+        roundRect.setColor(Color.RED);
+        roundRect.setCornerRadius(SIZE / 2f);
+        return roundRect;
+    }
+}
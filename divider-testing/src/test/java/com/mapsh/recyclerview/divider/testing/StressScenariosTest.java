@@ -0,0 +1,34 @@
+package com.mapsh.recyclerview.divider.testing;
+
+import android.content.Context;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays each built-in {@link StressScenario} headless through a {@link RecyclerViewFixture}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class StressScenariosTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    @Test
+    public void replayAllScenarios() {
+        final Context context = RuntimeEnvironment.application;
+        for (StressScenario scenario : StressScenarios.all()) {
+            final DividerFrameMetrics metrics = scenario.replay(context, WIDTH, HEIGHT);
+
+            final MutationScript script = scenario.getMutationScript();
+            final int stepCount = script != null ? script.getStepCount() : 0;
+            // a frame before the script and a frame after each step
+            assertEquals(scenario.getName(), 1 + stepCount, metrics.getFrameCount());
+            assertTrue(scenario.getName(), metrics.getMaxItemOffsetsCallsPerLayout() > 0);
+        }
+    }
+}
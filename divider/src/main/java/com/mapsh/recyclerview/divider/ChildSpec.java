@@ -0,0 +1,93 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Span data of a child resolved by {@link RecyclerViewDivider#getItemOffsets(android.graphics.Rect, android.view.View,
+ * android.support.v7.widget.RecyclerView, android.support.v7.widget.RecyclerView.State)}, stored as a tag of the child.
+ * <br>
+ * The draw pass of the same layout reads the values from here instead of resolving them again.
+ * The values are valid only for the state that resolved them, for the same adapter position and until the state's generation changes.
+ * More dividers can be added to the same RecyclerView, so the tag holds a list with a holder for each state.
+ * The holder is reused when the child is laid out again, so nothing is allocated after the first layout of a child.
+ * <br>
+ * A RecycledViewPool shared by more RecyclerViews moves the child between them: the state is referenced weakly,
+ * so the child doesn't retain the states of the collected RecyclerViews, and the holder of a state of another RecyclerView
+ * is taken over, so the list doesn't grow with the number of RecyclerViews.
+ */
+final class ChildSpec {
+    // the self reference of the owner state, it's shared by all the holders of the state
+    WeakReference<ParentState> ownerRef;
+    int generation;
+    int position;
+    int groupIndex;
+    int spanSize;
+    int lineAccumulatedSpan;
+    // holder of the next state in the child's list
+    private ChildSpec next;
+
+    /**
+     * @return true if the values have been resolved by the state in its current generation for the position
+     */
+    boolean isValid(ParentState owner, int generation, int position) {
+        return ownerRef == owner.selfRef && this.generation == generation && this.position == position;
+    }
+
+    /**
+     * @param child child of the RecyclerView
+     * @param owner state of a divider attached to the RecyclerView
+     * @return the holder of the state in the child's list, null if the state never resolved the child
+     */
+    @Nullable
+    static ChildSpec find(@NonNull View child, @NonNull ParentState owner) {
+        ChildSpec spec = (ChildSpec) child.getTag(R.id.recyclerview_divider_spec);
+        while (spec != null && spec.ownerRef != owner.selfRef) {
+            spec = spec.next;
+        }
+        return spec;
+    }
+
+    /**
+     * Finds the holder of a state in the child's list.
+     * If the state has no holder yet, the holder of a released or collected state or of a state of another RecyclerView
+     * is taken over, otherwise a new holder is added to the list.
+     *
+     * @param child child of the RecyclerView
+     * @param owner state of a divider attached to the RecyclerView
+     * @return the holder for the state, its values must be validated with {@link #isValid(ParentState, int, int)}
+     */
+    @NonNull
+    static ChildSpec obtain(@NonNull View child, @NonNull ParentState owner) {
+        final ChildSpec head = (ChildSpec) child.getTag(R.id.recyclerview_divider_spec);
+        ChildSpec released = null;
+        for (ChildSpec spec = head; spec != null; spec = spec.next) {
+            if (spec.ownerRef == owner.selfRef)
+                return spec;
+
+            if (released == null && isStale(spec, owner)) {
+                released = spec;
+            }
+        }
+        if (released != null)
+            return released;
+
+        final ChildSpec spec = new ChildSpec();
+        spec.next = head;
+        child.setTag(R.id.recyclerview_divider_spec, spec);
+        return spec;
+    }
+
+    /**
+     * @param spec  holder in the child's list
+     * @param owner state that is resolving the child
+     * @return true if the state of the holder has been released or collected, or if it belongs to another RecyclerView
+     */
+    private static boolean isStale(@NonNull ChildSpec spec, @NonNull ParentState owner) {
+        final ParentState specOwner = spec.ownerRef != null ? spec.ownerRef.get() : null;
+        return specOwner == null || specOwner.released || specOwner.recyclerViewRef.get() != owner.recyclerViewRef.get();
+    }
+}
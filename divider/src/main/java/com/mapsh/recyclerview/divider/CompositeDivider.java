@@ -0,0 +1,216 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Decoration that draws more {@link RecyclerViewDivider}s as layers of a single decoration.
+ * <br>
+ * Stacking more decorations on a RecyclerView makes each of them take its own layout snapshot,
+ * iterate all the children and look up the adapter positions and the spans of each child.
+ * This decoration does it once: the layout snapshot and the children are shared between the layers,
+ * the children are traversed once, each layer draws its dividers for the current child and the offsets of the layers are summed.
+ * <br>
+ * You can create a {@link CompositeDivider} using {@link RecyclerViewDivider#compose(RecyclerViewDivider...)} method.
+ */
+public final class CompositeDivider extends RecyclerView.ItemDecoration {
+    private final RecyclerViewDivider[] mLayers;
+    private final boolean mHasInsideLayers;
+    private final boolean mHasOutsideLayers;
+    private final boolean mAdaptiveQuality;
+    private final boolean mParallelSpanIndex;
+    private final boolean mUniformSpans;
+    private final Rect mLayerOffsets = new Rect();
+    // state related to each RecyclerView, the composite can be shared between more RecyclerViews
+    private final Map<RecyclerView, CompositeState> mStates = new WeakHashMap<>();
+
+    /**
+     * @param layers dividers drawn by this decoration, in drawing order
+     */
+    CompositeDivider(@NonNull RecyclerViewDivider[] layers) {
+        mLayers = layers;
+        boolean hasInsideLayers = false;
+        boolean hasOutsideLayers = false;
+        boolean adaptiveQuality = false;
+        boolean parallelSpanIndex = false;
+        // the spans are uniform only if every layer declares it, a single layer can't skip the lookup of the others
+        boolean uniformSpans = layers.length > 0;
+        for (RecyclerViewDivider layer : layers) {
+            hasInsideLayers |= layer.isInsideItem();
+            hasOutsideLayers |= !layer.isInsideItem();
+            adaptiveQuality |= layer.isAdaptiveQuality();
+            parallelSpanIndex |= layer.isParallelSpanIndex();
+            uniformSpans &= layer.isUniformSpans();
+        }
+        mHasInsideLayers = hasInsideLayers;
+        mHasOutsideLayers = hasOutsideLayers;
+        mAdaptiveQuality = adaptiveQuality;
+        mParallelSpanIndex = parallelSpanIndex;
+        mUniformSpans = uniformSpans;
+    }
+
+    /**
+     * Add this decoration to a RecyclerView
+     *
+     * @param recyclerView RecyclerView at which the decoration will be added
+     */
+    public void addTo(@NonNull RecyclerView recyclerView) {
+        removeFrom(recyclerView);
+        recyclerView.addItemDecoration(this);
+    }
+
+    /**
+     * Remove this decoration from a RecyclerView
+     *
+     * @param recyclerView RecyclerView from which the decoration will be removed
+     */
+    public void removeFrom(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeItemDecoration(this);
+        final CompositeState compositeState = mStates.remove(recyclerView);
+        if (compositeState != null) {
+            if (compositeState.shared.scrollListener != null) {
+                recyclerView.removeOnScrollListener(compositeState.shared.scrollListener);
+            }
+            compositeState.release();
+        }
+    }
+
+    @NonNull
+    private CompositeState stateOf(@NonNull RecyclerView recyclerView) {
+        CompositeState compositeState = mStates.get(recyclerView);
+        if (compositeState == null) {
+            compositeState = new CompositeState(recyclerView, mLayers.length, mParallelSpanIndex, mUniformSpans);
+            mStates.put(recyclerView, compositeState);
+            if (mAdaptiveQuality) {
+                compositeState.shared.scrollListener = new RecyclerViewDivider.FlingListener(compositeState.shared);
+                recyclerView.addOnScrollListener(compositeState.shared.scrollListener);
+            }
+        }
+        return compositeState;
+    }
+
+    @Override
+    public void onDraw(Canvas c, RecyclerView parent, RecyclerView.State state) {
+        if (mHasOutsideLayers) {
+            drawLayers(c, parent, false);
+        }
+    }
+
+    @Override
+    public void onDrawOver(Canvas c, RecyclerView parent, RecyclerView.State state) {
+        if (mHasInsideLayers) {
+            drawLayers(c, parent, true);
+        }
+    }
+
+    /**
+     * Draw the layers with a single traversal of the children
+     *
+     * @param c      Canvas used to draw the dividers
+     * @param parent RecyclerView with the attached decoration
+     * @param inside true to draw the layers drawn inside the items, false to draw the other ones
+     */
+    private void drawLayers(Canvas c, RecyclerView parent, boolean inside) {
+        final CompositeState compositeState = stateOf(parent);
+        final ParentState shared = compositeState.shared;
+        shared.snapshot(parent);
+        if (!shared.collectChildren(parent))
+            return;
+
+        final RecyclerViewDivider[] layers = mLayers;
+        final ParentState[] layerStates = compositeState.layers;
+        final boolean[] drawing = compositeState.drawing;
+        boolean drawAny = false;
+        for (int k = 0; k < layers.length; k++) {
+            final RecyclerViewDivider layer = layers[k];
+            drawing[k] = false;
+            if (layer.isInsideItem() != inside)
+                continue;
+
+            layerStates[k].syncWith(shared, layer.isAdaptiveQuality());
+            drawing[k] = layer.beginFrame(parent, layerStates[k]);
+            drawAny |= drawing[k];
+        }
+        if (!drawAny)
+            return;
+
+        final int childCount = parent.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            for (int k = 0; k < layers.length; k++) {
+                if (drawing[k]) {
+                    layers[k].drawChild(c, parent, layerStates[k], i);
+                }
+            }
+        }
+
+        for (int k = 0; k < layers.length; k++) {
+            if (drawing[k]) {
+                layers[k].endFrame();
+            }
+        }
+    }
+
+    @Override
+    public void getItemOffsets(Rect outRect, View view, RecyclerView parent, RecyclerView.State state) {
+        outRect.set(0, 0, 0, 0);
+        if (!mHasOutsideLayers)
+            return;
+
+        final CompositeState compositeState = stateOf(parent);
+        final ParentState shared = compositeState.shared;
+        shared.snapshot(parent);
+        if (shared.itemCount <= 0)
+            return;
+
+        // the span data of the item is resolved once for all the layers
+        final ChildSpec spec = shared.resolveChild(parent, view);
+        final int groupIndex = spec.groupIndex;
+        final int spanSize = spec.spanSize;
+        final int lineAccumulatedSpan = spec.lineAccumulatedSpan;
+
+        final Rect layerOffsets = mLayerOffsets;
+        for (int k = 0; k < mLayers.length; k++) {
+            final RecyclerViewDivider layer = mLayers[k];
+            final ParentState layerState = compositeState.layers[k];
+            layerState.syncWith(shared, layer.isAdaptiveQuality());
+
+            layerOffsets.set(0, 0, 0, 0);
+            layer.itemOffsets(layerOffsets, view, parent, layerState, groupIndex, spanSize, lineAccumulatedSpan);
+            outRect.left += layerOffsets.left;
+            outRect.top += layerOffsets.top;
+            outRect.right += layerOffsets.right;
+            outRect.bottom += layerOffsets.bottom;
+        }
+    }
+
+    /**
+     * State of the composite related to a single RecyclerView: the shared snapshot and the values cached by each layer
+     */
+    private static class CompositeState {
+        final ParentState shared;
+        final ParentState[] layers;
+        final boolean[] drawing;
+
+        CompositeState(@NonNull RecyclerView recyclerView, int layerCount, boolean parallelSpanIndex, boolean uniformSpans) {
+            shared = new ParentState(recyclerView, parallelSpanIndex, uniformSpans);
+            layers = new ParentState[layerCount];
+            for (int k = 0; k < layerCount; k++) {
+                layers[k] = new ParentState(recyclerView, false, false);
+            }
+            drawing = new boolean[layerCount];
+        }
+
+        void release() {
+            shared.release();
+            for (ParentState layer : layers) {
+                layer.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Value-equal key of the configuration set in a {@link RecyclerViewDivider.Builder}.
+ * <br>
+ * Two builders with the same properties produce equal keys, so {@link RecyclerViewDivider.Builder#buildShared()}
+ * can return the same divider for both of them.
+ * Plain values (colors, sizes, flags) are compared by value, while drawables and custom factories are compared by identity.
+ */
+final class DividerConfig {
+    private final Object[] values;
+    private final int hash;
+
+    /**
+     * @param values properties of the builder. Drawables and factories are compared by identity, everything else with equals()
+     */
+    DividerConfig(@Nullable Object... values) {
+        this.values = values;
+        int result = 1;
+        for (Object value : values) {
+            result = 31 * result + hashOf(value);
+        }
+        hash = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DividerConfig)) return false;
+
+        final DividerConfig other = (DividerConfig) o;
+        if (hash != other.hash || values.length != other.values.length) return false;
+
+        for (int i = 0; i < values.length; i++) {
+            if (!valueEquals(values[i], other.values[i])) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "DividerConfig" + Arrays.toString(values);
+    }
+
+    private static boolean byIdentity(@Nullable Object value) {
+        return value instanceof Drawable ||
+                value instanceof VisibilityProvider ||
+                value instanceof DrawableProvider ||
+                value instanceof TintProvider ||
+                value instanceof SizeProvider ||
+                value instanceof MarginProvider;
+    }
+
+    private static boolean valueEquals(@Nullable Object a, @Nullable Object b) {
+        if (a == b) return true;
+        if (a == null || b == null || byIdentity(a)) return false;
+        if (a instanceof int[] && b instanceof int[]) return Arrays.equals((int[]) a, (int[]) b);
+        if (a instanceof float[] && b instanceof float[]) return Arrays.equals((float[]) a, (float[]) b);
+        if (a instanceof Object[] && b instanceof Object[]) return Arrays.equals((Object[]) a, (Object[]) b);
+        return a.equals(b);
+    }
+
+    private static int hashOf(@Nullable Object value) {
+        if (value == null) return 0;
+        if (byIdentity(value)) return System.identityHashCode(value);
+        if (value instanceof int[]) return Arrays.hashCode((int[]) value);
+        if (value instanceof float[]) return Arrays.hashCode((float[]) value);
+        if (value instanceof Object[]) return Arrays.hashCode((Object[]) value);
+        return value.hashCode();
+    }
+}
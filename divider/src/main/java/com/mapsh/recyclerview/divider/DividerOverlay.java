@@ -0,0 +1,77 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.Canvas;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+/**
+ * Lightweight view added to the overlay of a RecyclerView that draws the dividers in its own display list.
+ * <br>
+ * The RecyclerView draws its overlay's views like its children: when the RecyclerView is redrawn because of a change
+ * of its content (e.g. a ripple or a progress spinner inside an item), the display list of this view is reused as it is.
+ * The dividers are drawn again only when the RecyclerView is laid out or scrolled, or when {@link RecyclerViewDivider}
+ * invalidates this view: its draw pass invalidates it only while an item animation runs or a child is translated,
+ * because they move the children without a scroll or a layout. A child laid out again lays out the RecyclerView too.
+ * <br>
+ * The view follows the bounds of the RecyclerView, since the views of an overlay aren't laid out by their host,
+ * and it clips the dividers to the RecyclerView's padding like the children when the RecyclerView clips to its padding.
+ */
+final class DividerOverlay extends View implements View.OnLayoutChangeListener {
+    private final RecyclerView recyclerView;
+    private final RecyclerViewDivider divider;
+    private final RecyclerView.OnScrollListener scrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            invalidate();
+        }
+    };
+
+    /**
+     * Creates the overlay and adds it to the RecyclerView
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @param divider      divider drawn by this overlay
+     */
+    DividerOverlay(@NonNull RecyclerView recyclerView, @NonNull RecyclerViewDivider divider) {
+        super(recyclerView.getContext());
+        this.recyclerView = recyclerView;
+        this.divider = divider;
+        setWillNotDraw(false);
+        recyclerView.getOverlay().add(this);
+        recyclerView.addOnLayoutChangeListener(this);
+        recyclerView.addOnScrollListener(scrollListener);
+        layout(0, 0, recyclerView.getWidth(), recyclerView.getHeight());
+    }
+
+    /**
+     * Removes the overlay from its RecyclerView
+     */
+    void detach() {
+        recyclerView.removeOnLayoutChangeListener(this);
+        recyclerView.removeOnScrollListener(scrollListener);
+        recyclerView.getOverlay().remove(this);
+    }
+
+    @Override
+    public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom) {
+        if (right - left != oldRight - oldLeft || bottom - top != oldBottom - oldTop) {
+            layout(0, 0, right - left, bottom - top);
+        }
+        // the children could have been laid out again without a change of the RecyclerView's bounds
+        invalidate();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (!recyclerView.getClipToPadding()) {
+            divider.drawOverlay(canvas, recyclerView);
+            return;
+        }
+        final int saveCount = canvas.save();
+        canvas.clipRect(recyclerView.getPaddingLeft(), recyclerView.getPaddingTop(),
+                recyclerView.getWidth() - recyclerView.getPaddingRight(), recyclerView.getHeight() - recyclerView.getPaddingBottom());
+        divider.drawOverlay(canvas, recyclerView);
+        canvas.restoreToCount(saveCount);
+    }
+}
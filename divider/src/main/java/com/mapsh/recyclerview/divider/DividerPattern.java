@@ -0,0 +1,112 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.util.SparseArray;
+
+/**
+ * Dashed pattern of a divider, drawn through a cached BitmapShader.
+ * <br>
+ * A single period of the pattern (a dash followed by a gap) is rendered once into an ALPHA_8 tile and repeated by the shader,
+ * so a patterned divider is drawn with a single drawRect() like a solid one.
+ * The tile holds only the coverage of the dash, the color comes from the paint, so the same tile is used for all the colors.
+ * <br>
+ * The dashes run along the longer side of each divider. The shader is anchored to the top left corner of each divider,
+ * so the dashes don't slide over the dividers while scrolling.
+ */
+final class DividerPattern {
+    private static final int ALONG_X = 0;
+    private static final int ALONG_Y = 1;
+
+    private final int dashLength;
+    private final int gapLength;
+    @RecyclerViewDivider.Cap
+    private final int cap;
+
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Matrix matrix = new Matrix();
+    // shaders keyed by the thickness of the divider, a butt pattern uses a single shader for all the thicknesses
+    @SuppressWarnings("unchecked")
+    private final SparseArray<BitmapShader>[] shaders = new SparseArray[]{new SparseArray<BitmapShader>(), new SparseArray<BitmapShader>()};
+
+    /**
+     * @param dashLength length of each dash in pixels, including its caps
+     * @param gapLength  length of the gap between two dashes in pixels
+     * @param cap        shape of the dashes' ends
+     */
+    DividerPattern(int dashLength, int gapLength, @RecyclerViewDivider.Cap int cap) {
+        this.dashLength = Math.max(1, dashLength);
+        this.gapLength = Math.max(0, gapLength);
+        this.cap = cap;
+    }
+
+    /**
+     * Set the color of the next dividers
+     *
+     * @param color color of the dashes
+     */
+    void setColor(@ColorInt int color) {
+        paint.setColor(color);
+    }
+
+    /**
+     * Draw a patterned divider
+     *
+     * @param canvas Canvas used to show the divider
+     * @param left   left position in px
+     * @param top    top position in px
+     * @param right  right position in px
+     * @param bottom bottom position in px
+     */
+    void draw(@NonNull Canvas canvas, int left, int top, int right, int bottom) {
+        final int width = right - left;
+        final int height = bottom - top;
+        if (width <= 0 || height <= 0)
+            return;
+
+        final int direction = width >= height ? ALONG_X : ALONG_Y;
+        final BitmapShader shader = shaderFor(direction, direction == ALONG_X ? height : width);
+        matrix.setTranslate(left, top);
+        shader.setLocalMatrix(matrix);
+        // up to API 25 the paint copies the native shader when it's set, so it's set again after each change of the matrix
+        paint.setShader(shader);
+        canvas.drawRect(left, top, right, bottom, paint);
+    }
+
+    @NonNull
+    private BitmapShader shaderFor(int direction, int thickness) {
+        // the butt dashes are the same for each pixel of the thickness, so a tile 1px thick is enough
+        final int tileThickness = cap == RecyclerViewDivider.CAP_ROUND ? thickness : 1;
+        BitmapShader shader = shaders[direction].get(tileThickness);
+        if (shader == null) {
+            shader = createShader(direction, tileThickness);
+            shaders[direction].put(tileThickness, shader);
+        }
+        return shader;
+    }
+
+    @NonNull
+    private BitmapShader createShader(int direction, int thickness) {
+        final int period = dashLength + gapLength;
+        final boolean alongX = direction == ALONG_X;
+        final Bitmap tile = Bitmap.createBitmap(alongX ? period : thickness, alongX ? thickness : period, Bitmap.Config.ALPHA_8);
+        final Canvas tileCanvas = new Canvas(tile);
+        final Paint tilePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+        final int right = alongX ? dashLength : thickness;
+        final int bottom = alongX ? thickness : dashLength;
+        if (cap == RecyclerViewDivider.CAP_ROUND) {
+            final float radius = thickness / 2f;
+            tileCanvas.drawRoundRect(0, 0, right, bottom, radius, radius, tilePaint);
+        } else {
+            tileCanvas.drawRect(0, 0, right, bottom, tilePaint);
+        }
+        return new BitmapShader(tile, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT);
+    }
+}
@@ -0,0 +1,157 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.Arrays;
+
+/**
+ * Costs of a divider measured on the last frames, drawn over the RecyclerView by {@link RecyclerViewDivider.Builder#debugOverlay()}.
+ * <br>
+ * It shows:
+ * <ul>
+ * <li>the median and the 95th percentile of the time spent drawing the dividers, on the last {@link #WINDOW} frames</li>
+ * <li>the number of dividers drawn in the last frame</li>
+ * <li>the number of calls to getItemOffsets() between the last two frames, which is the cost of the last layout</li>
+ * <li>the rate of dividers' bounds reused from the previous frame and the rate of children's span data handed off by the layout</li>
+ * </ul>
+ * The divider creates an instance for each RecyclerView, only if the app is debuggable.
+ */
+final class DividerStats {
+    static final int WINDOW = 120;
+    private static final int LINE_COUNT = 4;
+
+    private final long[] drawTimes = new long[WINDOW];
+    private final long[] sortedTimes = new long[WINDOW];
+    private int drawTimeCount;
+    private int nextDrawTime;
+
+    private int segments;
+    private int itemOffsetsCalls;
+    private int reusedSegments;
+    private int computedSegments;
+
+    private int frameSegments;
+    private int layoutItemOffsetsCalls;
+    private int segmentHitRate;
+    private int spanHitRate;
+
+    private final Paint backgroundPaint = new Paint();
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final StringBuilder line = new StringBuilder();
+
+    DividerStats() {
+        backgroundPaint.setColor(0xB0000000);
+        textPaint.setColor(Color.WHITE);
+    }
+
+    /**
+     * Counts a call to getItemOffsets()
+     */
+    void onItemOffsets() {
+        itemOffsetsCalls++;
+    }
+
+    /**
+     * Counts a divider drawn in the current frame
+     */
+    void onSegment() {
+        segments++;
+    }
+
+    /**
+     * Counts the dividers of a child, reused from the previous frame or computed again
+     *
+     * @param reused true if the dividers' bounds have been translated from the previous frame
+     */
+    void onChildSegments(boolean reused) {
+        if (reused) {
+            reusedSegments++;
+        } else {
+            computedSegments++;
+        }
+    }
+
+    /**
+     * Completes the measurement of a frame
+     *
+     * @param drawTime    time spent drawing the dividers in nanoseconds
+     * @param childCount  number of children in the frame
+     * @param parentState state of the divider related to the RecyclerView
+     */
+    void onFrame(long drawTime, int childCount, @NonNull ParentState parentState) {
+        drawTimes[nextDrawTime] = drawTime;
+        nextDrawTime = (nextDrawTime + 1) % WINDOW;
+        drawTimeCount = Math.min(drawTimeCount + 1, WINDOW);
+
+        frameSegments = segments;
+        if (itemOffsetsCalls > 0) {
+            layoutItemOffsetsCalls = itemOffsetsCalls;
+        }
+        final int children = reusedSegments + computedSegments;
+        segmentHitRate = children > 0 ? reusedSegments * 100 / children : 0;
+        spanHitRate = childCount > 0 ? parentState.handedOffChildren * 100 / childCount : 0;
+
+        segments = 0;
+        itemOffsetsCalls = 0;
+        reusedSegments = 0;
+        computedSegments = 0;
+    }
+
+    /**
+     * Draw the costs in the top left corner of the RecyclerView
+     *
+     * @param c      Canvas used to draw the costs
+     * @param parent RecyclerView with the attached divider
+     */
+    void draw(@NonNull Canvas c, @NonNull RecyclerView parent) {
+        final float density = parent.getResources().getDisplayMetrics().density;
+        final float textSize = 12 * density;
+        final float padding = 4 * density;
+        textPaint.setTextSize(textSize);
+
+        final float left = parent.getPaddingLeft();
+        final float top = parent.getPaddingTop();
+        c.drawRect(left, top, left + 220 * density, top + LINE_COUNT * textSize + 2 * padding, backgroundPaint);
+
+        System.arraycopy(drawTimes, 0, sortedTimes, 0, drawTimeCount);
+        Arrays.sort(sortedTimes, 0, drawTimeCount);
+        final long p50 = drawTimeCount > 0 ? sortedTimes[drawTimeCount / 2] : 0;
+        final long p95 = drawTimeCount > 0 ? sortedTimes[Math.min(drawTimeCount - 1, drawTimeCount * 95 / 100)] : 0;
+
+        float baseline = top + padding + textSize;
+        line.setLength(0);
+        appendMillis(line.append("draw p50 "), p50);
+        appendMillis(line.append(" ms, p95 "), p95).append(" ms");
+        c.drawText(line.toString(), left + padding, baseline, textPaint);
+
+        baseline += textSize;
+        line.setLength(0);
+        line.append("dividers/frame ").append(frameSegments);
+        c.drawText(line.toString(), left + padding, baseline, textPaint);
+
+        baseline += textSize;
+        line.setLength(0);
+        line.append("getItemOffsets/layout ").append(layoutItemOffsetsCalls);
+        c.drawText(line.toString(), left + padding, baseline, textPaint);
+
+        baseline += textSize;
+        line.setLength(0);
+        line.append("reused bounds ").append(segmentHitRate).append("%, span hand-off ").append(spanHitRate).append('%');
+        c.drawText(line.toString(), left + padding, baseline, textPaint);
+    }
+
+    @NonNull
+    private static StringBuilder appendMillis(@NonNull StringBuilder builder, long nanos) {
+        final long hundredths = nanos / 10000;
+        builder.append(hundredths / 100).append('.');
+        final long fraction = hundredths % 100;
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        return builder.append(fraction);
+    }
+}
@@ -1,10 +1,14 @@
 package com.mapsh.recyclerview.divider;
 
 import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.NonNull;
 import android.support.v4.content.ContextCompat;
 
+import java.util.Arrays;
+
 
 /**
  * Factory used to specify a custom logic to use different drawables as divider.
@@ -14,16 +18,20 @@ import android.support.v4.content.ContextCompat;
  */
 public abstract class DrawableProvider {
 
-    private static DrawableProvider defaultFactory;
+    private static Default defaultFactory;
 
     /**
-     * Creates a singleton instance of a default {@link DrawableProvider} to avoid multiple instance of the same class
+     * Creates a singleton instance of a default {@link DrawableProvider} to avoid multiple instance of the same class.
+     * <br>
+     * The instance is created again when the context's configuration (e.g. the night mode) or its theme changes,
+     * since the default color is a resource resolved with the theme.
      *
      * @param context current context
      * @return factory with default values
      */
     public static synchronized DrawableProvider getDefault(@NonNull Context context) {
-        if (defaultFactory == null) {
+        if (defaultFactory == null || defaultFactory.theme != context.getTheme() ||
+                !defaultFactory.configuration.equals(context.getResources().getConfiguration())) {
             defaultFactory = new Default(context);
         }
         return defaultFactory;
@@ -50,13 +58,37 @@ public abstract class DrawableProvider {
      */
     public abstract Drawable drawableForItem(int groupCount, int groupIndex);
 
+    /**
+     * Defines the drawables of a range of groups with a single call.
+     * <br>
+     * The divider calls this method once per frame for the visible groups.
+     * The default implementation calls {@link #drawableForItem(int, int)} for each group,
+     * override it if the drawables can be resolved more efficiently all together (e.g. with a single query).
+     *
+     * @param groupCount number of groups in a list.
+     *                   The groupCount value is equal to the list size when the span count is 1 (e.g. LinearLayoutManager).
+     * @param fromGroup  index of the first group to resolve, inclusive
+     * @param toGroup    index of the last group to resolve, exclusive
+     * @param out        array that will receive the drawables, the drawable at index i is related to the group fromGroup + i
+     */
+    public void fillDrawables(int groupCount, int fromGroup, int toGroup, @NonNull Drawable[] out) {
+        for (int groupIndex = fromGroup; groupIndex < toGroup; groupIndex++) {
+            out[groupIndex - fromGroup] = drawableForItem(groupCount, groupIndex);
+        }
+    }
+
     /**
      * Default instance of a {@link DrawableProvider}
      */
     private static class Default extends DrawableProvider {
         private final Drawable defaultDrawable;
+        // configuration and theme from which the default color has been resolved
+        private final Configuration configuration;
+        private final Resources.Theme theme;
 
         Default(@NonNull Context context) {
+            configuration = new Configuration(context.getResources().getConfiguration());
+            theme = context.getTheme();
             defaultDrawable = RecyclerViewDividerUtils.colorToDrawable(ContextCompat.getColor(context, R.color.recyclerview_divider_color));
         }
 
@@ -64,6 +96,11 @@ public abstract class DrawableProvider {
         public Drawable drawableForItem(int groupCount, int groupIndex) {
             return defaultDrawable;
         }
+
+        @Override
+        public void fillDrawables(int groupCount, int fromGroup, int toGroup, @NonNull Drawable[] out) {
+            Arrays.fill(out, 0, toGroup - fromGroup, defaultDrawable);
+        }
     }
 
     /**
@@ -81,5 +118,10 @@ public abstract class DrawableProvider {
         public Drawable drawableForItem(int groupCount, int groupIndex) {
             return drawable;
         }
+
+        @Override
+        public void fillDrawables(int groupCount, int fromGroup, int toGroup, @NonNull Drawable[] out) {
+            Arrays.fill(out, 0, toGroup - fromGroup, drawable);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Values of the factories resolved for a range of groups.
+ * <br>
+ * The divider resolves all the visible groups once per frame through the batch methods of the factories
+ * (e.g. {@link SizeProvider#fillSizes(Drawable[], int, int, int, int, int[])}) and then reads these arrays for each child.
+ * The arrays are reused between frames.
+ * <br>
+ * While the main thread is idle the values can be resolved in chunks with {@link #extend}, one range of groups
+ * adjacent to the resolved ones at a time, so the work can stop between two chunks.
+ */
+final class GroupValues {
+    private static final int INITIAL_CAPACITY = 16;
+
+    int fromGroup;
+    int toGroup;
+    private int groupCount;
+    private boolean valid;
+    // true if the values have been resolved ahead of the viewport while the main thread was idle
+    private boolean warm;
+
+    Drawable[] drawables = new Drawable[INITIAL_CAPACITY];
+    int[] visibilities = new int[INITIAL_CAPACITY];
+    int[] sizes = new int[INITIAL_CAPACITY];
+    int[] margins = new int[INITIAL_CAPACITY];
+    int[] tints = new int[INITIAL_CAPACITY];
+    // values of the chunk resolved by extend(), allocated on the first chunk
+    private Drawable[] chunkDrawables;
+    private int[] chunkVisibilities;
+    private int[] chunkSizes;
+    private int[] chunkMargins;
+    private int[] chunkTints;
+
+    /**
+     * Resolves the values of all the factories for the groups between fromGroup (inclusive) and toGroup (exclusive)
+     */
+    void resolve(@NonNull VisibilityProvider visibilityFactory,
+                 @NonNull DrawableProvider drawableFactory,
+                 @Nullable TintProvider tintFactory,
+                 @NonNull SizeProvider sizeFactory,
+                 @NonNull MarginProvider marginFactory,
+                 int orientation,
+                 int groupCount,
+                 int fromGroup,
+                 int toGroup) {
+        this.fromGroup = fromGroup;
+        this.toGroup = toGroup;
+        this.groupCount = groupCount;
+        valid = true;
+        warm = false;
+        ensureCapacity(toGroup - fromGroup);
+
+        visibilityFactory.fillVisibilities(groupCount, fromGroup, toGroup, visibilities);
+        drawableFactory.fillDrawables(groupCount, fromGroup, toGroup, drawables);
+        sizeFactory.fillSizes(drawables, orientation, groupCount, fromGroup, toGroup, sizes);
+        marginFactory.fillMarginSizes(groupCount, fromGroup, toGroup, margins);
+        if (tintFactory != null) {
+            tintFactory.fillTints(groupCount, fromGroup, toGroup, tints);
+        }
+    }
+
+    /**
+     * Resolves the values of all the factories for a range of groups adjacent to the resolved ones and adds them to the arrays.
+     * The resolved values must be valid for the same group count
+     * and the range must end at {@link #fromGroup} or start at {@link #toGroup}.
+     */
+    void extend(@NonNull VisibilityProvider visibilityFactory,
+                @NonNull DrawableProvider drawableFactory,
+                @Nullable TintProvider tintFactory,
+                @NonNull SizeProvider sizeFactory,
+                @NonNull MarginProvider marginFactory,
+                int orientation,
+                int fromGroup,
+                int toGroup) {
+        final int chunkSize = toGroup - fromGroup;
+        if (chunkDrawables == null || chunkDrawables.length < chunkSize) {
+            final int chunkCapacity = Math.max(chunkSize, INITIAL_CAPACITY);
+            chunkDrawables = new Drawable[chunkCapacity];
+            chunkVisibilities = new int[chunkCapacity];
+            chunkSizes = new int[chunkCapacity];
+            chunkMargins = new int[chunkCapacity];
+            chunkTints = new int[chunkCapacity];
+        }
+        visibilityFactory.fillVisibilities(groupCount, fromGroup, toGroup, chunkVisibilities);
+        drawableFactory.fillDrawables(groupCount, fromGroup, toGroup, chunkDrawables);
+        sizeFactory.fillSizes(chunkDrawables, orientation, groupCount, fromGroup, toGroup, chunkSizes);
+        marginFactory.fillMarginSizes(groupCount, fromGroup, toGroup, chunkMargins);
+        if (tintFactory != null) {
+            tintFactory.fillTints(groupCount, fromGroup, toGroup, chunkTints);
+        }
+
+        final int resolvedSize = this.toGroup - this.fromGroup;
+        ensureCapacity(resolvedSize + chunkSize);
+        final int offset;
+        if (toGroup == this.fromGroup) {
+            // the chunk is before the resolved values, they're moved after it
+            System.arraycopy(drawables, 0, drawables, chunkSize, resolvedSize);
+            System.arraycopy(visibilities, 0, visibilities, chunkSize, resolvedSize);
+            System.arraycopy(sizes, 0, sizes, chunkSize, resolvedSize);
+            System.arraycopy(margins, 0, margins, chunkSize, resolvedSize);
+            System.arraycopy(tints, 0, tints, chunkSize, resolvedSize);
+            this.fromGroup = fromGroup;
+            offset = 0;
+        } else {
+            this.toGroup = toGroup;
+            offset = resolvedSize;
+        }
+        System.arraycopy(chunkDrawables, 0, drawables, offset, chunkSize);
+        System.arraycopy(chunkVisibilities, 0, visibilities, offset, chunkSize);
+        System.arraycopy(chunkSizes, 0, sizes, offset, chunkSize);
+        System.arraycopy(chunkMargins, 0, margins, offset, chunkSize);
+        System.arraycopy(chunkTints, 0, tints, offset, chunkSize);
+        Arrays.fill(chunkDrawables, 0, chunkSize, null);
+    }
+
+    /**
+     * Checks if the last resolved values can be reused for a range of groups
+     *
+     * @param groupCount number of groups in the list
+     * @param fromGroup  index of the first group, inclusive
+     * @param toGroup    index of the last group, exclusive
+     * @return true if the values are still valid and they contain all the groups of the range
+     */
+    boolean covers(int groupCount, int fromGroup, int toGroup) {
+        return valid && this.groupCount == groupCount && fromGroup >= this.fromGroup && toGroup <= this.toGroup;
+    }
+
+    /**
+     * Marks the resolved values as warmed ahead of the viewport, so the next frames reuse them while they cover the visible groups
+     */
+    void markWarm() {
+        warm = valid;
+    }
+
+    /**
+     * Checks if the values warmed ahead of the viewport can be reused for a range of groups
+     *
+     * @param groupCount number of groups in the list
+     * @param fromGroup  index of the first group, inclusive
+     * @param toGroup    index of the last group, exclusive
+     * @return true if the values have been warmed and they contain all the groups of the range
+     */
+    boolean coversWarm(int groupCount, int fromGroup, int toGroup) {
+        return warm && covers(groupCount, fromGroup, toGroup);
+    }
+
+    /**
+     * Marks the resolved values as outdated, e.g. after a change of the adapter
+     */
+    void invalidate() {
+        valid = false;
+        warm = false;
+    }
+
+    /**
+     * Marks the resolved values as outdated if they contain at least one group of a range, e.g. after a change of some items' content
+     *
+     * @param fromGroup index of the first changed group, inclusive
+     * @param toGroup   index of the last changed group, exclusive
+     */
+    void invalidateGroups(int fromGroup, int toGroup) {
+        if (fromGroup < this.toGroup && toGroup > this.fromGroup) {
+            invalidate();
+        }
+    }
+
+    /**
+     * @param groupIndex index of a group between {@link #fromGroup} and {@link #toGroup}
+     * @return index of the group's values in the arrays
+     */
+    int indexOf(int groupIndex) {
+        return groupIndex - fromGroup;
+    }
+
+    /**
+     * Releases the drawables referenced in the last resolved range
+     */
+    void clear() {
+        valid = false;
+        warm = false;
+        for (int i = 0; i < drawables.length; i++) {
+            drawables[i] = null;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (drawables.length >= capacity)
+            return;
+
+        int newCapacity = drawables.length;
+        while (newCapacity < capacity) {
+            newCapacity *= 2;
+        }
+        // the resolved values are kept, so they can be extended
+        drawables = Arrays.copyOf(drawables, newCapacity);
+        visibilities = Arrays.copyOf(visibilities, newCapacity);
+        sizes = Arrays.copyOf(sizes, newCapacity);
+        margins = Arrays.copyOf(margins, newCapacity);
+        tints = Arrays.copyOf(tints, newCapacity);
+    }
+}
@@ -0,0 +1,121 @@
+package com.mapsh.recyclerview.divider;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.MotionEvent;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Warms the caches of a divider while the main thread is idle between two gestures.
+ * <br>
+ * When a scroll ends, the warmer registers itself as an idle handler of the main thread's queue.
+ * Each time the queue becomes idle it spends at most {@link #SLICE_BUDGET_NANOS} to prepare the next scroll in the last direction:
+ * the providers' values of the groups beyond the viewport are resolved one screen at a time until the slice ends.
+ * A layout snapshot that needs an update is left to the next frame, so a slice never scans the adapter.
+ * The warming is cancelled as soon as a touch or a new scroll starts.
+ */
+final class IdleWarmer extends RecyclerView.OnScrollListener implements MessageQueue.IdleHandler, RecyclerView.OnItemTouchListener {
+    // a slice shorter than a quarter of a frame, so an input that arrives during the slice isn't delayed
+    static final long SLICE_BUDGET_NANOS = 4000000;
+
+    private final WeakReference<RecyclerView> recyclerViewRef;
+    private final RecyclerViewDivider divider;
+    private final ParentState parentState;
+    private final MessageQueue queue;
+    // sign of the last scroll: 1 towards the end of the list, -1 towards its start, 0 if it hasn't been scrolled yet
+    private int direction;
+    private boolean scheduled;
+
+    /**
+     * Creates the warmer and registers it on the RecyclerView, it must be called on the main thread
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @param divider      divider whose caches are warmed
+     * @param parentState  state of the divider related to the RecyclerView
+     */
+    IdleWarmer(@NonNull RecyclerView recyclerView, @NonNull RecyclerViewDivider divider, @NonNull ParentState parentState) {
+        recyclerViewRef = new WeakReference<>(recyclerView);
+        this.divider = divider;
+        this.parentState = parentState;
+        queue = Looper.myQueue();
+        recyclerView.addOnScrollListener(this);
+        recyclerView.addOnItemTouchListener(this);
+    }
+
+    /**
+     * Unregisters the warmer from the RecyclerView and from the queue
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     */
+    void detach(@NonNull RecyclerView recyclerView) {
+        cancel();
+        recyclerView.removeOnScrollListener(this);
+        recyclerView.removeOnItemTouchListener(this);
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        final int delta = dy != 0 ? dy : dx;
+        if (delta != 0) {
+            direction = delta > 0 ? 1 : -1;
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+            schedule();
+        } else {
+            cancel();
+        }
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(RecyclerView recyclerView, MotionEvent e) {
+        if (e.getActionMasked() == MotionEvent.ACTION_DOWN) {
+            cancel();
+        }
+        return false;
+    }
+
+    @Override
+    public void onTouchEvent(RecyclerView recyclerView, MotionEvent e) {
+        // the events are never intercepted
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+        // the events are never intercepted
+    }
+
+    @Override
+    public boolean queueIdle() {
+        final RecyclerView recyclerView = recyclerViewRef.get();
+        if (recyclerView == null || direction == 0 || recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            scheduled = false;
+            return false;
+        }
+        // the handler stays registered until the window ahead is warm
+        scheduled = !divider.warmAhead(recyclerView, parentState, direction, System.nanoTime() + SLICE_BUDGET_NANOS);
+        return scheduled;
+    }
+
+    private void schedule() {
+        if (scheduled || direction == 0)
+            return;
+
+        scheduled = true;
+        queue.addIdleHandler(this);
+    }
+
+    private void cancel() {
+        if (!scheduled)
+            return;
+
+        scheduled = false;
+        queue.removeIdleHandler(this);
+    }
+}
@@ -0,0 +1,15 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.drawable.Drawable;
+
+/**
+ * Values of the divider resolved for a single item: the values of its group,
+ * overridden by the {@link ViewTypeStyle} of its view type, if any.
+ */
+final class ItemSpec {
+    Drawable drawable;
+    @VisibilityProvider.Show
+    int visibility;
+    int size;
+    int margin;
+}
@@ -1,8 +1,11 @@
 package com.mapsh.recyclerview.divider;
 
 import android.content.Context;
+import android.content.res.Configuration;
 import android.support.annotation.NonNull;
 
+import java.util.Arrays;
+
 /**
  * Factory used to specify a custom logic to set different margins to the divider.
  * <br>
@@ -13,16 +16,18 @@ import android.support.annotation.NonNull;
  */
 public abstract class MarginProvider {
 
-    private static MarginProvider defaultFactory;
+    private static Default defaultFactory;
 
     /**
-     * Creates a singleton instance of a default {@link MarginProvider} to avoid multiple instance of the same class
+     * Creates a singleton instance of a default {@link MarginProvider} to avoid multiple instance of the same class.
+     * <br>
+     * The instance is created again when the context's configuration changes (e.g. its density), since the default margin is a resource.
      *
      * @param context current context
      * @return factory with default values
      */
     public static synchronized MarginProvider getDefault(@NonNull Context context) {
-        if (defaultFactory == null) {
+        if (defaultFactory == null || !defaultFactory.configuration.equals(context.getResources().getConfiguration())) {
             defaultFactory = new Default(context);
         }
         return defaultFactory;
@@ -49,13 +54,35 @@ public abstract class MarginProvider {
      */
     public abstract int marginSizeForItem(int groupCount, int groupIndex);
 
+    /**
+     * Defines the margin sizes of a range of groups with a single call.
+     * <br>
+     * The divider calls this method once per frame for the visible groups.
+     * The default implementation calls {@link #marginSizeForItem(int, int)} for each group,
+     * override it if the margins can be resolved more efficiently all together (e.g. with a single query).
+     *
+     * @param groupCount number of groups in a list.
+     *                   The groupCount value is equal to the list size when the span count is 1 (e.g. LinearLayoutManager).
+     * @param fromGroup  index of the first group to resolve, inclusive
+     * @param toGroup    index of the last group to resolve, exclusive
+     * @param out        array that will receive the margins, the margin at index i is related to the group fromGroup + i
+     */
+    public void fillMarginSizes(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+        for (int groupIndex = fromGroup; groupIndex < toGroup; groupIndex++) {
+            out[groupIndex - fromGroup] = marginSizeForItem(groupCount, groupIndex);
+        }
+    }
+
     /**
      * Default instance of a {@link MarginProvider}
      */
     private static class Default extends MarginProvider {
         private final int defaultMarginSize;
+        // configuration from which the default margin has been resolved
+        private final Configuration configuration;
 
         Default(Context context) {
+            configuration = new Configuration(context.getResources().getConfiguration());
             defaultMarginSize = context.getResources().getDimensionPixelSize(R.dimen.recycler_view_divider_margin_size);
         }
 
@@ -63,6 +90,11 @@ public abstract class MarginProvider {
         public int marginSizeForItem(int groupCount, int groupIndex) {
             return defaultMarginSize;
         }
+
+        @Override
+        public void fillMarginSizes(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+            Arrays.fill(out, 0, toGroup - fromGroup, defaultMarginSize);
+        }
     }
 
     /**
@@ -79,5 +111,10 @@ public abstract class MarginProvider {
         public int marginSizeForItem(int groupCount, int groupIndex) {
             return marginSize;
         }
+
+        @Override
+        public void fillMarginSizes(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+            Arrays.fill(out, 0, toGroup - fromGroup, marginSize);
+        }
     }
 }
\ No newline at end of file
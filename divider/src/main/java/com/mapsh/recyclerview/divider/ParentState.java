@@ -0,0 +1,580 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * State of a {@link RecyclerViewDivider} related to a single RecyclerView.
+ * <br>
+ * A divider can be added to more RecyclerViews, so everything that depends on the RecyclerView
+ * (layout snapshot, cached values, visibility) is stored here instead of in the divider.
+ * <br>
+ * This class must never hold a strong reference to the RecyclerView, neither directly nor through its adapter or layout manager,
+ * because it's stored as a value of a weakly keyed map.
+ */
+final class ParentState {
+
+    // observer registered on the current adapter, it references this state weakly because the adapter can outlive the RecyclerView
+    private DataObserver observer;
+    private WeakReference<RecyclerView.Adapter> adapterRef;
+    private WeakReference<GridLayoutManager.SpanSizeLookup> spanSizeLookupRef;
+    private boolean valid;
+    // true if the span index of a very large grid is built on a background pool
+    private final boolean parallelSpanIndex;
+    // true if the caller declared that every item spans 1
+    private final boolean declaredUniformSpans;
+    private PendingSpanIndex pendingSpanIndex;
+    // span data walked on the main thread while the span index is pending, null otherwise
+    private SpanWalk spanWalk;
+
+    // weak references to the RecyclerView and to this state, compared by the span data stored in the children
+    final WeakReference<RecyclerView> recyclerViewRef;
+    final WeakReference<ParentState> selfRef = new WeakReference<>(this);
+    boolean visible = true;
+    // true after release(), the span data stored in the children by this state can be taken over by another state
+    boolean released;
+    // true while the RecyclerView is flinging and the adaptive quality is enabled
+    boolean flinging;
+    RecyclerView.OnScrollListener scrollListener;
+    // warmer of the caches during the idle time, null if the idle warming is disabled
+    IdleWarmer idleWarmer;
+    // overlay that draws the dividers in its own display list, weakly referenced because it references the RecyclerView
+    WeakReference<DividerOverlay> overlayRef;
+    // costs of the divider measured on this RecyclerView, null if the debug overlay is disabled
+    DividerStats stats;
+
+    int orientation;
+    int spanCount;
+    int itemCount;
+    int groupCount;
+    // span and group index of each position, null if the layout manager isn't a GridLayoutManager or if its spans are uniform
+    private SpanIndex spanIndex;
+    // true if the layout manager is a grid in which every item spans 1, its span data is computed with arithmetic only
+    private boolean uniformSpans;
+
+    // factories' values of the visible groups, resolved once per frame
+    final GroupValues groupValues = new GroupValues();
+    // dividers' bounds of the last frame, translated during a scroll
+    final SegmentBuffer segments = new SegmentBuffer();
+    // adapter position and group index of each child in the current frame
+    int[] childPositions = new int[0];
+    int[] childGroups = new int[0];
+    // span size and span accumulated in the line of each child, resolved lazily: -1 if not resolved yet
+    int[] childSpanSizes = new int[0];
+    int[] childLineSpans = new int[0];
+    // children of the current frame whose span data has been handed off by the layout
+    int handedOffChildren;
+    // groups of the children in the current frame, from inclusive, to exclusive
+    int fromGroup;
+    int toGroup;
+    // incremented each time the values computed from the adapter become outdated
+    private int generation;
+    private int syncedGeneration = -1;
+    // incremented each time the content of a range of items changes, the layout's values stay valid
+    private int contentChanges;
+    private int syncedContentChanges = -1;
+
+    /**
+     * @param parallelSpanIndex    true if the span index of a very large grid must be built on a background pool
+     * @param declaredUniformSpans true if the caller declared that every item of a grid spans 1
+     */
+    ParentState(@NonNull RecyclerView recyclerView, boolean parallelSpanIndex, boolean declaredUniformSpans) {
+        this.recyclerViewRef = new WeakReference<>(recyclerView);
+        this.parallelSpanIndex = parallelSpanIndex;
+        this.declaredUniformSpans = declaredUniformSpans;
+    }
+
+    /**
+     * Updates the snapshot of the RecyclerView's layout.
+     * <br>
+     * The values that need a scan of the adapter (like the group count) are computed again only
+     * if the adapter notified a change or if the layout manager's configuration changed, otherwise this method runs in constant time.
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     */
+    void snapshot(@NonNull RecyclerView recyclerView) {
+        final RecyclerView.Adapter adapter = recyclerView.getAdapter();
+        final RecyclerView.Adapter oldAdapter = adapterRef != null ? adapterRef.get() : null;
+        if (adapter != oldAdapter) {
+            if (oldAdapter != null && observer != null) {
+                oldAdapter.unregisterAdapterDataObserver(observer);
+            }
+            observer = null;
+            if (adapter != null) {
+                observer = new DataObserver(this, adapter);
+                adapter.registerAdapterDataObserver(observer);
+            }
+            adapterRef = new WeakReference<>(adapter);
+            valid = false;
+        }
+
+        adoptPendingSpanIndex(recyclerView);
+
+        if (isSnapshotCurrent(recyclerView))
+            return;
+
+        final GridLayoutManager.SpanSizeLookup lookup = spanSizeLookupOf(recyclerView);
+        orientation = RecyclerViewDividerUtils.getOrientation(recyclerView);
+        spanCount = RecyclerViewDividerUtils.getSpanCount(recyclerView);
+        itemCount = adapter != null ? adapter.getItemCount() : 0;
+        spanSizeLookupRef = lookup != null ? new WeakReference<>(lookup) : null;
+        pendingSpanIndex = null;
+        spanWalk = null;
+        uniformSpans = lookup != null && (declaredUniformSpans || RecyclerViewDividerUtils.hasUniformSpans(lookup));
+        if (uniformSpans) {
+            // every item spans 1: no index is needed
+            spanIndex = null;
+            groupCount = RecyclerViewDividerUtils.getUniformGroupCount(itemCount, spanCount);
+        } else if (lookup != null) {
+            final SpanIndex prewarmedIndex = SpanIndex.takePrewarmed(lookup, spanCount, itemCount);
+            if (prewarmedIndex == null && parallelSpanIndex && itemCount >= SpanIndexBuilder.PARALLEL_THRESHOLD) {
+                // until the index is ready the span data is walked up to the visible positions and the group count,
+                // which would need a scan of the whole adapter, is bounded by the item count: the last group is never
+                // recognized, so its dividers are fixed when the index is adopted
+                spanIndex = null;
+                groupCount = itemCount;
+                spanWalk = new SpanWalk(lookup, spanCount, itemCount);
+                pendingSpanIndex = new PendingSpanIndex(this, recyclerView);
+                SpanIndexBuilder.buildAsync(lookup, spanCount, itemCount, pendingSpanIndex);
+            } else {
+                spanIndex = prewarmedIndex != null ? prewarmedIndex : SpanIndex.build(lookup, spanCount, itemCount);
+                groupCount = spanIndex.groupCount;
+            }
+        } else {
+            spanIndex = null;
+            groupCount = RecyclerViewDividerUtils.getGroupCount(recyclerView, itemCount);
+        }
+        groupValues.invalidate();
+        segments.clear();
+        generation++;
+        valid = true;
+    }
+
+    /**
+     * Checks if the snapshot is still valid for the RecyclerView without updating it,
+     * e.g. to skip a work that would need a scan of the adapter to update the snapshot.
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @return true if the adapter didn't notify any structural change and the layout manager's configuration didn't change
+     */
+    boolean isSnapshotCurrent(@NonNull RecyclerView recyclerView) {
+        if (!valid)
+            return false;
+
+        final RecyclerView.Adapter adapter = recyclerView.getAdapter();
+        final RecyclerView.Adapter snapshotAdapter = adapterRef != null ? adapterRef.get() : null;
+        final GridLayoutManager.SpanSizeLookup snapshotLookup = spanSizeLookupRef != null ? spanSizeLookupRef.get() : null;
+        return adapter == snapshotAdapter &&
+                spanSizeLookupOf(recyclerView) == snapshotLookup &&
+                RecyclerViewDividerUtils.getOrientation(recyclerView) == orientation &&
+                RecyclerViewDividerUtils.getSpanCount(recyclerView) == spanCount &&
+                (adapter != null ? adapter.getItemCount() : 0) == itemCount;
+    }
+
+    /**
+     * @param recyclerView RecyclerView with the attached divider
+     * @return the SpanSizeLookup of the layout manager or null if the layout manager isn't a GridLayoutManager
+     */
+    private static GridLayoutManager.SpanSizeLookup spanSizeLookupOf(@NonNull RecyclerView recyclerView) {
+        final RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        return layoutManager instanceof GridLayoutManager ? ((GridLayoutManager) layoutManager).getSpanSizeLookup() : null;
+    }
+
+    /**
+     * Swaps in the span index built on the background pool, if it's ready.
+     * An index built for an outdated configuration is never adopted, because its pending holder is replaced on each rebuild.
+     * <br>
+     * The index is adopted by the first snapshot after the build or by a task posted to the RecyclerView when the build completes,
+     * so also a static screen gets it without waiting for another frame.
+     * The provisional group count is replaced by the exact one, so the offsets of the items are computed again.
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     */
+    private void adoptPendingSpanIndex(@NonNull RecyclerView recyclerView) {
+        final PendingSpanIndex pending = pendingSpanIndex;
+        if (pending == null || pending.spanIndex == null)
+            return;
+
+        spanIndex = pending.spanIndex;
+        pendingSpanIndex = null;
+        spanWalk = null;
+        if (groupCount != spanIndex.groupCount) {
+            groupCount = spanIndex.groupCount;
+            groupValues.invalidate();
+            generation++;
+            invalidateOffsets(recyclerView);
+        }
+    }
+
+    /**
+     * Asks the RecyclerView to compute again the offsets of its items, after the current layout if it's computing one
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     */
+    private static void invalidateOffsets(@NonNull final RecyclerView recyclerView) {
+        if (!recyclerView.isComputingLayout()) {
+            recyclerView.invalidateItemDecorations();
+            return;
+        }
+        recyclerView.post(new Runnable() {
+            @Override
+            public void run() {
+                recyclerView.invalidateItemDecorations();
+            }
+        });
+    }
+
+    /**
+     * Calculate the group in which the item is, reading it from the span index when possible
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @param itemPosition position of the current item
+     * @return the index of the group
+     */
+    int groupIndexOf(@NonNull RecyclerView recyclerView, int itemPosition) {
+        if (uniformSpans)
+            return itemPosition / spanCount;
+
+        final SpanIndex index = spanIndex;
+        if (index != null && index.contains(itemPosition))
+            return index.groupIndexOf(itemPosition);
+
+        final SpanWalk walk = spanWalk;
+        return walk != null ? walk.groupIndexOf(itemPosition) : RecyclerViewDividerUtils.getGroupIndex(recyclerView, itemPosition);
+    }
+
+    /**
+     * Calculate the span accumulated in the item's line, reading it from the span index when possible
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @param spanSize     spanSize of the item
+     * @param itemPosition position of the current item
+     * @param groupIndex   current index of the group
+     * @return accumulated span
+     */
+    int accumulatedSpanOf(@NonNull RecyclerView recyclerView, int spanSize, int itemPosition, int groupIndex) {
+        if (uniformSpans)
+            return itemPosition % spanCount + 1;
+
+        final SpanIndex index = spanIndex;
+        if (index != null && index.contains(itemPosition))
+            return index.spanIndexOf(itemPosition) + spanSize;
+
+        final SpanWalk walk = spanWalk;
+        return walk != null ? walk.accumulatedSpanOf(itemPosition, spanSize, groupIndex) :
+                RecyclerViewDividerUtils.getAccumulatedSpanInLine(recyclerView, spanSize, itemPosition, groupIndex);
+    }
+
+    /**
+     * Resolve the span data of a child and store it in the child, so the next draw pass doesn't resolve it again.
+     * The data already stored by a previous layout pass (e.g. the pre-layout of an animation) is reused if it's still valid.
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @param child        child of the RecyclerView
+     * @return the span data of the child, the instance is owned by the child
+     */
+    @NonNull
+    ChildSpec resolveChild(@NonNull RecyclerView recyclerView, @NonNull View child) {
+        final int itemPosition = recyclerView.getChildAdapterPosition(child);
+        final ChildSpec spec = ChildSpec.obtain(child, this);
+        if (spec.isValid(this, generation, itemPosition))
+            return spec;
+
+        final int groupIndex = groupIndexOf(recyclerView, itemPosition);
+        final int spanSize = uniformSpans ? 1 : RecyclerViewDividerUtils.getSpanSize(recyclerView, itemPosition);
+        spec.ownerRef = selfRef;
+        spec.generation = generation;
+        spec.position = itemPosition;
+        spec.groupIndex = groupIndex;
+        spec.spanSize = spanSize;
+        spec.lineAccumulatedSpan = accumulatedSpanOf(recyclerView, spanSize, itemPosition, groupIndex);
+        return spec;
+    }
+
+    /**
+     * Forces the computation of the whole snapshot on the next {@link #snapshot(RecyclerView)} call
+     */
+    void invalidate() {
+        valid = false;
+        groupValues.invalidate();
+        segments.clear();
+        generation++;
+    }
+
+    /**
+     * Discards the values of a range of items whose content changed, e.g. after notifyItemRangeChanged().
+     * <br>
+     * In a grid whose spans aren't uniform the SpanSizeLookup can answer a new span size for a changed item
+     * (like GridLayoutManager, which drops its span cache on a change), so the whole snapshot is computed again.
+     * Otherwise a change of the content doesn't move the items, so the snapshot and the span index are kept:
+     * only the factories' values of the changed groups and the dividers' bounds of the changed items are discarded.
+     *
+     * @param positionStart position of the first changed item
+     * @param count         number of changed items
+     */
+    void invalidateRange(int positionStart, int count) {
+        if (spanSizeLookupRef != null && !uniformSpans) {
+            invalidate();
+            return;
+        }
+
+        segments.discard(positionStart, positionStart + count);
+        final int fromGroup = groupOfPosition(positionStart);
+        final int lastGroup = groupOfPosition(positionStart + count - 1);
+        if (fromGroup >= 0 && lastGroup >= 0) {
+            groupValues.invalidateGroups(fromGroup, lastGroup + 1);
+        } else {
+            groupValues.invalidate();
+        }
+        contentChanges++;
+    }
+
+    /**
+     * Calculate the group of a position without the RecyclerView, only with the data of the snapshot
+     *
+     * @param position adapter position
+     * @return the index of the group or -1 if the snapshot isn't valid or the position is outside the list
+     */
+    private int groupOfPosition(int position) {
+        if (!valid || position < 0 || position >= itemCount)
+            return -1;
+
+        // a layout manager that isn't a grid has a group for each position, the other grids are invalidated as a whole
+        return uniformSpans ? position / spanCount : position;
+    }
+
+    /**
+     * Collects the adapter positions and the group indexes of the children of the current frame.
+     * The span data stored in a child by {@link #resolveChild(RecyclerView, View)} during the layout is taken as it is.
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @return true if at least one child has a valid adapter position
+     */
+    boolean collectChildren(@NonNull RecyclerView recyclerView) {
+        final int childCount = recyclerView.getChildCount();
+        if (childPositions.length < childCount) {
+            childPositions = new int[childCount];
+            childGroups = new int[childCount];
+            childSpanSizes = new int[childCount];
+            childLineSpans = new int[childCount];
+        }
+
+        int from = Integer.MAX_VALUE;
+        int to = -1;
+        int handedOff = 0;
+        for (int i = 0; i < childCount; i++) {
+            final View child = recyclerView.getChildAt(i);
+            final int itemPosition = recyclerView.getChildAdapterPosition(child);
+            childPositions[i] = itemPosition;
+            childSpanSizes[i] = -1;
+            if (itemPosition == RecyclerView.NO_POSITION)
+                continue;
+
+            final int groupIndex;
+            final ChildSpec spec = ChildSpec.find(child, this);
+            if (spec != null && spec.isValid(this, generation, itemPosition)) {
+                groupIndex = spec.groupIndex;
+                childSpanSizes[i] = spec.spanSize;
+                childLineSpans[i] = spec.lineAccumulatedSpan;
+                handedOff++;
+            } else {
+                groupIndex = groupIndexOf(recyclerView, itemPosition);
+            }
+            childGroups[i] = groupIndex;
+            from = Math.min(from, groupIndex);
+            to = Math.max(to, groupIndex);
+        }
+
+        fromGroup = from;
+        toGroup = to + 1;
+        handedOffChildren = handedOff;
+        return to >= 0;
+    }
+
+    /**
+     * @param recyclerView RecyclerView with the attached divider
+     * @param childIndex   index of a child collected by {@link #collectChildren(RecyclerView)}
+     * @return span size of the child, resolved once per frame
+     */
+    int spanSizeAt(@NonNull RecyclerView recyclerView, int childIndex) {
+        if (childSpanSizes[childIndex] < 0) {
+            final int itemPosition = childPositions[childIndex];
+            final int spanSize = uniformSpans ? 1 : RecyclerViewDividerUtils.getSpanSize(recyclerView, itemPosition);
+            childSpanSizes[childIndex] = spanSize;
+            childLineSpans[childIndex] = accumulatedSpanOf(recyclerView, spanSize, itemPosition, childGroups[childIndex]);
+        }
+        return childSpanSizes[childIndex];
+    }
+
+    /**
+     * @param recyclerView RecyclerView with the attached divider
+     * @param childIndex   index of a child collected by {@link #collectChildren(RecyclerView)}
+     * @return span accumulated in the line of the child, resolved once per frame
+     */
+    int lineSpanAt(@NonNull RecyclerView recyclerView, int childIndex) {
+        spanSizeAt(recyclerView, childIndex);
+        return childLineSpans[childIndex];
+    }
+
+    /**
+     * Shares the snapshot and the children of another state, used when more dividers are drawn with a single traversal.
+     * The values cached by this state are discarded if the other state has been updated with a new adapter's content
+     * or if the content of some items changed.
+     *
+     * @param shared   state that took the snapshot and collected the children
+     * @param flinging true if this state must use the adaptive quality while the RecyclerView is flinging
+     */
+    void syncWith(@NonNull ParentState shared, boolean flinging) {
+        if (syncedGeneration != shared.generation || syncedContentChanges != shared.contentChanges) {
+            syncedGeneration = shared.generation;
+            syncedContentChanges = shared.contentChanges;
+            groupValues.invalidate();
+            segments.clear();
+        }
+        orientation = shared.orientation;
+        spanCount = shared.spanCount;
+        itemCount = shared.itemCount;
+        groupCount = shared.groupCount;
+        spanIndex = shared.spanIndex;
+        spanWalk = shared.spanWalk;
+        uniformSpans = shared.uniformSpans;
+        childPositions = shared.childPositions;
+        childGroups = shared.childGroups;
+        childSpanSizes = shared.childSpanSizes;
+        childLineSpans = shared.childLineSpans;
+        fromGroup = shared.fromGroup;
+        toGroup = shared.toGroup;
+        this.flinging = flinging && shared.flinging;
+    }
+
+    /**
+     * Releases the resources registered by this state
+     */
+    void release() {
+        released = true;
+        final RecyclerView.Adapter adapter = adapterRef != null ? adapterRef.get() : null;
+        if (adapter != null && observer != null) {
+            adapter.unregisterAdapterDataObserver(observer);
+        }
+        observer = null;
+        adapterRef = null;
+        spanSizeLookupRef = null;
+        spanIndex = null;
+        pendingSpanIndex = null;
+        spanWalk = null;
+        groupValues.clear();
+        segments.clear();
+        valid = false;
+    }
+
+    /**
+     * Observer of the adapter's changes.
+     * <br>
+     * The adapter can outlive the RecyclerView, so the observer references the state weakly:
+     * when the state is collected, the observer unregisters itself on the next notification.
+     */
+    private static class DataObserver extends RecyclerView.AdapterDataObserver {
+        private final WeakReference<ParentState> stateRef;
+        private final WeakReference<RecyclerView.Adapter> adapterRef;
+
+        DataObserver(@NonNull ParentState state, @NonNull RecyclerView.Adapter adapter) {
+            stateRef = new WeakReference<>(state);
+            adapterRef = new WeakReference<>(adapter);
+        }
+
+        @Override
+        public void onChanged() {
+            final ParentState state = stateOrUnregister();
+            if (state != null) {
+                state.invalidate();
+            }
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            final ParentState state = stateOrUnregister();
+            if (state != null) {
+                state.invalidateRange(positionStart, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            final ParentState state = stateOrUnregister();
+            if (state != null) {
+                state.invalidate();
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            final ParentState state = stateOrUnregister();
+            if (state != null) {
+                state.invalidate();
+            }
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            final ParentState state = stateOrUnregister();
+            if (state != null) {
+                state.invalidate();
+            }
+        }
+
+        /**
+         * @return the observed state or null if it has been collected, in that case this observer is unregistered
+         */
+        private ParentState stateOrUnregister() {
+            final ParentState state = stateRef.get();
+            if (state == null) {
+                final RecyclerView.Adapter adapter = adapterRef.get();
+                // the observers are notified from the last one, so this observer can be removed during the notification
+                if (adapter != null) {
+                    adapter.unregisterAdapterDataObserver(this);
+                }
+            }
+            return state;
+        }
+    }
+
+    /**
+     * Holder of a span index built on the background pool, published to the main thread through a volatile field.
+     * <br>
+     * When the index is ready, the holder posts itself to the RecyclerView to adopt it.
+     * It references the state and the RecyclerView weakly, because the pool can complete the build after they're gone.
+     */
+    private static class PendingSpanIndex implements SpanIndexBuilder.Callback, Runnable {
+        private final WeakReference<ParentState> stateRef;
+        private final WeakReference<RecyclerView> recyclerViewRef;
+        volatile SpanIndex spanIndex;
+
+        PendingSpanIndex(@NonNull ParentState state, @NonNull RecyclerView recyclerView) {
+            stateRef = new WeakReference<>(state);
+            recyclerViewRef = new WeakReference<>(recyclerView);
+        }
+
+        @Override
+        public void onSpanIndexBuilt(@NonNull SpanIndex spanIndex) {
+            this.spanIndex = spanIndex;
+            final RecyclerView recyclerView = recyclerViewRef.get();
+            if (recyclerView != null) {
+                recyclerView.post(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            final ParentState state = stateRef.get();
+            final RecyclerView recyclerView = recyclerViewRef.get();
+            // an outdated holder isn't the pending one anymore
+            if (state != null && recyclerView != null && state.pendingSpanIndex == this) {
+                state.adoptPendingSpanIndex(recyclerView);
+            }
+        }
+    }
+}
@@ -2,31 +2,52 @@ package com.mapsh.recyclerview.divider;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.res.Configuration;
 import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.graphics.Rect;
+import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.ColorInt;
 import android.support.annotation.IntDef;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.graphics.drawable.DrawableCompat;
+import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.util.Log;
+import android.util.SparseArray;
 import android.view.View;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Class that draws a divider between RecyclerView's elements
  */
 public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
+    // screens of groups beyond the viewport resolved while the main thread is idle
+    private static final int WARM_SCREENS = 2;
     private static final String TAG = "RecyclerViewDivider";
 
     private static final int TYPE_SPACE = -1;
     private static final int TYPE_COLOR = 0;
     private static final int TYPE_DRAWABLE = 1;
 
+    /**
+     * The dashes of a pattern end with a flat edge
+     */
+    public static final int CAP_BUTT = 0;
+    /**
+     * The dashes of a pattern end with a semicircle, a dash shorter than the divider's size is drawn as a dot
+     */
+    public static final int CAP_ROUND = 1;
+
     private final
     @Type
     int mType;
@@ -35,6 +56,30 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
     private final TintProvider mTintFactory;
     private final SizeProvider mSizeFactory;
     private final MarginProvider mMarginFactory;
+    private final boolean mInsideItem;
+    private final boolean mNoOverdraw;
+    private final boolean mAdaptiveQuality;
+    private final boolean mParallelSpanIndex;
+    private final boolean mUniformSpans;
+    private final boolean mOverlayLayer;
+    private final boolean mIdleWarming;
+    private final Rect mDecoratedBounds = new Rect();
+    // used instead of the drawables while a RecyclerView is flinging with the adaptive quality
+    private final Paint mSolidPaint = new Paint();
+    private boolean mDrawSolid;
+    @Nullable
+    private final DividerPattern mPattern;
+    private boolean mDrawPattern;
+    // copies of each source drawable tinted with each color of a gradient, null if the tint isn't a gradient
+    @Nullable
+    private final Map<Drawable, SparseArray<Drawable>> mTintedDrawables;
+    // true if the costs are measured for each RecyclerView and drawn over it, only in the debuggable apps
+    private final boolean mDebugOverlay;
+    @Nullable
+    private final ViewTypeStyles mViewTypeStyles;
+    private final ItemSpec mItemSpec = new ItemSpec();
+    // state related to each RecyclerView, the divider can be shared between more RecyclerViews
+    private final Map<RecyclerView, ParentState> mParentStates = new WeakHashMap<>();
 
     /**
      * Set the {@link Builder} for this {@link RecyclerViewDivider}
@@ -45,13 +90,33 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
      * @param tintFactory       instance of {@link TintProvider} taken from {@link Builder}
      * @param sizeFactory       instance of {@link SizeProvider} taken from {@link Builder}
      * @param marginFactory     instance of {@link MarginProvider} taken from {@link Builder}
+     * @param insideItem        true if the divider is drawn over the items without reserving space
+     * @param noOverdraw        true if each pixel of the dividers' area must be painted only once
+     * @param adaptiveQuality   true if the rendering must be simplified while the RecyclerView is flinging
+     * @param viewTypeStyles    styles of the view types taken from {@link Builder}, null if there aren't styles
+     * @param parallelSpanIndex true if the span index of a very large grid must be built on a background pool
+     * @param pattern           dashed pattern of the divider, null if the divider is solid
+     * @param uniformSpans      true if the caller declared that every item of a grid spans 1
+     * @param overlayLayer      true if the dividers are drawn in an overlay with its own display list
+     * @param debugOverlay      true if the divider's costs are drawn over the RecyclerView
+     * @param idleWarming       true if the caches are warmed ahead of the scroll direction while the main thread is idle
      */
     private RecyclerViewDivider(@Type int type,
                                 @NonNull VisibilityProvider visibilityFactory,
                                 @NonNull DrawableProvider drawableFactory,
                                 @Nullable TintProvider tintFactory,
                                 @NonNull SizeProvider sizeFactory,
-                                @NonNull MarginProvider marginFactory) {
+                                @NonNull MarginProvider marginFactory,
+                                boolean insideItem,
+                                boolean noOverdraw,
+                                boolean adaptiveQuality,
+                                @Nullable ViewTypeStyles viewTypeStyles,
+                                boolean parallelSpanIndex,
+                                @Nullable DividerPattern pattern,
+                                boolean uniformSpans,
+                                boolean overlayLayer,
+                                boolean debugOverlay,
+                                boolean idleWarming) {
 
         mType = type;
         mVisibilityFactory = visibilityFactory;
@@ -59,6 +124,17 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
         mTintFactory = tintFactory;
         mSizeFactory = sizeFactory;
         mMarginFactory = marginFactory;
+        mInsideItem = insideItem;
+        mNoOverdraw = noOverdraw;
+        mAdaptiveQuality = adaptiveQuality;
+        mViewTypeStyles = viewTypeStyles;
+        mParallelSpanIndex = parallelSpanIndex;
+        mPattern = pattern;
+        mUniformSpans = uniformSpans;
+        mOverlayLayer = overlayLayer;
+        mTintedDrawables = tintFactory instanceof TintProvider.Gradient ? new WeakHashMap<Drawable, SparseArray<Drawable>>() : null;
+        mDebugOverlay = debugOverlay;
+        mIdleWarming = idleWarming;
     }
 
     /**
@@ -72,7 +148,62 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
     }
 
     /**
-     * Add this divider to a RecyclerView
+     * Resolves ahead of time the default values of the dividers (color, size and margin resources and the default drawable),
+     * so the first {@link Builder#build()} on the main thread doesn't pay for the resources' lookups.
+     * <br>
+     * This method can be called from a background thread, e.g. during the application's startup.
+     * A divider built with {@link Builder#buildShared()} on the same background thread will be reused by the main thread
+     * if it builds a divider with an identical configuration.
+     * The default color depends also on the theme, so it's resolved again for a context with another theme,
+     * but its resource is already loaded.
+     *
+     * @param context current context, only its application context is used
+     */
+    public static void prewarm(@NonNull Context context) {
+        final Context appContext = context.getApplicationContext();
+        VisibilityProvider.getDefault();
+        DrawableProvider.getDefault(appContext);
+        SizeProvider.getDefault(appContext);
+        MarginProvider.getDefault(appContext);
+    }
+
+    /**
+     * Resolves ahead of time the default values of the dividers like {@link #prewarm(Context)} and builds
+     * the span index of a grid, so the first frame of a RecyclerView with this grid doesn't need to scan the whole adapter.
+     * <br>
+     * The index is used by the first RecyclerView with the same SpanSizeLookup, span count and item count
+     * and it's discarded if the configuration changes before that.
+     * This method can be called from a background thread only if the SpanSizeLookup doesn't depend on the main thread.
+     *
+     * @param context        current context, only its application context is used
+     * @param spanSizeLookup SpanSizeLookup that will be set in the GridLayoutManager
+     * @param spanCount      span count of the GridLayoutManager
+     * @param itemCount      number of items the adapter will have on the first frame
+     */
+    public static void prewarm(@NonNull Context context, @NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup, int spanCount, int itemCount) {
+        prewarm(context);
+        SpanIndex.prewarm(spanSizeLookup, spanCount, itemCount);
+    }
+
+    /**
+     * Merges more dividers in a single decoration, e.g. a base divider, a section separator and an outer spacing.
+     * <br>
+     * The layers share a single layout snapshot, a single traversal of the children and a single span lookup for each child.
+     * Their offsets are summed and their dividers are drawn in the given order, so the last layer is drawn on top.
+     * The layers shouldn't be added to the same RecyclerView also on their own.
+     *
+     * @param layers dividers to merge
+     * @return a new {@link CompositeDivider} that draws all the layers
+     */
+    public static CompositeDivider compose(@NonNull RecyclerViewDivider... layers) {
+        return new CompositeDivider(layers.clone());
+    }
+
+    /**
+     * Add this divider to a RecyclerView.
+     * <br>
+     * The same divider can be added to more RecyclerViews: its configuration is shared and the state related to
+     * each RecyclerView is kept separately and released when the RecyclerView is garbage collected.
      *
      * @param recyclerView RecyclerView at which the divider will be added
      */
@@ -88,248 +219,944 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
      */
     public void removeFrom(@NonNull RecyclerView recyclerView) {
         recyclerView.removeItemDecoration(this);
+        final ParentState parentState = mParentStates.remove(recyclerView);
+        if (parentState != null) {
+            if (parentState.scrollListener != null) {
+                recyclerView.removeOnScrollListener(parentState.scrollListener);
+            }
+            final DividerOverlay overlay = parentState.overlayRef != null ? parentState.overlayRef.get() : null;
+            if (overlay != null) {
+                overlay.detach();
+            }
+            if (parentState.idleWarmer != null) {
+                parentState.idleWarmer.detach(recyclerView);
+            }
+            parentState.release();
+        }
+    }
+
+    /**
+     * Get the state of this divider related to a RecyclerView, creating it if needed
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @return state of the divider for this RecyclerView
+     */
+    @NonNull
+    ParentState stateOf(@NonNull RecyclerView recyclerView) {
+        ParentState parentState = mParentStates.get(recyclerView);
+        if (parentState == null) {
+            parentState = new ParentState(recyclerView, mParallelSpanIndex, mUniformSpans);
+            mParentStates.put(recyclerView, parentState);
+            if (mAdaptiveQuality) {
+                parentState.scrollListener = new FlingListener(parentState);
+                recyclerView.addOnScrollListener(parentState.scrollListener);
+            }
+            if (mOverlayLayer) {
+                parentState.overlayRef = new WeakReference<>(new DividerOverlay(recyclerView, this));
+            }
+            if (mIdleWarming) {
+                parentState.idleWarmer = new IdleWarmer(recyclerView, this, parentState);
+            }
+            if (mDebugOverlay) {
+                parentState.stats = new DividerStats();
+            }
+        }
+        return parentState;
+    }
+
+    /**
+     * @return true if this divider is drawn over the items in {@link #onDrawOver(Canvas, RecyclerView, RecyclerView.State)}
+     */
+    boolean isInsideItem() {
+        return mInsideItem;
+    }
+
+    /**
+     * @return true if the rendering must be simplified while the RecyclerView is flinging
+     */
+    boolean isAdaptiveQuality() {
+        return mAdaptiveQuality;
+    }
+
+    /**
+     * @return true if the span index of a very large grid must be built on a background pool
+     */
+    boolean isParallelSpanIndex() {
+        return mParallelSpanIndex;
+    }
+
+    /**
+     * @return true if the caller declared that every item of a grid spans 1
+     */
+    boolean isUniformSpans() {
+        return mUniformSpans;
+    }
+
+    /**
+     * Show or hide this divider without removing it from the RecyclerView.
+     * <br>
+     * When the divider is drawn inside the items (see {@link Builder#insideItem()}), this change needs only a redraw,
+     * otherwise the items' offsets change too and the RecyclerView will be laid out again.
+     *
+     * @param recyclerView RecyclerView with the attached divider
+     * @param visible      true to show the divider, false to hide it
+     */
+    public void setVisible(@NonNull RecyclerView recyclerView, boolean visible) {
+        final ParentState parentState = stateOf(recyclerView);
+        if (parentState.visible == visible)
+            return;
+
+        parentState.visible = visible;
+        if (mOverlayLayer) {
+            invalidateOverlay(parentState);
+        }
+        if (mInsideItem) {
+            recyclerView.invalidate();
+        } else {
+            recyclerView.invalidateItemDecorations();
+        }
     }
 
-    @SuppressWarnings("ConstantConditions")
     @Override
     public void onDraw(Canvas c, RecyclerView parent, RecyclerView.State state) {
-        final RecyclerView.Adapter adapter = parent.getAdapter();
-        final int listSize;
+        if (mInsideItem)
+            return;
+
+        drawFrame(c, parent);
+    }
+
+    @Override
+    public void onDrawOver(Canvas c, RecyclerView parent, RecyclerView.State state) {
+        if (mOverlayLayer) {
+            // the overlay is created with the state of the RecyclerView and it records the dividers on its own,
+            // but the item animations move the children without a scroll or a layout: it's recorded again on the next frame
+            final ParentState parentState = stateOf(parent);
+            if (parent.isAnimating() || hasTranslatedChild(parent)) {
+                invalidateOverlay(parentState);
+            }
+        } else if (mInsideItem) {
+            drawFrame(c, parent);
+        }
+        if (mDebugOverlay) {
+            stateOf(parent).stats.draw(c, parent);
+        }
+    }
+
+    /**
+     * Draw the dividers in the overlay of a RecyclerView, see {@link Builder#overlayLayer()}
+     *
+     * @param c      Canvas of the overlay
+     * @param parent RecyclerView with the attached divider
+     */
+    void drawOverlay(@NonNull Canvas c, @NonNull RecyclerView parent) {
+        drawFrame(c, parent);
+    }
+
+    /**
+     * @param parent RecyclerView with the attached divider
+     * @return true if a child is translated, e.g. by an item animation or a swipe
+     */
+    private static boolean hasTranslatedChild(@NonNull RecyclerView parent) {
+        for (int i = parent.getChildCount() - 1; i >= 0; i--) {
+            final View child = parent.getChildAt(i);
+            if (child.getTranslationX() != 0 || child.getTranslationY() != 0)
+                return true;
+        }
+        return false;
+    }
 
+    /**
+     * Record the dividers of the overlay again on the next frame
+     *
+     * @param parentState state of the divider related to the RecyclerView
+     */
+    private void invalidateOverlay(@NonNull ParentState parentState) {
+        final DividerOverlay overlay = parentState.overlayRef != null ? parentState.overlayRef.get() : null;
+        if (overlay != null) {
+            overlay.invalidate();
+        }
+    }
+
+    /**
+     * Draw the dividers of all the children of a RecyclerView
+     *
+     * @param c      Canvas used to draw the dividers
+     * @param parent RecyclerView with the attached divider
+     */
+    private void drawFrame(Canvas c, RecyclerView parent) {
+        if (mDebugOverlay) {
+            final long start = System.nanoTime();
+            drawChildren(c, parent);
+            final ParentState parentState = stateOf(parent);
+            parentState.stats.onFrame(System.nanoTime() - start, parent.getChildCount(), parentState);
+        } else {
+            drawChildren(c, parent);
+        }
+    }
+
+    /**
+     * Draw the dividers of all the children of a RecyclerView, without measuring the frame
+     *
+     * @param c      Canvas used to draw the dividers
+     * @param parent RecyclerView with the attached divider
+     */
+    private void drawChildren(Canvas c, RecyclerView parent) {
         // if the divider isn't a simple space, it will be drawn
-        if (mType == TYPE_SPACE || adapter == null || (listSize = adapter.getItemCount()) == 0)
+        if (mType == TYPE_SPACE)
             return;
 
-        int left;
-        int top;
-        int right;
-        int bottom;
+        final ParentState parentState = stateOf(parent);
+        parentState.snapshot(parent);
+        if (!parentState.visible || !parentState.collectChildren(parent) || !beginFrame(parent, parentState))
+            return;
 
-        final int orientation = RecyclerViewDividerUtils.getOrientation(parent);
-        final int spanCount = RecyclerViewDividerUtils.getSpanCount(parent);
-        int childCount = parent.getChildCount();
+        final int childCount = parent.getChildCount();
         for (int i = 0; i < childCount; i++) {
-            final View child = parent.getChildAt(i);
-            int itemPosition = parent.getChildAdapterPosition(child);
-            final int groupIndex = RecyclerViewDividerUtils.getGroupIndex(parent, itemPosition);
-            final int groupCount = RecyclerViewDividerUtils.getGroupCount(parent, listSize);
+            drawChild(c, parent, parentState, i);
+        }
+        endFrame();
+    }
 
-            Drawable divider = mDrawableFactory.drawableForItem(groupCount, groupIndex);
-            @VisibilityProvider.Show
-            int showDivider = mVisibilityFactory.displayDividerForItem(groupCount, groupIndex);
+    /**
+     * Prepare the drawing of a frame after the children have been collected by {@link ParentState#collectChildren(RecyclerView)}:
+     * the factories' values of the visible groups are resolved with a single call for each factory.
+     *
+     * @param parent      RecyclerView with the attached divider
+     * @param parentState state of the divider related to the RecyclerView, already updated for this frame
+     * @return true if the divider must be drawn in this frame
+     */
+    boolean beginFrame(@NonNull RecyclerView parent, @NonNull ParentState parentState) {
+        if (mType == TYPE_SPACE || !parentState.visible || parentState.itemCount == 0)
+            return false;
 
-            if (divider == null || showDivider == VisibilityProvider.SHOW_NONE) continue;
+        if (mNoOverdraw && parent.getLayoutManager() == null)
+            return false;
 
-            final int spanSize = RecyclerViewDividerUtils.getSpanSize(parent, itemPosition);
+        resolveGroupValues(parentState);
+        if (!mInsideItem && !mNoOverdraw) {
+            parentState.segments.startFrame(parentState.itemCount, parentState.groupCount, parentState.spanCount,
+                    parentState.orientation, parent.getChildCount());
+        }
+        return true;
+    }
 
-            int lineAccumulatedSpan = RecyclerViewDividerUtils.getAccumulatedSpanInLine(parent, spanSize, itemPosition, groupIndex);
+    /**
+     * Draw the dividers of a single child with the path chosen in the {@link Builder}
+     *
+     * @param c           Canvas used to draw the dividers
+     * @param parent      RecyclerView with the attached divider
+     * @param parentState state of the divider related to the RecyclerView, prepared by {@link #beginFrame(RecyclerView, ParentState)}
+     * @param childIndex  index of the child in the RecyclerView
+     */
+    void drawChild(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull ParentState parentState, int childIndex) {
+        if (parentState.childPositions[childIndex] == RecyclerView.NO_POSITION)
+            return;
 
-            final int margin = mMarginFactory.marginSizeForItem(groupCount, groupIndex);
-            int size = mSizeFactory.sizeForItem(divider, orientation, groupCount, groupIndex);
-            if (mTintFactory != null) {
-                final int tint = mTintFactory.tintForItem(groupCount, groupIndex);
-                Drawable wrappedDrawable = DrawableCompat.wrap(divider);
-                DrawableCompat.setTint(wrappedDrawable, tint);
-                divider = wrappedDrawable;
-            }
+        if (mInsideItem) {
+            drawInsideItem(c, parent, parentState, childIndex);
+        } else if (mNoOverdraw) {
+            drawWithoutOverdraw(c, parent, parentState, childIndex);
+        } else {
+            drawDivider(c, parent, parentState, childIndex);
+        }
+    }
 
-            final RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
+    /**
+     * Complete the drawing of a frame
+     */
+    void endFrame() {
+        mDrawSolid = false;
+        mDrawPattern = false;
+    }
 
-            int halfSize = size < 2 ? size : size / 2;
+    /**
+     * Draw the dividers of a child in the space reserved by {@link #getItemOffsets(Rect, View, RecyclerView, RecyclerView.State)}
+     *
+     * @param c           Canvas used to draw the dividers
+     * @param parent      RecyclerView with the attached divider
+     * @param parentState state of the divider related to the RecyclerView, prepared for this frame
+     * @param childIndex  index of the child in the RecyclerView
+     */
+    private void drawDivider(Canvas c, RecyclerView parent, ParentState parentState, int childIndex) {
+        final View child = parent.getChildAt(childIndex);
+        final int itemPosition = parentState.childPositions[childIndex];
+        final GroupValues values = parentState.groupValues;
 
-            size = showDivider == VisibilityProvider.SHOW_ITEMS_ONLY ? 0 : size;
-            halfSize = showDivider == VisibilityProvider.SHOW_GROUP_ONLY ? 0 : halfSize;
+        final ItemSpec item = resolveItem(parent, child, values, values.indexOf(parentState.childGroups[childIndex]), parentState.flinging);
+        final Drawable divider = item.drawable;
+        @VisibilityProvider.Show
+        final int showDivider = item.visibility;
 
-            final int childBottom = child.getBottom();
-            final int childTop = child.getTop();
-            final int childRight = child.getRight();
-            final int childLeft = child.getLeft();
+        if (divider == null || showDivider == VisibilityProvider.SHOW_NONE)
+            return;
 
-            // if the last element in the span doesn't complete the span count, its size will be full, not the half
-            // halfSize * 2 is used instead of size to handle the case Show.ITEMS_ONLY in which size will be == 0
-            final int lastElementInSpanSize = itemPosition == listSize - 1 ? halfSize * 2 : halfSize;
+        final int childBottom = child.getBottom();
+        final int childTop = child.getTop();
+        final int childRight = child.getRight();
+        final int childLeft = child.getLeft();
+        final int childWidth = childRight - childLeft;
+        final int childHeight = childBottom - childTop;
+
+        // during a scroll the dividers of the children already drawn in the last frame are only translated
+        final RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
+        final SegmentBuffer segments = parentState.segments;
+        int entry = segments.reuse(itemPosition, childLeft, childTop, childWidth, childHeight, showDivider, item.size, item.margin, params);
+        if (parentState.stats != null) {
+            parentState.stats.onChildSegments(entry >= 0);
+        }
+        if (entry < 0) {
+            entry = segments.add(itemPosition, childLeft, childTop, childWidth, childHeight, showDivider, item.size, item.margin, params);
+            computeSegments(parent, parentState, child, childIndex, showDivider, item.size, item.margin, segments, entry);
+        }
 
-            final boolean useCellMargin = margin == 0;
+        final int[] bounds = segments.segments();
+        final int segmentCount = segments.segmentCount(entry);
+        for (int segment = 0; segment < segmentCount; segment++) {
+            final int offset = segments.segmentOffset(entry, segment);
+            setBoundsAndDraw(divider, c, parentState, bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+        }
+    }
 
-            int marginToAddBefore, marginToAddAfter;
-            marginToAddBefore = marginToAddAfter = 0;
+    /**
+     * Compute the bounds of the dividers of a child in the space reserved by
+     * {@link #getItemOffsets(Rect, View, RecyclerView, RecyclerView.State)} and add them to the segment buffer
+     *
+     * @param parent       RecyclerView with the attached divider
+     * @param parentState  state of the divider related to the RecyclerView, already updated for this frame
+     * @param child        child of the RecyclerView
+     * @param childIndex   index of the child in the RecyclerView
+     * @param showDivider  visibility of the child's divider
+     * @param size         size of the child's divider
+     * @param margin       margin of the child's divider
+     * @param segments     buffer that receives the bounds
+     * @param entry        entry of the child in the buffer
+     */
+    private void computeSegments(@NonNull RecyclerView parent, @NonNull ParentState parentState, @NonNull View child, int childIndex,
+                                 @VisibilityProvider.Show int showDivider, int size, int margin, @NonNull SegmentBuffer segments, int entry) {
+        final int listSize = parentState.itemCount;
+        final int orientation = parentState.orientation;
+        final int spanCount = parentState.spanCount;
+        final int groupCount = parentState.groupCount;
+        final int itemPosition = parentState.childPositions[childIndex];
+        final int groupIndex = parentState.childGroups[childIndex];
 
-            if (orientation == RecyclerView.VERTICAL) {
-                if (spanCount > 1 && spanSize < spanCount) {
-                    top = childTop + margin;
-                    // size is added to draw filling point between horizontal and vertical dividers
-                    bottom = childBottom - margin;
+        final int spanSize = parentState.spanSizeAt(parent, childIndex);
 
-                    if (useCellMargin) {
-                        if (groupIndex > 0) {
-                            top -= params.topMargin;
-                        }
-                        if (groupIndex < groupCount - 1 || size > 0) {
-                            bottom += params.bottomMargin;
-                        }
-                        bottom += size;
-                    }
+        int lineAccumulatedSpan = parentState.lineSpanAt(parent, childIndex);
 
-                    if (lineAccumulatedSpan == spanSize) {
-                        // first element in the group
-                        left = childRight + margin + params.rightMargin;
-                        right = left + lastElementInSpanSize;
+        final RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
 
-                        setBoundsAndDraw(divider, c, left, top, right, bottom);
+        int halfSize = size < 2 ? size : size / 2;
 
-                        if (useCellMargin) {
-                            marginToAddAfter = params.rightMargin;
-                        }
-                    } else if (lineAccumulatedSpan == spanCount) {
-                        // last element in the group
-                        right = childLeft - margin - params.leftMargin;
-                        left = right - halfSize;
+        size = showDivider == VisibilityProvider.SHOW_ITEMS_ONLY ? 0 : size;
+        halfSize = showDivider == VisibilityProvider.SHOW_GROUP_ONLY ? 0 : halfSize;
 
-                        setBoundsAndDraw(divider, c, left, top, right, bottom);
+        final int childBottom = child.getBottom();
+        final int childTop = child.getTop();
+        final int childRight = child.getRight();
+        final int childLeft = child.getLeft();
 
-                        if (useCellMargin) {
-                            marginToAddBefore = params.leftMargin;
-                        }
-                    } else {
-                        // element in the middle
-                        // left half divider
-                        right = childLeft - margin - params.leftMargin;
-                        left = right - halfSize;
+        int left;
+        int top;
+        int right;
+        int bottom;
 
-                        setBoundsAndDraw(divider, c, left, top, right, bottom);
+        // if the last element in the span doesn't complete the span count, its size will be full, not the half
+        // halfSize * 2 is used instead of size to handle the case Show.ITEMS_ONLY in which size will be == 0
+        final int lastElementInSpanSize = itemPosition == listSize - 1 ? halfSize * 2 : halfSize;
 
-                        // right half divider
-                        left = childRight + margin + params.rightMargin;
-                        right = left + lastElementInSpanSize;
+        final boolean useCellMargin = margin == 0;
 
-                        setBoundsAndDraw(divider, c, left, top, right, bottom);
+        int marginToAddBefore, marginToAddAfter;
+        marginToAddBefore = marginToAddAfter = 0;
 
-                        if (useCellMargin) {
-                            marginToAddAfter = params.rightMargin;
-                            marginToAddBefore = params.leftMargin;
-                        }
+        if (orientation == RecyclerView.VERTICAL) {
+            if (spanCount > 1 && spanSize < spanCount) {
+                top = childTop + margin;
+                // size is added to draw filling point between horizontal and vertical dividers
+                bottom = childBottom - margin;
+
+                if (useCellMargin) {
+                    if (groupIndex > 0) {
+                        top -= params.topMargin;
                     }
+                    if (groupIndex < groupCount - 1 || size > 0) {
+                        bottom += params.bottomMargin;
+                    }
+                    bottom += size;
                 }
 
-                // draw bottom divider
-                top = childBottom + params.bottomMargin;
-                bottom = top + size;
-                left = childLeft + margin - marginToAddBefore;
-                right = childRight - margin + marginToAddAfter;
+                if (lineAccumulatedSpan == spanSize) {
+                    // first element in the group
+                    left = childRight + margin + params.rightMargin;
+                    right = left + lastElementInSpanSize;
 
-                setBoundsAndDraw(divider, c, left, top, right, bottom);
+                    segments.addSegment(entry, left, top, right, bottom);
 
-            } else {
-                if (spanCount > 1 && spanSize < spanCount) {
-                    left = childLeft + margin;
-                    // size is added to draw filling point between horizontal and vertical dividers
-                    right = childRight - margin;
                     if (useCellMargin) {
-                        if (groupIndex > 0) {
-                            left -= params.leftMargin;
-                        }
-                        if (groupIndex < groupCount - 1 || size > 0) {
-                            right += params.rightMargin;
-                        }
-                        right += size;
+                        marginToAddAfter = params.rightMargin;
                     }
+                } else if (lineAccumulatedSpan == spanCount) {
+                    // last element in the group
+                    right = childLeft - margin - params.leftMargin;
+                    left = right - halfSize;
+
+                    segments.addSegment(entry, left, top, right, bottom);
 
-                    if (lineAccumulatedSpan == spanSize) {
-                        // first element in the group
-                        top = childBottom + margin + params.bottomMargin;
-                        bottom = top + lastElementInSpanSize;
+                    if (useCellMargin) {
+                        marginToAddBefore = params.leftMargin;
+                    }
+                } else {
+                    // element in the middle
+                    // left half divider
+                    right = childLeft - margin - params.leftMargin;
+                    left = right - halfSize;
 
-                        setBoundsAndDraw(divider, c, left, top, right, bottom);
+                    segments.addSegment(entry, left, top, right, bottom);
 
-                        if (useCellMargin) {
-                            marginToAddAfter = params.bottomMargin;
-                        }
-                    } else if (lineAccumulatedSpan == spanCount) {
-                        // last element in the group
-                        bottom = childTop - margin - params.topMargin;
-                        top = bottom - halfSize;
+                    // right half divider
+                    left = childRight + margin + params.rightMargin;
+                    right = left + lastElementInSpanSize;
 
-                        setBoundsAndDraw(divider, c, left, top, right, bottom);
+                    segments.addSegment(entry, left, top, right, bottom);
 
-                        if (useCellMargin) {
-                            marginToAddBefore = params.topMargin;
-                        }
-                    } else {
-                        // element in the middle
-                        // top half divider
-                        bottom = childTop - margin - params.topMargin;
-                        top = bottom - halfSize;
+                    if (useCellMargin) {
+                        marginToAddAfter = params.rightMargin;
+                        marginToAddBefore = params.leftMargin;
+                    }
+                }
+            }
 
-                        divider.setBounds(left, top, right, bottom);
-                        divider.draw(c);
+            // draw bottom divider
+            top = childBottom + params.bottomMargin;
+            bottom = top + size;
+            left = childLeft + margin - marginToAddBefore;
+            right = childRight - margin + marginToAddAfter;
 
-                        // bottom half divider
-                        top = childBottom + margin + params.bottomMargin;
-                        bottom = top + lastElementInSpanSize;
+            segments.addSegment(entry, left, top, right, bottom);
 
-                        setBoundsAndDraw(divider, c, left, top, right, bottom);
+        } else {
+            if (spanCount > 1 && spanSize < spanCount) {
+                left = childLeft + margin;
+                // size is added to draw filling point between horizontal and vertical dividers
+                right = childRight - margin;
+                if (useCellMargin) {
+                    if (groupIndex > 0) {
+                        left -= params.leftMargin;
+                    }
+                    if (groupIndex < groupCount - 1 || size > 0) {
+                        right += params.rightMargin;
+                    }
+                    right += size;
+                }
 
-                        if (useCellMargin) {
-                            marginToAddAfter = params.bottomMargin;
-                            marginToAddBefore = params.topMargin;
-                        }
+                if (lineAccumulatedSpan == spanSize) {
+                    // first element in the group
+                    top = childBottom + margin + params.bottomMargin;
+                    bottom = top + lastElementInSpanSize;
+
+                    segments.addSegment(entry, left, top, right, bottom);
+
+                    if (useCellMargin) {
+                        marginToAddAfter = params.bottomMargin;
+                    }
+                } else if (lineAccumulatedSpan == spanCount) {
+                    // last element in the group
+                    bottom = childTop - margin - params.topMargin;
+                    top = bottom - halfSize;
+
+                    segments.addSegment(entry, left, top, right, bottom);
+
+                    if (useCellMargin) {
+                        marginToAddBefore = params.topMargin;
+                    }
+                } else {
+                    // element in the middle
+                    // top half divider
+                    bottom = childTop - margin - params.topMargin;
+                    top = bottom - halfSize;
+
+                    segments.addSegment(entry, left, top, right, bottom);
+
+                    // bottom half divider
+                    top = childBottom + margin + params.bottomMargin;
+                    bottom = top + lastElementInSpanSize;
+
+                    segments.addSegment(entry, left, top, right, bottom);
+
+                    if (useCellMargin) {
+                        marginToAddAfter = params.bottomMargin;
+                        marginToAddBefore = params.topMargin;
                     }
                 }
+            }
+
+            // draw right divider
+            bottom = childBottom - margin + marginToAddAfter;
+            top = childTop + margin - marginToAddBefore;
+            left = childRight + params.rightMargin;
+            right = left + size;
+
+            segments.addSegment(entry, left, top, right, bottom);
+        }
+    }
+
+    /**
+     * Draw the dividers of a child over its edges, inside its bounds.
+     * <br>
+     * The divider between two groups is drawn on the bottom edge (or right edge with an horizontal orientation) of each item
+     * and the divider between two items of the same group is drawn on the other trailing edge of each item, except the last one of the line.
+     *
+     * @param c           Canvas used to draw the dividers
+     * @param parent      RecyclerView with the attached divider
+     * @param parentState state of the divider related to the RecyclerView, prepared for this frame
+     * @param childIndex  index of the child in the RecyclerView
+     */
+    private void drawInsideItem(Canvas c, RecyclerView parent, ParentState parentState, int childIndex) {
+        final View child = parent.getChildAt(childIndex);
+        final int itemPosition = parentState.childPositions[childIndex];
+        final GroupValues values = parentState.groupValues;
+
+        final ItemSpec item = resolveItem(parent, child, values, values.indexOf(parentState.childGroups[childIndex]), parentState.flinging);
+        final Drawable divider = item.drawable;
+        @VisibilityProvider.Show
+        final int showDivider = item.visibility;
+
+        if (divider == null || showDivider == VisibilityProvider.SHOW_NONE)
+            return;
+
+        final int listSize = parentState.itemCount;
+        final int spanCount = parentState.spanCount;
+        final int lineAccumulatedSpan = parentState.lineSpanAt(parent, childIndex);
+
+        final int margin = item.margin;
+        final int size = item.size;
+
+        final int groupSize = showDivider == VisibilityProvider.SHOW_ITEMS_ONLY ? 0 : size;
+        final int itemSize = showDivider == VisibilityProvider.SHOW_GROUP_ONLY ? 0 : size;
+        final boolean drawItemDivider = spanCount > 1 && itemSize > 0 && lineAccumulatedSpan < spanCount && itemPosition < listSize - 1;
+
+        final int childBottom = child.getBottom();
+        final int childTop = child.getTop();
+        final int childRight = child.getRight();
+        final int childLeft = child.getLeft();
+
+        if (parentState.orientation == RecyclerView.VERTICAL) {
+            if (groupSize > 0) {
+                setBoundsAndDraw(divider, c, parentState, childLeft + margin, childBottom - groupSize, childRight - margin, childBottom);
+            }
+            if (drawItemDivider) {
+                // the item divider stops where the group divider starts to paint the corner once
+                setBoundsAndDraw(divider, c, parentState, childRight - itemSize, childTop + margin, childRight, childBottom - Math.max(margin, groupSize));
+            }
+        } else {
+            if (groupSize > 0) {
+                setBoundsAndDraw(divider, c, parentState, childRight - groupSize, childTop + margin, childRight, childBottom - margin);
+            }
+            if (drawItemDivider) {
+                setBoundsAndDraw(divider, c, parentState, childLeft + margin, childBottom - itemSize, childRight - Math.max(margin, groupSize), childBottom);
+            }
+        }
+    }
+
+    /**
+     * Draw the dividers of a child partitioning the space reserved by {@link #getItemOffsets(Rect, View, RecyclerView, RecyclerView.State)}
+     * so each pixel is painted exactly once.
+     * <br>
+     * Each child paints only its own decoration insets: the strips on its sides and the strip after it, which includes the corners.
+     * The insets of different children never overlap, so intersections between dividers aren't painted more than once,
+     * which also keeps translucent dividers uniform.
+     *
+     * @param c           Canvas used to draw the dividers
+     * @param parent      RecyclerView with the attached divider
+     * @param parentState state of the divider related to the RecyclerView, prepared for this frame
+     * @param childIndex  index of the child in the RecyclerView
+     */
+    private void drawWithoutOverdraw(Canvas c, RecyclerView parent, ParentState parentState, int childIndex) {
+        final View child = parent.getChildAt(childIndex);
+        final GroupValues values = parentState.groupValues;
+        final ItemSpec item = resolveItem(parent, child, values, values.indexOf(parentState.childGroups[childIndex]), parentState.flinging);
+        final Drawable divider = item.drawable;
+        if (divider == null || item.visibility == VisibilityProvider.SHOW_NONE)
+            return;
+
+        final int orientation = parentState.orientation;
+        final Rect decorated = mDecoratedBounds;
+        final int margin = item.margin;
+        final RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
+        parent.getLayoutManager().getDecoratedBoundsWithMargins(child, decorated);
+
+        final int innerLeft = child.getLeft() - params.leftMargin;
+        final int innerTop = child.getTop() - params.topMargin;
+        final int innerRight = child.getRight() + params.rightMargin;
+        final int innerBottom = child.getBottom() + params.bottomMargin;
+
+        if (orientation == RecyclerView.VERTICAL) {
+            // the strip after the item includes the corners when there isn't a margin
+            drawIfNotEmpty(divider, c, parentState, margin == 0 ? decorated.left : innerLeft + margin, innerBottom,
+                    margin == 0 ? decorated.right : innerRight - margin, decorated.bottom);
+            drawIfNotEmpty(divider, c, parentState, decorated.left, innerTop + margin, innerLeft - margin, innerBottom - margin);
+            drawIfNotEmpty(divider, c, parentState, innerRight + margin, innerTop + margin, decorated.right, innerBottom - margin);
+        } else {
+            drawIfNotEmpty(divider, c, parentState, innerRight, margin == 0 ? decorated.top : innerTop + margin,
+                    decorated.right, margin == 0 ? decorated.bottom : innerBottom - margin);
+            drawIfNotEmpty(divider, c, parentState, innerLeft + margin, decorated.top, innerRight - margin, innerTop - margin);
+            drawIfNotEmpty(divider, c, parentState, innerLeft + margin, innerBottom + margin, innerRight - margin, decorated.bottom);
+        }
+    }
+
+    /**
+     * Set the Drawable's bounds and draw it on a Canvas only if the bounds aren't empty
+     */
+    private void drawIfNotEmpty(@NonNull Drawable drawable, @NonNull Canvas canvas, @NonNull ParentState parentState, int left, int top, int right, int bottom) {
+        if (right > left && bottom > top) {
+            setBoundsAndDraw(drawable, canvas, parentState, left, top, right, bottom);
+        }
+    }
 
-                // draw right divider
-                bottom = childBottom - margin + marginToAddAfter;
-                top = childTop + margin - marginToAddBefore;
-                left = childRight + params.rightMargin;
-                right = left + size;
+    /**
+     * Resolve the divider's values of a child: the values of its group, overridden by the style of its view type.
+     * The divider's drawable is also prepared to be drawn.
+     *
+     * @param parent     RecyclerView with the attached divider
+     * @param child      child of the RecyclerView
+     * @param values     values resolved for the visible groups
+     * @param valueIndex index of the child's group in the resolved values
+     * @param flinging   true if the RecyclerView is flinging
+     * @return the values of the child, the same instance is reused for each child
+     */
+    @NonNull
+    private ItemSpec resolveItem(@NonNull RecyclerView parent, @NonNull View child, @NonNull GroupValues values, int valueIndex, boolean flinging) {
+        final ItemSpec item = mItemSpec;
+        item.drawable = values.drawables[valueIndex];
+        item.visibility = values.visibilities[valueIndex];
+        item.size = values.sizes[valueIndex];
+        item.margin = values.margins[valueIndex];
+
+        boolean applyTint = mTintFactory != null;
+        final int styleIndex = styleIndexOf(parent, child);
+        if (styleIndex >= 0) {
+            final ViewTypeStyles styles = mViewTypeStyles;
+            if (styles.drawables[styleIndex] != null) {
+                // the style's drawable is already tinted
+                item.drawable = styles.drawables[styleIndex];
+                applyTint = false;
+            }
+            if (styles.visibilities[styleIndex] != ViewTypeStyles.UNSET) {
+                item.visibility = styles.visibilities[styleIndex];
+            }
+            if (styles.sizes[styleIndex] != ViewTypeStyles.UNSET) {
+                item.size = styles.sizes[styleIndex];
+            }
+            if (styles.margins[styleIndex] != ViewTypeStyles.UNSET) {
+                item.margin = styles.margins[styleIndex];
+            }
+        }
+
+        if (item.drawable != null) {
+            item.drawable = prepareDivider(item.drawable, applyTint, values.tints[valueIndex], flinging);
+        }
+        return item;
+    }
 
-                setBoundsAndDraw(divider, c, left, top, right, bottom);
+    /**
+     * Find the style of a child's view type
+     *
+     * @param parent RecyclerView with the attached divider
+     * @param child  child of the RecyclerView
+     * @return index of the style in {@link #mViewTypeStyles} or -1 if the child's view type hasn't a style
+     */
+    private int styleIndexOf(@NonNull RecyclerView parent, @NonNull View child) {
+        if (mViewTypeStyles == null)
+            return -1;
+
+        final RecyclerView.ViewHolder holder = parent.getChildViewHolder(child);
+        return holder != null ? mViewTypeStyles.indexOf(holder.getItemViewType()) : -1;
+    }
+
+    /**
+     * Prepare the divider's drawable of a child before drawing it.
+     * <br>
+     * While the RecyclerView is flinging with the adaptive quality enabled, the dividers with a plain color
+     * (a ColorDrawable or a tinted drawable) are drawn as solid rects without wrapping and tinting the drawable.
+     * If the divider has a pattern, the dividers with a plain color are always drawn with the pattern's shader.
+     * With a gradient tint, the dividers with a plain color are always drawn as solid rects and the other drawables
+     * are tinted once for each color of the gradient.
+     *
+     * @param divider   divider's drawable
+     * @param applyTint true if the tint must be applied to the drawable
+     * @param tint      tint color resolved for the divider
+     * @param flinging  true if the RecyclerView is flinging
+     * @return the drawable to draw if the divider isn't drawn as a solid rect
+     */
+    @NonNull
+    private Drawable prepareDivider(@NonNull Drawable divider, boolean applyTint, int tint, boolean flinging) {
+        mDrawSolid = false;
+        mDrawPattern = false;
+        if (mPattern != null) {
+            if (applyTint) {
+                mPattern.setColor(tint);
+                mDrawPattern = true;
+            } else if (divider instanceof ColorDrawable) {
+                mPattern.setColor(((ColorDrawable) divider).getColor());
+                mDrawPattern = true;
             }
+            if (mDrawPattern)
+                return divider;
         }
+        if (flinging) {
+            if (applyTint) {
+                mSolidPaint.setColor(tint);
+                mDrawSolid = true;
+            } else if (divider instanceof ColorDrawable) {
+                mSolidPaint.setColor(((ColorDrawable) divider).getColor());
+                mDrawSolid = true;
+            }
+        }
+        if (mDrawSolid || !applyTint)
+            return divider;
+
+        if (mTintedDrawables != null) {
+            if (divider instanceof ColorDrawable) {
+                // the tint keeps the alpha of the color
+                final int alpha = (tint >>> 24) * (((ColorDrawable) divider).getColor() >>> 24) / 255;
+                mSolidPaint.setColor(alpha << 24 | (tint & 0xFFFFFF));
+                mDrawSolid = true;
+                return divider;
+            }
+            final Drawable tintedDrawable = tintedDrawableOf(divider, tint);
+            if (tintedDrawable != null)
+                return tintedDrawable;
+        }
+
+        Drawable wrappedDrawable = DrawableCompat.wrap(divider);
+        DrawableCompat.setTint(wrappedDrawable, tint);
+        return wrappedDrawable;
+    }
+
+    /**
+     * Find the copy of a drawable tinted with a color of the gradient, creating it the first time the color is used.
+     * The copies are kept for each drawable, so a drawable factory that alternates more drawables reuses them,
+     * and they're discarded when their drawable is garbage collected.
+     *
+     * @param divider divider's drawable
+     * @param tint    color of the gradient
+     * @return the tinted copy or null if the drawable can't be copied
+     */
+    @Nullable
+    private Drawable tintedDrawableOf(@NonNull Drawable divider, int tint) {
+        // the drawables don't override equals(), so they're compared by identity
+        SparseArray<Drawable> tintedDrawables = mTintedDrawables.get(divider);
+        if (tintedDrawables == null) {
+            tintedDrawables = new SparseArray<>();
+            mTintedDrawables.put(divider, tintedDrawables);
+        }
+        Drawable tintedDrawable = tintedDrawables.get(tint);
+        if (tintedDrawable == null) {
+            final Drawable.ConstantState constantState = divider.getConstantState();
+            if (constantState == null)
+                return null;
+
+            tintedDrawable = DrawableCompat.wrap(constantState.newDrawable().mutate());
+            DrawableCompat.setTint(tintedDrawable, tint);
+            tintedDrawables.put(tint, tintedDrawable);
+        }
+        return tintedDrawable;
+    }
+
+    /**
+     * Warm the caches for the next scroll while the main thread is idle, see {@link Builder#idleWarming()}.
+     * <br>
+     * The providers' values of the visible groups and of {@link #WARM_SCREENS} screens of groups beyond them in the scroll direction
+     * are resolved one screen at a time, and the deadline is checked between two screens.
+     * An outdated snapshot isn't updated here, because it could need a scan of the adapter:
+     * the next frame (or the background pool for the span index) updates it and the next idle slice continues the warming.
+     *
+     * @param parent      RecyclerView with the attached divider
+     * @param parentState state of the divider related to the RecyclerView
+     * @param direction   1 to warm the groups after the viewport, -1 to warm the groups before it
+     * @param deadline    value of {@link System#nanoTime()} at which the slice must stop
+     * @return true if the caches are warm, false if another slice is needed
+     */
+    boolean warmAhead(@NonNull RecyclerView parent, @NonNull ParentState parentState, int direction, long deadline) {
+        if (!parentState.isSnapshotCurrent(parent))
+            return false;
+        if (!parentState.visible || parentState.itemCount <= 0 || !parentState.collectChildren(parent))
+            return true;
+
+        final GroupValues values = parentState.groupValues;
+        final int groupCount = parentState.groupCount;
+        final int fromGroup = parentState.fromGroup;
+        final int toGroup = parentState.toGroup;
+        final int screen = toGroup - fromGroup;
+        final int window = WARM_SCREENS * screen;
+        final int warmFrom = direction < 0 ? Math.max(0, fromGroup - window) : fromGroup;
+        final int warmTo = direction > 0 ? Math.min(groupCount, toGroup + window) : toGroup;
+        if (values.coversWarm(groupCount, warmFrom, warmTo))
+            return true;
+
+        // the values resolved by the last frame or by the last slice are extended only if they're inside the window
+        if (!values.covers(groupCount, fromGroup, toGroup) || values.fromGroup < warmFrom || values.toGroup > warmTo) {
+            values.resolve(mVisibilityFactory, mDrawableFactory, mTintFactory, mSizeFactory, mMarginFactory,
+                    parentState.orientation, groupCount, fromGroup, toGroup);
+        }
+        values.markWarm();
+
+        while (!values.covers(groupCount, warmFrom, warmTo)) {
+            if (System.nanoTime() > deadline)
+                return false;
+
+            if (direction > 0) {
+                values.extend(mVisibilityFactory, mDrawableFactory, mTintFactory, mSizeFactory, mMarginFactory,
+                        parentState.orientation, values.toGroup, Math.min(warmTo, values.toGroup + screen));
+            } else {
+                values.extend(mVisibilityFactory, mDrawableFactory, mTintFactory, mSizeFactory, mMarginFactory,
+                        parentState.orientation, Math.max(warmFrom, values.fromGroup - screen), values.fromGroup);
+            }
+            values.markWarm();
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the factories' values of the groups visible in the current frame with a single call for each factory
+     *
+     * @param parentState state of the divider related to the RecyclerView, with the children already collected
+     */
+    private void resolveGroupValues(@NonNull ParentState parentState) {
+        final GroupValues values = parentState.groupValues;
+        final int groupCount = parentState.groupCount;
+        int fromGroup = parentState.fromGroup;
+        int toGroup = parentState.toGroup;
+        // the values warmed during the idle time are reused until the visible groups leave them
+        if (values.coversWarm(groupCount, fromGroup, toGroup))
+            return;
+
+        if (parentState.flinging) {
+            // while flinging the values are cached: the next frames reuse them until they leave the resolved window
+            if (values.covers(groupCount, fromGroup, toGroup))
+                return;
+
+            final int visibleGroups = toGroup - fromGroup;
+            fromGroup = Math.max(0, fromGroup - visibleGroups);
+            toGroup = Math.max(toGroup, Math.min(groupCount, toGroup + visibleGroups));
+        }
+        values.resolve(mVisibilityFactory, mDrawableFactory, mTintFactory, mSizeFactory, mMarginFactory,
+                parentState.orientation, groupCount, fromGroup, toGroup);
     }
 
     /**
      * Set the Drawable's bounds and draw it on a Canvas
      *
-     * @param drawable Drawable to draw
-     * @param canvas   Canvas used to show the Drawable
-     * @param left     left position in px
-     * @param top      top position in px
-     * @param right    right position in px
-     * @param bottom   bottom position in px
-     */
-    private void setBoundsAndDraw(@NonNull Drawable drawable, @NonNull Canvas canvas, int left, int top, int right, int bottom) {
+     * @param drawable    Drawable to draw
+     * @param canvas      Canvas used to show the Drawable
+     * @param parentState state of the divider related to the RecyclerView
+     * @param left        left position in px
+     * @param top         top position in px
+     * @param right       right position in px
+     * @param bottom      bottom position in px
+     */
+    private void setBoundsAndDraw(@NonNull Drawable drawable, @NonNull Canvas canvas, @NonNull ParentState parentState, int left, int top, int right, int bottom) {
+        if (parentState.stats != null) {
+            parentState.stats.onSegment();
+        }
+        if (mDrawPattern) {
+            mPattern.draw(canvas, left, top, right, bottom);
+            return;
+        }
+        if (mDrawSolid) {
+            canvas.drawRect(left, top, right, bottom, mSolidPaint);
+            return;
+        }
         drawable.setBounds(left, top, right, bottom);
         drawable.draw(canvas);
     }
 
     @Override
     public void getItemOffsets(Rect outRect, View view, RecyclerView parent, RecyclerView.State state) {
-        final int listSize = parent.getAdapter().getItemCount();
-        if (listSize <= 0)
+        final ParentState parentState = stateOf(parent);
+        if (parentState.stats != null) {
+            parentState.stats.onItemOffsets();
+        }
+        // the divider drawn inside the items never changes their measurements
+        if (mInsideItem) {
+            outRect.set(0, 0, 0, 0);
+            return;
+        }
+
+        parentState.snapshot(parent);
+        final int listSize = parentState.itemCount;
+        if (!parentState.visible || listSize <= 0) {
+            outRect.set(0, 0, 0, 0);
             return;
+        }
 
-        int itemPosition = parent.getChildAdapterPosition(view);
-        final int groupIndex = RecyclerViewDividerUtils.getGroupIndex(parent, itemPosition);
-        final int groupCount = RecyclerViewDividerUtils.getGroupCount(parent, listSize);
+        final ChildSpec spec = parentState.resolveChild(parent, view);
+        final int groupIndex = spec.groupIndex;
+        final int spanSize = spec.spanSize;
+        final int lineAccumulatedSpan = spec.lineAccumulatedSpan;
+        itemOffsets(outRect, view, parent, parentState, groupIndex, spanSize, lineAccumulatedSpan);
+    }
 
-        @VisibilityProvider.Show int showDivider = mVisibilityFactory.displayDividerForItem(groupCount, groupIndex);
-        if (showDivider == VisibilityProvider.SHOW_NONE)
+    /**
+     * Compute the offsets of an item with the span data already resolved
+     *
+     * @param outRect             Rect that receives the offsets, it must be empty
+     * @param view                child of the RecyclerView
+     * @param parent              RecyclerView with the attached divider
+     * @param parentState         state of the divider related to the RecyclerView, already updated
+     * @param groupIndex          index of the item's group
+     * @param spanSize            span size of the item
+     * @param lineAccumulatedSpan span accumulated in the item's line
+     */
+    void itemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull ParentState parentState,
+                     int groupIndex, int spanSize, int lineAccumulatedSpan) {
+        if (mInsideItem || !parentState.visible || parentState.itemCount <= 0)
             return;
 
-        final int orientation = RecyclerViewDividerUtils.getOrientation(parent);
-        final int spanCount = RecyclerViewDividerUtils.getSpanCount(parent);
-        final int spanSize = RecyclerViewDividerUtils.getSpanSize(parent, itemPosition);
+        final int groupCount = parentState.groupCount;
 
-        int lineAccumulatedSpan = RecyclerViewDividerUtils.getAccumulatedSpanInLine(parent, spanSize, itemPosition, groupIndex);
+        final int styleIndex = styleIndexOf(parent, view);
+        final ViewTypeStyles styles = mViewTypeStyles;
+        // the values of the groups warmed during the idle time are read instead of calling the providers
+        final GroupValues values = parentState.groupValues;
+        final int warmIndex = values.coversWarm(groupCount, groupIndex, groupIndex + 1) ? values.indexOf(groupIndex) : -1;
 
-        final Drawable divider = mDrawableFactory.drawableForItem(groupCount, groupIndex);
-        int size = mSizeFactory.sizeForItem(divider, orientation, groupCount, groupIndex);
-        int marginSize = mMarginFactory.marginSizeForItem(groupCount, groupIndex);
+        @VisibilityProvider.Show int showDivider;
+        if (styleIndex >= 0 && styles.visibilities[styleIndex] != ViewTypeStyles.UNSET) {
+            showDivider = styles.visibilities[styleIndex];
+        } else {
+            showDivider = warmIndex >= 0 ? values.visibilities[warmIndex] : mVisibilityFactory.displayDividerForItem(groupCount, groupIndex);
+        }
+        if (showDivider == VisibilityProvider.SHOW_NONE)
+            return;
+
+        final int orientation = parentState.orientation;
+        final int spanCount = parentState.spanCount;
+
+        int size;
+        if (styleIndex >= 0 && styles.sizes[styleIndex] != ViewTypeStyles.UNSET) {
+            size = styles.sizes[styleIndex];
+        } else if (warmIndex >= 0) {
+            size = values.sizes[warmIndex];
+        } else {
+            final Drawable divider = mDrawableFactory.drawableForItem(groupCount, groupIndex);
+            size = mSizeFactory.sizeForItem(divider, orientation, groupCount, groupIndex);
+        }
+        int marginSize;
+        if (styleIndex >= 0 && styles.margins[styleIndex] != ViewTypeStyles.UNSET) {
+            marginSize = styles.margins[styleIndex];
+        } else {
+            marginSize = warmIndex >= 0 ? values.margins[warmIndex] : mMarginFactory.marginSizeForItem(groupCount, groupIndex);
+        }
 
         int halfSize = size / 2 + marginSize;
+        // without overdraw the space between two items is partitioned in their offsets, so an odd size isn't truncated
+        int halfSizeAfter = mNoOverdraw ? size - size / 2 + marginSize : halfSize;
 
         size = showDivider == VisibilityProvider.SHOW_ITEMS_ONLY ? 0 : size;
         halfSize = showDivider == VisibilityProvider.SHOW_GROUP_ONLY ? 0 : halfSize;
+        halfSizeAfter = showDivider == VisibilityProvider.SHOW_GROUP_ONLY ? 0 : halfSizeAfter;
 
         if (orientation == RecyclerView.VERTICAL) {
             if (spanCount == 1 || spanSize == spanCount) {
@@ -337,13 +1164,13 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
                 outRect.set(0, 0, 0, size);
             } else if (lineAccumulatedSpan == spanSize) {
                 // first element in the group
-                outRect.set(0, 0, halfSize, size);
+                outRect.set(0, 0, halfSizeAfter, size);
             } else if (lineAccumulatedSpan == spanCount) {
                 // last element in the group
                 outRect.set(halfSize, 0, 0, size);
             } else {
                 // element in the middle
-                outRect.set(halfSize, 0, halfSize, size);
+                outRect.set(halfSize, 0, halfSizeAfter, size);
             }
         } else {
             if (spanCount == 1 || spanSize == spanCount) {
@@ -351,13 +1178,38 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
                 outRect.set(0, 0, size, 0);
             } else if (lineAccumulatedSpan == spanSize) {
                 // first element in the group
-                outRect.set(0, 0, size, halfSize);
+                outRect.set(0, 0, size, halfSizeAfter);
             } else if (lineAccumulatedSpan == spanCount) {
                 // last element in the group
                 outRect.set(0, halfSize, size, 0);
             } else {
                 // element in the middle
-                outRect.set(0, halfSize, size, halfSize);
+                outRect.set(0, halfSize, size, halfSizeAfter);
+            }
+        }
+    }
+
+    /**
+     * Listener that switches the rendering of a RecyclerView to the cheapest path while it's flinging
+     */
+    static class FlingListener extends RecyclerView.OnScrollListener {
+        private final ParentState parentState;
+
+        FlingListener(@NonNull ParentState parentState) {
+            this.parentState = parentState;
+        }
+
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            final boolean flinging = newState == RecyclerView.SCROLL_STATE_SETTLING;
+            if (parentState.flinging == flinging)
+                return;
+
+            parentState.flinging = flinging;
+            if (!flinging) {
+                // full fidelity values are resolved again with a single redraw
+                parentState.groupValues.invalidate();
+                recyclerView.invalidate();
             }
         }
     }
@@ -372,6 +1224,16 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
      * <li><b>Tint of the drawable:</b> {@link #tint(int)}</li>
      * <li><b>Size:</b> {@link #size(int)}</li>
      * <li><b>Margins:</b> {@link #marginSize(int)}</li>
+     * <li><b>Dashed pattern:</b> {@link #pattern(int, int, int)}</li>
+     * <li><b>Drawn inside the items:</b> {@link #insideItem()}</li>
+     * <li><b>Without overdraw:</b> {@link #noOverdraw()}</li>
+     * <li><b>Adaptive quality during flings:</b> {@link #adaptiveQuality()}</li>
+     * <li><b>Style for a view type:</b> {@link #viewTypeStyle(int, ViewTypeStyle)}</li>
+     * <li><b>Parallel span index for large grids:</b> {@link #parallelSpanIndex()}</li>
+     * <li><b>Grids in which every item spans 1:</b> {@link #uniformSpans()}</li>
+     * <li><b>Drawn in an overlay layer:</b> {@link #overlayLayer()}</li>
+     * <li><b>Costs drawn over the list in debuggable apps:</b> {@link #debugOverlay()}</li>
+     * <li><b>Caches warmed while the main thread is idle:</b> {@link #idleWarming()}</li>
      * </ul>
      * <br>
      * And use these custom factories:
@@ -379,12 +1241,23 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
      * <li><b>{@link VisibilityProvider}:</b> {@link #visibilityFactory(VisibilityProvider)}</li>
      * <li><b>{@link DrawableProvider}:</b> {@link #drawableFactory(DrawableProvider)}</li>
      * <li><b>{@link TintProvider}:</b> {@link #tintFactory(TintProvider)}</li>
+     * <li><b>Gradient tint:</b> {@link #gradientTint(int...)}</li>
      * <li><b>{@link SizeProvider}:</b> {@link #sizeFactory(SizeProvider)}</li>
      * <li><b>{@link MarginProvider}:</b> {@link #marginFactory(MarginProvider)}</li>
      * </ul>
      */
     public static class Builder {
         private static final int INT_DEF = -1;
+        private static final int MAX_SHARED_DIVIDERS = 32;
+
+        // dividers returned by buildShared(), the least recently used configuration is dropped when the table is full
+        private static final Map<DividerConfig, WeakReference<RecyclerViewDivider>> sharedDividers =
+                new LinkedHashMap<DividerConfig, WeakReference<RecyclerViewDivider>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<DividerConfig, WeakReference<RecyclerViewDivider>> eldest) {
+                        return size() > MAX_SHARED_DIVIDERS || eldest.getValue().get() == null;
+                    }
+                };
 
         private final Context context;
 
@@ -392,9 +1265,23 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
         private Integer color;
         private Drawable drawable;
         private Integer tint;
+        private int[] gradientColors;
         private int size;
         private int marginSize;
         private boolean hideLastDivider;
+        private int dashLength;
+        private int gapLength;
+        @Cap
+        private int cap;
+        private boolean insideItem;
+        private boolean noOverdraw;
+        private boolean adaptiveQuality;
+        private boolean parallelSpanIndex;
+        private boolean uniformSpans;
+        private boolean overlayLayer;
+        private boolean debugOverlay;
+        private boolean idleWarming;
+        private final SparseArray<ViewTypeStyle> viewTypeStyles = new SparseArray<>();
 
         private VisibilityProvider visibilityFactory;
         private DrawableProvider drawableFactory;
@@ -416,11 +1303,15 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
             this.context = context;
             size = INT_DEF;
             marginSize = INT_DEF;
+            dashLength = INT_DEF;
             type = TYPE_COLOR;
         }
 
         /**
          * Set the type of the divider as a space
+         * <br>
+         * A uniform space can also be placed by {@link SpacingLinearLayoutManager} or {@link SpacingGridLayoutManager}
+         * while they lay out the children, without any item decoration.
          *
          * @return {@link Builder} instance
          */
@@ -474,6 +1365,23 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
             return this;
         }
 
+        /**
+         * Set a tint gradient from the first divider to the last one.
+         * <br>
+         * The gradient is precomputed in a table of colors and each drawable is tinted once for each color,
+         * so a gradient costs about the same as a single tint.
+         * The dividers with a plain color are drawn as solid rects.
+         * <br>
+         * This method is ignored if a custom {@link TintProvider} is set with {@link #tintFactory(TintProvider)}
+         *
+         * @param colors color stops of the gradient, evenly distributed along the list
+         * @return {@link Builder} instance
+         */
+        public Builder gradientTint(@NonNull @ColorInt int... colors) {
+            gradientColors = colors.length > 0 ? colors.clone() : null;
+            return this;
+        }
+
         /**
          * Set the size of all dividers. The divider's final size will depend on RecyclerView's orientation:
          * <ul>
@@ -522,6 +1430,181 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
             return this;
         }
 
+        /**
+         * Draw the dividers as dashed lines with flat ends
+         *
+         * @param dashLength length of each dash in pixels
+         * @param gapLength  length of the gap between two dashes in pixels
+         * @return {@link Builder} instance
+         */
+        public Builder pattern(int dashLength, int gapLength) {
+            return pattern(dashLength, gapLength, CAP_BUTT);
+        }
+
+        /**
+         * Draw the dividers as dashed or dotted lines.
+         * <br>
+         * The dashes run along the longer side of each divider and they're painted with the divider's color or tint.
+         * A single period of the pattern is rendered once into a small tile and repeated by a cached shader,
+         * so a patterned divider costs about the same as a solid one.
+         * The pattern is used only with a color or a tinted drawable, other drawables are drawn as they are.
+         *
+         * @param dashLength length of each dash in pixels, including its caps
+         * @param gapLength  length of the gap between two dashes in pixels
+         * @param cap        shape of the dashes' ends, {@link #CAP_BUTT} or {@link #CAP_ROUND}
+         * @return {@link Builder} instance
+         */
+        public Builder pattern(int dashLength, int gapLength, @Cap int cap) {
+            this.dashLength = dashLength;
+            this.gapLength = gapLength;
+            this.cap = cap;
+            return this;
+        }
+
+        /**
+         * Draw the dividers over the items, inside their bounds, instead of reserving space between them.
+         * <br>
+         * The items' offsets will always be empty, so the dividers never affect the measurements of the items
+         * and changing their visibility with {@link RecyclerViewDivider#setVisible(RecyclerView, boolean)} needs only a redraw.
+         * <br>
+         * Warning: this mode has no effect on a divider set with {@link #asSpace()}.
+         *
+         * @return {@link Builder} instance
+         */
+        public Builder insideItem() {
+            this.insideItem = true;
+            return this;
+        }
+
+        /**
+         * Paint each pixel of the dividers' area exactly once.
+         * <br>
+         * By default the dividers between items of a grid are extended to fill the points between horizontal and vertical dividers.
+         * With this option every item paints only its own offsets, so the intersections are painted once, translucent dividers
+         * don't show darker points and the fill rate is lower. An odd size is split between the two items around the divider.
+         *
+         * @return {@link Builder} instance
+         */
+        public Builder noOverdraw() {
+            this.noOverdraw = true;
+            return this;
+        }
+
+        /**
+         * Simplify the rendering while the RecyclerView is flinging, when the frame budget is tighter.
+         * <br>
+         * While the RecyclerView is in the state {@link RecyclerView#SCROLL_STATE_SETTLING}, the dividers with a plain color
+         * (a color or a tinted drawable) are drawn as solid rects without tinting the drawables, and the factories' values
+         * are cached for a window of groups around the visible ones. When the RecyclerView becomes idle,
+         * the dividers are redrawn once with full fidelity.
+         *
+         * @return {@link Builder} instance
+         */
+        public Builder adaptiveQuality() {
+            this.adaptiveQuality = true;
+            return this;
+        }
+
+        /**
+         * Build the span index of very large grids in parallel on a background pool.
+         * <br>
+         * The divider indexes the span and the group of each position of a GridLayoutManager when the adapter changes.
+         * With this option, the index of a grid with a lot of items is built by more threads without blocking the main thread,
+         * and until the index is ready the divider walks the SpanSizeLookup only up to the visible positions.
+         * The last group isn't known until the index is ready, so the dividers of the last group are fixed when it's ready.
+         * <br>
+         * The SpanSizeLookup will be called from background threads, so it must not depend on the main thread.
+         *
+         * @return {@link Builder} instance
+         */
+        public Builder parallelSpanIndex() {
+            this.parallelSpanIndex = true;
+            return this;
+        }
+
+        /**
+         * Declare that every item of the grid spans 1, even if the GridLayoutManager uses a custom SpanSizeLookup.
+         * <br>
+         * In a grid with uniform spans the group of an item, its position in the line and the group count
+         * are computed with arithmetic only, without calls to the SpanSizeLookup and without an index in memory.
+         * A grid that uses the DefaultSpanSizeLookup is recognized automatically.
+         *
+         * @return {@link Builder} instance
+         */
+        public Builder uniformSpans() {
+            this.uniformSpans = true;
+            return this;
+        }
+
+        /**
+         * Draw the dividers in a lightweight view added to the RecyclerView's overlay, which has its own display list.
+         * <br>
+         * Without this option the dividers are recorded again in the RecyclerView's display list each time it's redrawn,
+         * also when only the content of a child changed (e.g. a ripple or a progress spinner).
+         * With this option the overlay is recorded again only when a scroll, a layout or an item animation moves the children.
+         * <br>
+         * The overlay is drawn over the children, so this option has effect only on a divider drawn with {@link #insideItem()}:
+         * the other dividers are drawn under the children as usual, to keep their order with the children.
+         * Like the children, the overlay is clipped to the RecyclerView's padding when the RecyclerView clips to its padding.
+         *
+         * @return {@link Builder} instance
+         */
+        public Builder overlayLayer() {
+            this.overlayLayer = true;
+            return this;
+        }
+
+        /**
+         * Draw the costs of the divider over the RecyclerView, to tune a screen without attaching a profiler:
+         * <ul>
+         * <li>median and 95th percentile of the time spent drawing the dividers on the last frames</li>
+         * <li>dividers drawn in each frame</li>
+         * <li>calls to getItemOffsets() in each layout</li>
+         * <li>rates of dividers' bounds reused from the previous frame and of children's span data handed off by the layout</li>
+         * </ul>
+         * The costs are measured separately for each RecyclerView with this divider.
+         * This option has no effect if the app isn't debuggable, so it can be left in the release builds of the app.
+         *
+         * @return {@link Builder} instance
+         */
+        public Builder debugOverlay() {
+            this.debugOverlay = true;
+            return this;
+        }
+
+        /**
+         * Warm the divider's caches for the next scroll while the main thread is idle between two gestures.
+         * <br>
+         * When a scroll ends, the divider registers a {@link android.os.MessageQueue.IdleHandler} that updates the span data
+         * and resolves the providers' values of the groups beyond the viewport in the last scroll direction,
+         * so the first frames of the next scroll and the offsets of the items that enter the screen don't call the providers.
+         * Each idle slice lasts a few milliseconds at most and the warming is cancelled as soon as a touch or a scroll starts.
+         * <br>
+         * The providers must return the same values for the same group until the adapter notifies a change.
+         *
+         * @return {@link Builder} instance
+         */
+        public Builder idleWarming() {
+            this.idleWarming = true;
+            return this;
+        }
+
+        /**
+         * Set the style of the dividers of the items with a view type.
+         * <br>
+         * The styles are resolved once in a lookup table indexed by view type, which is read from the item's ViewHolder,
+         * so the styled properties don't need a call to the factories.
+         * The properties that aren't set in the style are taken from the factories.
+         *
+         * @param viewType view type returned by the adapter's getItemViewType()
+         * @param style    style of the dividers of the items with this view type
+         * @return {@link Builder} instance
+         */
+        public Builder viewTypeStyle(int viewType, @NonNull ViewTypeStyle style) {
+            viewTypeStyles.put(viewType, style);
+            return this;
+        }
+
         /**
          * Set the divider's custom {@link VisibilityProvider}
          * <br>
@@ -582,6 +1665,79 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
             return this;
         }
 
+        /**
+         * Get a {@link RecyclerViewDivider} with given configurations, reusing an existing one if a divider with
+         * an identical configuration was already built with this method and it's still in use.
+         * <br>
+         * Plain properties (e.g. {@link #color(int)}, {@link #size(int)}) are compared by value, while drawables and custom factories
+         * are compared by identity, so they should be reused between builders to share the divider.
+         * If a property isn't set, its default value is resolved from the context's resources, so the divider is shared only
+         * with the contexts with the same configuration (e.g. density, night mode) and, for the default color, the same theme.
+         * <br>
+         * The returned divider can be added to more RecyclerViews at the same time.
+         *
+         * @return a {@link RecyclerViewDivider} with these {@link Builder} configurations
+         */
+        public RecyclerViewDivider buildShared() {
+            final DividerConfig config = config();
+            synchronized (sharedDividers) {
+                final WeakReference<RecyclerViewDivider> sharedRef = sharedDividers.get(config);
+                final RecyclerViewDivider shared = sharedRef != null ? sharedRef.get() : null;
+                if (shared != null) {
+                    return shared;
+                }
+            }
+
+            final RecyclerViewDivider divider = build();
+            synchronized (sharedDividers) {
+                sharedDividers.put(config, new WeakReference<>(divider));
+            }
+            return divider;
+        }
+
+        /**
+         * Creates the value-equal key of the properties set in this {@link Builder}.
+         * It must be created before {@link #build()} because that method fills the missing factories.
+         *
+         * @return key of this configuration
+         */
+        @NonNull
+        DividerConfig config() {
+            return new DividerConfig(type, color, drawable, tint, gradientColors, size, marginSize, hideLastDivider, dashLength, gapLength, cap, insideItem, noOverdraw, adaptiveQuality, parallelSpanIndex, uniformSpans, overlayLayer, debugOverlay, idleWarming,
+                    visibilityFactory, drawableFactory, tintFactory, sizeFactory, marginFactory, viewTypeStylesKey(), resourcesKey());
+        }
+
+        /**
+         * @return configuration and theme of the context from which the default values will be resolved,
+         * null if every default value is replaced by a property or a factory
+         */
+        @Nullable
+        private Object[] resourcesKey() {
+            // same choices of build()
+            final boolean defaultDrawable = drawableFactory == null &&
+                    (type == TYPE_COLOR ? color == null : type != TYPE_DRAWABLE || drawable == null);
+            final boolean defaultSize = sizeFactory == null && size == INT_DEF;
+            final boolean defaultMargin = marginFactory == null && marginSize == INT_DEF;
+            if (!defaultDrawable && !defaultSize && !defaultMargin)
+                return null;
+
+            // the theme has no value equality, so it's compared by identity
+            return new Object[]{new Configuration(context.getResources().getConfiguration()), defaultDrawable ? context.getTheme() : null};
+        }
+
+        /**
+         * @return view types and styles in a flat array, styles are compared by identity
+         */
+        @NonNull
+        private Object[] viewTypeStylesKey() {
+            final Object[] key = new Object[viewTypeStyles.size() * 2];
+            for (int i = 0; i < viewTypeStyles.size(); i++) {
+                key[i * 2] = viewTypeStyles.keyAt(i);
+                key[i * 2 + 1] = viewTypeStyles.valueAt(i);
+            }
+            return key;
+        }
+
         /**
          * Creates a new {@link RecyclerViewDivider} with given configurations and initializes all values.
          * There are three common cases in the choice of factories:
@@ -646,7 +1802,9 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
             /* -------------------- TINT FACTORY -------------------- */
 
             if (tintFactory == null) {
-                if (tint != null) {
+                if (gradientColors != null) {
+                    tintFactory = TintProvider.getGradientFactory(gradientColors);
+                } else if (tint != null) {
                     tintFactory = TintProvider.getGeneralFactory(tint);
                 }
             }
@@ -662,7 +1820,11 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
             }
 
             // creates divider for this mBuilder
-            return new RecyclerViewDivider(type, visibilityFactory, drawableFactory, tintFactory, sizeFactory, marginFactory);
+            return new RecyclerViewDivider(type, visibilityFactory, drawableFactory, tintFactory, sizeFactory, marginFactory, insideItem && type != TYPE_SPACE, noOverdraw, adaptiveQuality,
+                    viewTypeStyles.size() > 0 ? new ViewTypeStyles(viewTypeStyles) : null, parallelSpanIndex,
+                    type != TYPE_SPACE && dashLength != INT_DEF ? new DividerPattern(dashLength, gapLength, cap) : null, uniformSpans,
+                    overlayLayer && insideItem && type != TYPE_SPACE,
+                    debugOverlay && (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0, idleWarming);
         }
     }
 
@@ -679,4 +1841,17 @@ public class RecyclerViewDivider extends RecyclerView.ItemDecoration {
     private @interface Type {
         // empty annotation body
     }
+
+    /**
+     * Source annotation used to define the shapes of the dashes' ends in a pattern.
+     * <ul>
+     * <li><b>CAP_BUTT</b>: flat ends</li>
+     * <li><b>CAP_ROUND</b>: round ends</li>
+     * </ul>
+     */
+    @IntDef({CAP_BUTT, CAP_ROUND})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface Cap {
+        // empty annotation body
+    }
 }
\ No newline at end of file
@@ -97,7 +97,12 @@ public final class RecyclerViewDividerUtils {
         // default LayoutManager hasn't getOrientation() method
         if (layoutManager instanceof GridLayoutManager) {
             GridLayoutManager gridLayoutManager = (GridLayoutManager) layoutManager;
-            itemPosition = gridLayoutManager.getSpanSizeLookup().getSpanGroupIndex(itemPosition, gridLayoutManager.getSpanCount());
+            GridLayoutManager.SpanSizeLookup spanSizeLookup = gridLayoutManager.getSpanSizeLookup();
+            if (hasUniformSpans(spanSizeLookup)) {
+                itemPosition = itemPosition / gridLayoutManager.getSpanCount();
+            } else {
+                itemPosition = spanSizeLookup.getSpanGroupIndex(itemPosition, gridLayoutManager.getSpanCount());
+            }
         }
 
         return itemPosition;
@@ -119,6 +124,9 @@ public final class RecyclerViewDividerUtils {
             GridLayoutManager gridLayoutManager = (GridLayoutManager) layoutManager;
             GridLayoutManager.SpanSizeLookup spanSizeLookup = gridLayoutManager.getSpanSizeLookup();
             int spanCount = gridLayoutManager.getSpanCount();
+            if (hasUniformSpans(spanSizeLookup)) {
+                return getUniformGroupCount(itemCount, spanCount);
+            }
 
             int groupCount = 0, pos;
             for (pos = 0; pos < itemCount; pos++) {
@@ -144,6 +152,11 @@ public final class RecyclerViewDividerUtils {
      * @return accumulated span
      */
     static int getAccumulatedSpanInLine(@NonNull RecyclerView recyclerView, int spanSize, int itemPosition, int groupIndex) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager instanceof GridLayoutManager && hasUniformSpans(((GridLayoutManager) layoutManager).getSpanSizeLookup())) {
+            return itemPosition % ((GridLayoutManager) layoutManager).getSpanCount() + 1;
+        }
+
         int lineAccumulatedSpan = spanSize;
         int tempPos;
         for (tempPos = itemPosition - 1; tempPos >= 0; tempPos--) {
@@ -159,6 +172,29 @@ public final class RecyclerViewDividerUtils {
         return lineAccumulatedSpan;
     }
 
+    /**
+     * Check if every item of a grid spans 1 without asking the span size of each position.
+     * <br>
+     * Only the DefaultSpanSizeLookup is recognized: a subclass could change the span sizes.
+     *
+     * @param spanSizeLookup SpanSizeLookup of a GridLayoutManager
+     * @return true if the span data of each item can be computed with arithmetic only
+     */
+    static boolean hasUniformSpans(@NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup) {
+        return spanSizeLookup.getClass() == GridLayoutManager.DefaultSpanSizeLookup.class;
+    }
+
+    /**
+     * Calculate the number of groups of a grid in which every item spans 1
+     *
+     * @param itemCount number of items in the list
+     * @param spanCount span count of the grid
+     * @return the number of groups
+     */
+    static int getUniformGroupCount(int itemCount, int spanCount) {
+        return (itemCount + spanCount - 1) / spanCount;
+    }
+
     /**
      * Converts a color to a Drawable
      *
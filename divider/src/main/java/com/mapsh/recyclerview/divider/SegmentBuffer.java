@@ -0,0 +1,223 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.annotation.NonNull;
+import android.view.ViewGroup;
+
+/**
+ * Bounds of the dividers drawn in the last frame, keyed by adapter position.
+ * <br>
+ * During a scroll every child moves by the same delta and keeps its size, so the bounds of its dividers
+ * can be translated from the previous frame instead of computed again from the child's layout, span and margins.
+ * The bounds are computed again only for the children that entered the screen or that changed their size, margins or divider's values.
+ * <br>
+ * The entries of a frame are stored in a flat int array with a fixed stride, the arrays of two consecutive frames are swapped
+ * at the start of each frame, so nothing is allocated while scrolling.
+ */
+final class SegmentBuffer {
+    // a child draws at most two dividers on its sides and one after it
+    static final int MAX_SEGMENTS = 3;
+
+    private static final int POSITION = 0;
+    private static final int LEFT = 1;
+    private static final int TOP = 2;
+    private static final int WIDTH = 3;
+    private static final int HEIGHT = 4;
+    private static final int VISIBILITY = 5;
+    private static final int SIZE = 6;
+    private static final int MARGIN = 7;
+    // margins of the child's layout params, they move the dividers of a grid's cells
+    private static final int LEFT_MARGIN = 8;
+    private static final int TOP_MARGIN = 9;
+    private static final int RIGHT_MARGIN = 10;
+    private static final int BOTTOM_MARGIN = 11;
+    private static final int SEGMENT_COUNT = 12;
+    private static final int SEGMENTS = 13;
+    private static final int STRIDE = SEGMENTS + MAX_SEGMENTS * 4;
+    // position of a discarded entry, never equal to an adapter position
+    private static final int DISCARDED = Integer.MIN_VALUE;
+
+    private int[] previous = new int[0];
+    private int previousCount;
+    private int[] current = new int[0];
+    private int currentCount;
+    // index of the previous entry after the last one found, children are usually laid out in order of position
+    private int hint;
+
+    private int itemCount = -1;
+    private int groupCount = -1;
+    private int spanCount = -1;
+    private int orientation = -1;
+
+    /**
+     * Starts a new frame, the entries of the current frame become the previous ones.
+     * If the layout's configuration changed, the previous entries are discarded.
+     *
+     * @param itemCount   number of items in the list
+     * @param groupCount  number of groups in the list
+     * @param spanCount   span count of the layout manager
+     * @param orientation orientation of the layout manager
+     * @param childCount  number of children in this frame
+     */
+    void startFrame(int itemCount, int groupCount, int spanCount, int orientation, int childCount) {
+        final int[] swap = previous;
+        previous = current;
+        previousCount = currentCount;
+        current = swap.length >= childCount * STRIDE ? swap : new int[childCount * STRIDE];
+        currentCount = 0;
+        hint = 0;
+
+        if (itemCount != this.itemCount || groupCount != this.groupCount || spanCount != this.spanCount || orientation != this.orientation) {
+            this.itemCount = itemCount;
+            this.groupCount = groupCount;
+            this.spanCount = spanCount;
+            this.orientation = orientation;
+            previousCount = 0;
+        }
+    }
+
+    /**
+     * Discards all the entries, e.g. after a change of the adapter
+     */
+    void clear() {
+        previousCount = 0;
+        currentCount = 0;
+        itemCount = -1;
+    }
+
+    /**
+     * Discards the entries of a range of positions, e.g. after a change of their content, the other entries are kept
+     *
+     * @param fromPosition first position of the range, inclusive
+     * @param toPosition   last position of the range, exclusive
+     */
+    void discard(int fromPosition, int toPosition) {
+        discard(previous, previousCount, fromPosition, toPosition);
+        discard(current, currentCount, fromPosition, toPosition);
+    }
+
+    /**
+     * Copies the entry of a child from the previous frame, translated by the child's movement.
+     * The entry is reused only if the child kept its size, its margins and its divider's values.
+     *
+     * @return the index of the entry in this frame or -1 if the child must be computed again
+     */
+    int reuse(int position, int left, int top, int width, int height, int visibility, int size, int margin,
+              @NonNull ViewGroup.MarginLayoutParams params) {
+        final int found = find(position);
+        if (found < 0)
+            return -1;
+
+        final int[] prev = previous;
+        final int offset = found * STRIDE;
+        if (prev[offset + WIDTH] != width || prev[offset + HEIGHT] != height || prev[offset + VISIBILITY] != visibility ||
+                prev[offset + SIZE] != size || prev[offset + MARGIN] != margin ||
+                prev[offset + LEFT_MARGIN] != params.leftMargin || prev[offset + TOP_MARGIN] != params.topMargin ||
+                prev[offset + RIGHT_MARGIN] != params.rightMargin || prev[offset + BOTTOM_MARGIN] != params.bottomMargin)
+            return -1;
+
+        final int dx = left - prev[offset + LEFT];
+        final int dy = top - prev[offset + TOP];
+        final int entry = currentCount++;
+        final int[] cur = current;
+        final int currentOffset = entry * STRIDE;
+        System.arraycopy(prev, offset, cur, currentOffset, STRIDE);
+        cur[currentOffset + LEFT] = left;
+        cur[currentOffset + TOP] = top;
+        if (dx != 0 || dy != 0) {
+            final int segmentsEnd = currentOffset + SEGMENTS + cur[currentOffset + SEGMENT_COUNT] * 4;
+            for (int i = currentOffset + SEGMENTS; i < segmentsEnd; i += 4) {
+                cur[i] += dx;
+                cur[i + 1] += dy;
+                cur[i + 2] += dx;
+                cur[i + 3] += dy;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Adds the entry of a child whose segments will be computed again with {@link #addSegment(int, int, int, int, int)}
+     *
+     * @return the index of the entry in this frame
+     */
+    int add(int position, int left, int top, int width, int height, int visibility, int size, int margin,
+            @NonNull ViewGroup.MarginLayoutParams params) {
+        final int entry = currentCount++;
+        final int[] cur = current;
+        final int offset = entry * STRIDE;
+        cur[offset + POSITION] = position;
+        cur[offset + LEFT] = left;
+        cur[offset + TOP] = top;
+        cur[offset + WIDTH] = width;
+        cur[offset + HEIGHT] = height;
+        cur[offset + VISIBILITY] = visibility;
+        cur[offset + SIZE] = size;
+        cur[offset + MARGIN] = margin;
+        cur[offset + LEFT_MARGIN] = params.leftMargin;
+        cur[offset + TOP_MARGIN] = params.topMargin;
+        cur[offset + RIGHT_MARGIN] = params.rightMargin;
+        cur[offset + BOTTOM_MARGIN] = params.bottomMargin;
+        cur[offset + SEGMENT_COUNT] = 0;
+        return entry;
+    }
+
+    /**
+     * Adds the bounds of a divider to an entry of this frame
+     */
+    void addSegment(int entry, int left, int top, int right, int bottom) {
+        final int[] cur = current;
+        final int offset = entry * STRIDE;
+        final int segment = offset + SEGMENTS + cur[offset + SEGMENT_COUNT]++ * 4;
+        cur[segment] = left;
+        cur[segment + 1] = top;
+        cur[segment + 2] = right;
+        cur[segment + 3] = bottom;
+    }
+
+    /**
+     * @return number of dividers of an entry of this frame
+     */
+    int segmentCount(int entry) {
+        return current[entry * STRIDE + SEGMENT_COUNT];
+    }
+
+    /**
+     * @return the array that contains the bounds of the dividers of this frame, read from {@link #segmentOffset(int, int)}
+     */
+    int[] segments() {
+        return current;
+    }
+
+    /**
+     * @return index of the left bound of a divider in {@link #segments()}, followed by top, right and bottom
+     */
+    int segmentOffset(int entry, int segment) {
+        return entry * STRIDE + SEGMENTS + segment * 4;
+    }
+
+    private static void discard(int[] entries, int count, int fromPosition, int toPosition) {
+        for (int i = 0; i < count; i++) {
+            final int position = entries[i * STRIDE + POSITION];
+            if (position >= fromPosition && position < toPosition) {
+                entries[i * STRIDE + POSITION] = DISCARDED;
+            }
+        }
+    }
+
+    private int find(int position) {
+        final int[] prev = previous;
+        for (int i = hint; i < previousCount; i++) {
+            if (prev[i * STRIDE + POSITION] == position) {
+                hint = i + 1;
+                return i;
+            }
+        }
+        for (int i = 0; i < hint && i < previousCount; i++) {
+            if (prev[i * STRIDE + POSITION] == position) {
+                hint = i + 1;
+                return i;
+            }
+        }
+        return -1;
+    }
+}
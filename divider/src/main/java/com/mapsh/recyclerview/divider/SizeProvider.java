@@ -1,11 +1,14 @@
 package com.mapsh.recyclerview.divider;
 
 import android.content.Context;
+import android.content.res.Configuration;
 import android.graphics.drawable.Drawable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 
+import java.util.Arrays;
+
 /**
  * Factory used to specify a custom logic to set different sizes to the divider.
  * <br>
@@ -19,13 +22,15 @@ public abstract class SizeProvider {
     private static Default defaultFactory;
 
     /**
-     * Creates a singleton instance of a default {@link SizeProvider} to avoid multiple instance of the same class
+     * Creates a singleton instance of a default {@link SizeProvider} to avoid multiple instance of the same class.
+     * <br>
+     * The instance is created again when the context's configuration changes (e.g. its density), since the default size is a resource.
      *
      * @param context current context
      * @return factory with default values
      */
     public static synchronized SizeProvider getDefault(@NonNull Context context) {
-        if (defaultFactory == null) {
+        if (defaultFactory == null || !defaultFactory.configuration.equals(context.getResources().getConfiguration())) {
             defaultFactory = new Default(context);
         }
         return defaultFactory;
@@ -54,13 +59,37 @@ public abstract class SizeProvider {
      */
     public abstract int sizeForItem(@Nullable Drawable drawable, int orientation, int groupCount, int groupIndex);
 
+    /**
+     * Defines the sizes of a range of groups with a single call.
+     * <br>
+     * The divider calls this method once per frame for the visible groups.
+     * The default implementation calls {@link #sizeForItem(Drawable, int, int, int)} for each group,
+     * override it if the sizes can be resolved more efficiently all together (e.g. with a single query).
+     *
+     * @param drawables   dividers' drawables, the drawable at index i is related to the group fromGroup + i
+     * @param orientation RecyclerView.VERTICAL or RecyclerView.HORIZONTAL
+     * @param groupCount  number of groups in a list.
+     *                    The groupCount value is equal to the list size when the span count is 1 (e.g. LinearLayoutManager).
+     * @param fromGroup   index of the first group to resolve, inclusive
+     * @param toGroup     index of the last group to resolve, exclusive
+     * @param out         array that will receive the sizes, the size at index i is related to the group fromGroup + i
+     */
+    public void fillSizes(@NonNull Drawable[] drawables, int orientation, int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+        for (int groupIndex = fromGroup; groupIndex < toGroup; groupIndex++) {
+            out[groupIndex - fromGroup] = sizeForItem(drawables[groupIndex - fromGroup], orientation, groupCount, groupIndex);
+        }
+    }
+
     /**
      * Default instance of a {@link SizeProvider}
      */
     private static class Default extends SizeProvider {
         private final int defaultSize;
+        // configuration from which the default size has been resolved
+        private final Configuration configuration;
 
         Default(@NonNull Context context) {
+            configuration = new Configuration(context.getResources().getConfiguration());
             defaultSize = context.getResources().getDimensionPixelSize(R.dimen.recyclerview_divider_size);
         }
 
@@ -94,5 +123,10 @@ public abstract class SizeProvider {
         public int sizeForItem(@Nullable Drawable drawable, int orientation, int groupCount, int groupIndex) {
             return size;
         }
+
+        @Override
+        public void fillSizes(@NonNull Drawable[] drawables, int orientation, int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+            Arrays.fill(out, 0, toGroup - fromGroup, size);
+        }
     }
 }
\ No newline at end of file
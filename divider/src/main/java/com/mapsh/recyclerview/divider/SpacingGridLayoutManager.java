@@ -0,0 +1,117 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.support.v7.widget.GridLayoutManager;
+import android.view.View;
+
+/**
+ * GridLayoutManager that places a space between its items while it lays out the children,
+ * an alternative to a divider set with {@link RecyclerViewDivider.Builder#asSpace()}.
+ * <br>
+ * The space is added to the margins of each child before it's measured, so the RecyclerView doesn't call any item decoration
+ * and a change of the space with {@link #setSpacing(int)} costs a single layout pass,
+ * without invalidating the decorations' insets of all the children.
+ * The space between the items of the same line is partitioned between them, like in a divider set with
+ * {@link RecyclerViewDivider.Builder#noOverdraw()}.
+ * <br>
+ * Warning: the margins of an item's LayoutParams must not be changed by the adapter after the first layout,
+ * because they're saved once for each LayoutParams instance: to change them, set new LayoutParams on the item.
+ */
+public class SpacingGridLayoutManager extends GridLayoutManager {
+    private final SpacingLayout spacing = new SpacingLayout();
+
+    /**
+     * Creates a vertical SpacingGridLayoutManager
+     *
+     * @param context   current context
+     * @param spanCount number of columns in the grid
+     */
+    public SpacingGridLayoutManager(Context context, int spanCount) {
+        super(context, spanCount);
+    }
+
+    /**
+     * @param context       current context
+     * @param spanCount     number of columns or rows in the grid
+     * @param orientation   layout orientation, {@link #HORIZONTAL} or {@link #VERTICAL}
+     * @param reverseLayout true to lay out from end to start
+     */
+    public SpacingGridLayoutManager(Context context, int spanCount, int orientation, boolean reverseLayout) {
+        super(context, spanCount, orientation, reverseLayout);
+    }
+
+    /**
+     * Set the space between the items
+     *
+     * @param size size of the space in pixels
+     */
+    public void setSpacing(int size) {
+        if (spacing.size == size)
+            return;
+
+        spacing.size = size;
+        requestLayout();
+    }
+
+    /**
+     * @return size of the space between the items in pixels
+     */
+    public int getSpacing() {
+        return spacing.size;
+    }
+
+    /**
+     * Hide the space after the last line
+     *
+     * @param hide true if the last line mustn't have a space after it
+     */
+    public void setHideLastSpacing(boolean hide) {
+        if (spacing.hideLastSpacing == hide)
+            return;
+
+        spacing.hideLastSpacing = hide;
+        requestLayout();
+    }
+
+    @Override
+    public void addView(View child, int index) {
+        applySpacing(child);
+        super.addView(child, index);
+    }
+
+    @Override
+    public void addDisappearingView(View child, int index) {
+        // a disappearing child is laid out during the animations like the others
+        applySpacing(child);
+        super.addDisappearingView(child, index);
+    }
+
+    private void applySpacing(View child) {
+        // the spans of the child are assigned before it's added
+        final LayoutParams params = (LayoutParams) child.getLayoutParams();
+        final int spanIndex = params.getSpanIndex();
+        final int spanSize = params.getSpanSize();
+        final boolean lastGroup = spacing.hideLastSpacing && isInLastGroup(params.getViewLayoutPosition(), spanIndex, spanSize);
+        spacing.apply(child, getOrientation(), getSpanCount(), spanIndex, spanSize, lastGroup);
+    }
+
+    /**
+     * Checks if an item is in the last line, looking only at the items that could follow it in its line
+     *
+     * @param position  position of the item
+     * @param spanIndex span index of the item
+     * @param spanSize  span size of the item
+     * @return true if no item follows the item's line
+     */
+    private boolean isInLastGroup(int position, int spanIndex, int spanSize) {
+        final SpanSizeLookup spanSizeLookup = getSpanSizeLookup();
+        final int itemCount = getItemCount();
+        int freeSpans = getSpanCount() - spanIndex - spanSize;
+        for (int next = position + 1; next < itemCount; next++) {
+            freeSpans -= spanSizeLookup.getSpanSize(next);
+            if (freeSpans < 0)
+                return false;
+        }
+        return true;
+    }
+}
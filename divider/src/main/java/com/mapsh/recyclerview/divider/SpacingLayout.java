@@ -0,0 +1,84 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Spacing applied by {@link SpacingLinearLayoutManager} and {@link SpacingGridLayoutManager} to the margins of their children.
+ * <br>
+ * The spacing is placed like the offsets of a divider set with {@link RecyclerViewDivider.Builder#asSpace()}:
+ * after each item along the orientation and partitioned between the items of the same line in a grid.
+ * The margins of a child set by its layout are saved the first time the child is laid out and the spacing is added to them.
+ * They're saved again when the child gets new LayoutParams, e.g. set by the adapter while binding it.
+ */
+final class SpacingLayout {
+    int size;
+    boolean hideLastSpacing;
+
+    /**
+     * Set the margins of a child before it's measured
+     *
+     * @param child       child added to the RecyclerView
+     * @param orientation orientation of the layout manager
+     * @param spanCount   span count of the layout manager, 1 for a linear layout
+     * @param spanIndex   span index of the child in its line
+     * @param spanSize    span size of the child
+     * @param lastGroup   true if the child is in the last line of the list
+     */
+    void apply(@NonNull View child, int orientation, int spanCount, int spanIndex, int spanSize, boolean lastGroup) {
+        final ViewGroup.MarginLayoutParams params = (ViewGroup.MarginLayoutParams) child.getLayoutParams();
+        BaseMargins baseMargins = (BaseMargins) child.getTag(R.id.recyclerview_divider_base_margins);
+        if (baseMargins == null) {
+            baseMargins = new BaseMargins();
+            child.setTag(R.id.recyclerview_divider_base_margins, baseMargins);
+        }
+        if (baseMargins.params != params) {
+            // the margins of new LayoutParams don't contain the spacing yet
+            baseMargins.params = params;
+            baseMargins.left = params.leftMargin;
+            baseMargins.top = params.topMargin;
+            baseMargins.right = params.rightMargin;
+            baseMargins.bottom = params.bottomMargin;
+        }
+
+        final int after = lastGroup && hideLastSpacing ? 0 : size;
+        // the space between two items of the same line is partitioned, so an odd size isn't truncated
+        int lineBefore = size / 2;
+        int lineAfter = size - lineBefore;
+        if (spanCount == 1 || spanSize == spanCount) {
+            lineBefore = 0;
+            lineAfter = 0;
+        } else if (spanIndex == 0) {
+            // first element in the group
+            lineBefore = 0;
+        } else if (spanIndex + spanSize == spanCount) {
+            // last element in the group
+            lineAfter = 0;
+        }
+
+        if (orientation == RecyclerView.VERTICAL) {
+            params.leftMargin = baseMargins.left + lineBefore;
+            params.topMargin = baseMargins.top;
+            params.rightMargin = baseMargins.right + lineAfter;
+            params.bottomMargin = baseMargins.bottom + after;
+        } else {
+            params.leftMargin = baseMargins.left;
+            params.topMargin = baseMargins.top + lineBefore;
+            params.rightMargin = baseMargins.right + after;
+            params.bottomMargin = baseMargins.bottom + lineAfter;
+        }
+    }
+
+    /**
+     * Margins set by the layout of a child, saved for the LayoutParams instance they come from
+     */
+    private static final class BaseMargins {
+        ViewGroup.LayoutParams params;
+        int left;
+        int top;
+        int right;
+        int bottom;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+/**
+ * LinearLayoutManager that places a space after each item while it lays out the children,
+ * an alternative to a divider set with {@link RecyclerViewDivider.Builder#asSpace()}.
+ * <br>
+ * The space is added to the margins of each child before it's measured, so the RecyclerView doesn't call any item decoration
+ * and a change of the space with {@link #setSpacing(int)} costs a single layout pass,
+ * without invalidating the decorations' insets of all the children.
+ * <br>
+ * Warning: the margins of an item's LayoutParams must not be changed by the adapter after the first layout,
+ * because they're saved once for each LayoutParams instance: to change them, set new LayoutParams on the item.
+ */
+public class SpacingLinearLayoutManager extends LinearLayoutManager {
+    private final SpacingLayout spacing = new SpacingLayout();
+
+    /**
+     * Creates a vertical SpacingLinearLayoutManager
+     *
+     * @param context current context
+     */
+    public SpacingLinearLayoutManager(Context context) {
+        super(context);
+    }
+
+    /**
+     * @param context       current context
+     * @param orientation   layout orientation, {@link #HORIZONTAL} or {@link #VERTICAL}
+     * @param reverseLayout true to lay out from end to start
+     */
+    public SpacingLinearLayoutManager(Context context, int orientation, boolean reverseLayout) {
+        super(context, orientation, reverseLayout);
+    }
+
+    /**
+     * Set the space after each item
+     *
+     * @param size size of the space in pixels
+     */
+    public void setSpacing(int size) {
+        if (spacing.size == size)
+            return;
+
+        spacing.size = size;
+        requestLayout();
+    }
+
+    /**
+     * @return size of the space after each item in pixels
+     */
+    public int getSpacing() {
+        return spacing.size;
+    }
+
+    /**
+     * Hide the space after the last item
+     *
+     * @param hide true if the last item mustn't have a space after it
+     */
+    public void setHideLastSpacing(boolean hide) {
+        if (spacing.hideLastSpacing == hide)
+            return;
+
+        spacing.hideLastSpacing = hide;
+        requestLayout();
+    }
+
+    @Override
+    public void addView(View child, int index) {
+        applySpacing(child);
+        super.addView(child, index);
+    }
+
+    @Override
+    public void addDisappearingView(View child, int index) {
+        // a disappearing child is laid out during the animations like the others
+        applySpacing(child);
+        super.addDisappearingView(child, index);
+    }
+
+    private void applySpacing(View child) {
+        final int position = ((RecyclerView.LayoutParams) child.getLayoutParams()).getViewLayoutPosition();
+        spacing.apply(child, getOrientation(), 1, 0, 1, position == getItemCount() - 1);
+    }
+}
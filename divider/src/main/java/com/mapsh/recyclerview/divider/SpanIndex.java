@@ -0,0 +1,131 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.GridLayoutManager;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Span index and group index of each position of a grid, computed with a single pass on the SpanSizeLookup.
+ * <br>
+ * The indexes are computed in the same way of {@link GridLayoutManager.SpanSizeLookup#getSpanGroupIndex(int, int)},
+ * but the lookup of a position is a read from an array instead of a scan of all the previous positions.
+ * <br>
+ * An index can be built ahead of time on a background thread through
+ * {@link RecyclerViewDivider#prewarm(android.content.Context, GridLayoutManager.SpanSizeLookup, int, int)}:
+ * it's kept until a RecyclerView with the same lookup, span count and item count takes it.
+ * The index of a very large grid can also be built in parallel by {@link SpanIndexBuilder}.
+ */
+final class SpanIndex {
+    // indexes built ahead of time, weakly keyed because the lookup could reference an Activity
+    private static final Map<GridLayoutManager.SpanSizeLookup, SpanIndex> prewarmed = new WeakHashMap<>();
+
+    final int spanCount;
+    final int itemCount;
+    final int groupCount;
+    private final int[] spanIndexes;
+    private final int[] groupIndexes;
+
+    SpanIndex(int spanCount, int itemCount, int groupCount, @NonNull int[] spanIndexes, @NonNull int[] groupIndexes) {
+        this.spanCount = spanCount;
+        this.itemCount = itemCount;
+        this.groupCount = groupCount;
+        this.spanIndexes = spanIndexes;
+        this.groupIndexes = groupIndexes;
+    }
+
+    /**
+     * Builds the index of all the positions of a grid
+     *
+     * @param spanSizeLookup lookup of the GridLayoutManager
+     * @param spanCount      span count of the GridLayoutManager
+     * @param itemCount      number of items in the list
+     * @return the index of the grid
+     */
+    @NonNull
+    static SpanIndex build(@NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup, int spanCount, int itemCount) {
+        final int[] spanIndexes = new int[itemCount];
+        final int[] groupIndexes = new int[itemCount];
+
+        int spanIndex = 0;
+        int groupIndex = 0;
+        for (int pos = 0; pos < itemCount; pos++) {
+            final int spanSize = Math.min(spanSizeLookup.getSpanSize(pos), spanCount);
+            if (spanIndex + spanSize > spanCount) {
+                // the item doesn't fit in the current line
+                spanIndex = 0;
+                groupIndex++;
+            }
+            spanIndexes[pos] = spanIndex;
+            groupIndexes[pos] = groupIndex;
+            spanIndex += spanSize;
+            if (spanIndex == spanCount) {
+                spanIndex = 0;
+                groupIndex++;
+            }
+        }
+        final int groupCount = spanIndex > 0 ? groupIndex + 1 : groupIndex;
+        return new SpanIndex(spanCount, itemCount, groupCount, spanIndexes, groupIndexes);
+    }
+
+    /**
+     * Builds the index of a grid and keeps it until a RecyclerView with the same configuration takes it.
+     * It can be called from any thread.
+     *
+     * @param spanSizeLookup lookup of the GridLayoutManager, it must not depend on the main thread
+     * @param spanCount      span count of the GridLayoutManager
+     * @param itemCount      number of items in the list
+     */
+    static void prewarm(@NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup, int spanCount, int itemCount) {
+        final SpanIndex spanIndex = build(spanSizeLookup, spanCount, itemCount);
+        synchronized (prewarmed) {
+            prewarmed.put(spanSizeLookup, spanIndex);
+        }
+    }
+
+    /**
+     * Takes the index built ahead of time for a grid, if its configuration is still the same
+     *
+     * @param spanSizeLookup lookup of the GridLayoutManager
+     * @param spanCount      span count of the GridLayoutManager
+     * @param itemCount      number of items in the list
+     * @return the prewarmed index or null if there isn't a valid one
+     */
+    @Nullable
+    static SpanIndex takePrewarmed(@NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup, int spanCount, int itemCount) {
+        final SpanIndex spanIndex;
+        synchronized (prewarmed) {
+            if (prewarmed.isEmpty())
+                return null;
+
+            spanIndex = prewarmed.remove(spanSizeLookup);
+        }
+        return spanIndex != null && spanIndex.spanCount == spanCount && spanIndex.itemCount == itemCount ? spanIndex : null;
+    }
+
+    /**
+     * @param itemPosition position of an item
+     * @return true if the position is in the index
+     */
+    boolean contains(int itemPosition) {
+        return itemPosition >= 0 && itemPosition < itemCount;
+    }
+
+    /**
+     * @param itemPosition position of an item in the index
+     * @return span index of the item in its line
+     */
+    int spanIndexOf(int itemPosition) {
+        return spanIndexes[itemPosition];
+    }
+
+    /**
+     * @param itemPosition position of an item in the index
+     * @return index of the item's group
+     */
+    int groupIndexOf(int itemPosition) {
+        return groupIndexes[itemPosition];
+    }
+}
@@ -0,0 +1,202 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.GridLayoutManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds the {@link SpanIndex} of a very large grid on a background fork-join pool.
+ * <br>
+ * The positions are split in chunks and the index is built as a parallel prefix computation:
+ * <ol>
+ * <li>each chunk reads its span sizes and computes, for each span offset at which its first line could start,
+ * the offset at which its last line ends and the number of lines it completes</li>
+ * <li>the chunks are stitched sequentially, which costs a single step for each chunk</li>
+ * <li>each chunk fills its span and group indexes starting from its stitched offset and group</li>
+ * </ol>
+ * The SpanSizeLookup is called from the pool's threads, so it must not depend on the main thread.
+ */
+final class SpanIndexBuilder {
+    // grids with fewer items are indexed on the main thread, the sequential scan is cheaper than a frame
+    static final int PARALLEL_THRESHOLD = 50000;
+    static final int CHUNK_SIZE = 8192;
+
+    private static ForkJoinPool pool;
+
+    /**
+     * Receives the index built on the background pool
+     */
+    interface Callback {
+        /**
+         * Called on a thread of the background pool when the index is ready
+         *
+         * @param spanIndex index of the grid
+         */
+        void onSpanIndexBuilt(@NonNull SpanIndex spanIndex);
+    }
+
+    private SpanIndexBuilder() {
+        // empty constructor to avoid initialization
+    }
+
+    /**
+     * Builds the index of a grid on the background pool
+     *
+     * @param spanSizeLookup lookup of the GridLayoutManager, it must not depend on the main thread
+     * @param spanCount      span count of the GridLayoutManager
+     * @param itemCount      number of items in the list
+     * @param callback       callback that receives the index
+     */
+    static void buildAsync(@NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup, int spanCount, int itemCount, @NonNull Callback callback) {
+        pool().execute(new BuildTask(spanSizeLookup, spanCount, itemCount, callback));
+    }
+
+    private static synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            // leaves a core to the main thread
+            pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        }
+        return pool;
+    }
+
+    /**
+     * Task that runs the three phases of the computation and notifies the callback
+     */
+    private static class BuildTask extends RecursiveAction {
+        private final GridLayoutManager.SpanSizeLookup spanSizeLookup;
+        private final int spanCount;
+        private final int itemCount;
+        private final Callback callback;
+
+        BuildTask(@NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup, int spanCount, int itemCount, @NonNull Callback callback) {
+            this.spanSizeLookup = spanSizeLookup;
+            this.spanCount = spanCount;
+            this.itemCount = itemCount;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void compute() {
+            final int chunkCount = (itemCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            // holds the span sizes after the first phase and the span indexes after the last one
+            final int[] spanIndexes = new int[itemCount];
+            final int[] groupIndexes = new int[itemCount];
+            // transition of each chunk for each start offset, at index chunk * spanCount + startOffset
+            final int[] endOffsets = new int[chunkCount * spanCount];
+            final int[] completedLines = new int[chunkCount * spanCount];
+
+            final List<ChunkTask> scans = new ArrayList<>(chunkCount);
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                scans.add(new ChunkTask(this, chunk, spanIndexes, groupIndexes, endOffsets, completedLines, 0, 0, true));
+            }
+            invokeAll(scans);
+
+            final int[] startOffsets = new int[chunkCount];
+            final int[] startGroups = new int[chunkCount];
+            int offset = 0;
+            int group = 0;
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                startOffsets[chunk] = offset;
+                startGroups[chunk] = group;
+                final int transition = chunk * spanCount + offset;
+                group += completedLines[transition];
+                offset = endOffsets[transition];
+            }
+            final int groupCount = offset > 0 ? group + 1 : group;
+
+            final List<ChunkTask> fills = new ArrayList<>(chunkCount);
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                fills.add(new ChunkTask(this, chunk, spanIndexes, groupIndexes, endOffsets, completedLines,
+                        startOffsets[chunk], startGroups[chunk], false));
+            }
+            invokeAll(fills);
+
+            callback.onSpanIndexBuilt(new SpanIndex(spanCount, itemCount, groupCount, spanIndexes, groupIndexes));
+        }
+    }
+
+    /**
+     * Task that scans or fills a single chunk of positions
+     */
+    private static class ChunkTask extends RecursiveAction {
+        private final BuildTask build;
+        private final int from;
+        private final int to;
+        private final int transitionStart;
+        private final int[] spanIndexes;
+        private final int[] groupIndexes;
+        private final int[] endOffsets;
+        private final int[] completedLines;
+        private final int startOffset;
+        private final int startGroup;
+        private final boolean scan;
+
+        ChunkTask(@NonNull BuildTask build, int chunk, @NonNull int[] spanIndexes, @NonNull int[] groupIndexes,
+                  @NonNull int[] endOffsets, @NonNull int[] completedLines, int startOffset, int startGroup, boolean scan) {
+            this.build = build;
+            this.from = chunk * CHUNK_SIZE;
+            this.to = Math.min(build.itemCount, from + CHUNK_SIZE);
+            this.transitionStart = chunk * build.spanCount;
+            this.spanIndexes = spanIndexes;
+            this.groupIndexes = groupIndexes;
+            this.endOffsets = endOffsets;
+            this.completedLines = completedLines;
+            this.startOffset = startOffset;
+            this.startGroup = startGroup;
+            this.scan = scan;
+        }
+
+        @Override
+        protected void compute() {
+            final int spanCount = build.spanCount;
+            if (scan) {
+                for (int pos = from; pos < to; pos++) {
+                    spanIndexes[pos] = Math.min(build.spanSizeLookup.getSpanSize(pos), spanCount);
+                }
+                for (int offset = 0; offset < spanCount; offset++) {
+                    walk(offset, 0, transitionStart + offset, false);
+                }
+            } else {
+                walk(startOffset, startGroup, -1, true);
+            }
+        }
+
+        /**
+         * Places the chunk's items in lines like {@link SpanIndex#build(GridLayoutManager.SpanSizeLookup, int, int)}
+         *
+         * @param offset     span offset at which the first line of the chunk starts
+         * @param group      group index of the first line of the chunk
+         * @param transition index at which the transition is stored, ignored if fill is true
+         * @param fill       true to write the indexes, false to store only the transition
+         */
+        private void walk(int offset, int group, int transition, boolean fill) {
+            final int spanCount = build.spanCount;
+            final int firstGroup = group;
+            for (int pos = from; pos < to; pos++) {
+                final int spanSize = spanIndexes[pos];
+                if (offset + spanSize > spanCount) {
+                    // the item doesn't fit in the current line
+                    offset = 0;
+                    group++;
+                }
+                if (fill) {
+                    spanIndexes[pos] = offset;
+                    groupIndexes[pos] = group;
+                }
+                offset += spanSize;
+                if (offset == spanCount) {
+                    offset = 0;
+                    group++;
+                }
+            }
+            if (!fill) {
+                endOffsets[transition] = offset;
+                completedLines[transition] = group - firstGroup;
+            }
+        }
+    }
+}
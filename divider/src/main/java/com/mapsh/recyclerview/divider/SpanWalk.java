@@ -0,0 +1,101 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.GridLayoutManager;
+
+import java.util.Arrays;
+
+/**
+ * Span data of a grid computed on the main thread while its {@link SpanIndex} is built on the background pool.
+ * <br>
+ * The walk stores the first position of each line and it's extended only up to the highest position requested so far,
+ * so each position is walked at most once: a frame costs only the positions scrolled since the previous frame.
+ * The group of a position is a binary search on the lines' starts and the span accumulated in its line
+ * is a sum of at most span count sizes.
+ */
+final class SpanWalk {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final GridLayoutManager.SpanSizeLookup spanSizeLookup;
+    private final int spanCount;
+    private final int itemCount;
+    // first position of each walked line
+    private int[] lineStarts = new int[INITIAL_CAPACITY];
+    private int lineCount;
+    // first position not walked yet and span accumulated in its line before it
+    private int walkedPosition;
+    private int walkedSpan;
+
+    /**
+     * @param spanSizeLookup lookup of the GridLayoutManager
+     * @param spanCount      span count of the GridLayoutManager
+     * @param itemCount      number of items in the list
+     */
+    SpanWalk(@NonNull GridLayoutManager.SpanSizeLookup spanSizeLookup, int spanCount, int itemCount) {
+        this.spanSizeLookup = spanSizeLookup;
+        this.spanCount = spanCount;
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * @param itemPosition position of the item
+     * @return the index of the item's group, the position itself if it's outside the list (e.g. {@link android.support.v7.widget.RecyclerView#NO_POSITION})
+     */
+    int groupIndexOf(int itemPosition) {
+        if (itemPosition < 0 || itemPosition >= itemCount)
+            return itemPosition;
+
+        walkTo(itemPosition);
+        final int found = Arrays.binarySearch(lineStarts, 0, lineCount, itemPosition);
+        // a position that doesn't start a line is in the line before its insertion point
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /**
+     * @param itemPosition position of the item
+     * @param spanSize     span size of the item
+     * @param groupIndex   index of the item's group returned by {@link #groupIndexOf(int)}
+     * @return the span accumulated in the item's line, including the item's span.
+     * A position outside the list is considered at the start of its line
+     */
+    int accumulatedSpanOf(int itemPosition, int spanSize, int groupIndex) {
+        if (itemPosition < 0 || itemPosition >= itemCount || groupIndex < 0 || groupIndex >= lineCount)
+            return spanSize;
+
+        int accumulatedSpan = 0;
+        for (int pos = lineStarts[groupIndex]; pos <= itemPosition; pos++) {
+            accumulatedSpan += Math.min(spanSizeLookup.getSpanSize(pos), spanCount);
+        }
+        return accumulatedSpan;
+    }
+
+    private void walkTo(int itemPosition) {
+        final int lastPosition = Math.min(itemPosition, itemCount - 1);
+        int span = walkedSpan;
+        for (int pos = walkedPosition; pos <= lastPosition; pos++) {
+            // same algorithm of SpanIndex#build()
+            final int spanSize = Math.min(spanSizeLookup.getSpanSize(pos), spanCount);
+            if (span + spanSize > spanCount) {
+                span = 0;
+            }
+            if (span == 0) {
+                addLineStart(pos);
+            }
+            span += spanSize;
+            if (span == spanCount) {
+                span = 0;
+            }
+        }
+        if (lastPosition >= walkedPosition) {
+            walkedPosition = lastPosition + 1;
+            walkedSpan = span;
+        }
+    }
+
+    private void addLineStart(int position) {
+        if (lineCount == lineStarts.length) {
+            lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+        }
+        lineStarts[lineCount++] = position;
+    }
+}
@@ -1,6 +1,9 @@
 package com.mapsh.recyclerview.divider;
 
 import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
 
 /**
  * Factory used to specify a custom logic to use different tint colors to tint divider's drawables.
@@ -20,6 +23,18 @@ public abstract class TintProvider {
         return new General(tint);
     }
 
+    /**
+     * Creates a new {@link TintProvider} with a gradient between color stops, from the first group to the last one.
+     * <br>
+     * The gradient is computed once in a table of {@value Gradient#TABLE_SIZE} colors, so resolving a tint is a read from the table.
+     *
+     * @param colors color stops of the gradient, evenly distributed along the list
+     * @return factory with the gradient's color of each divider
+     */
+    public static TintProvider getGradientFactory(@NonNull @ColorInt int... colors) {
+        return new Gradient(colors);
+    }
+
     /**
      * Defines a custom tint color for each group of divider
      *
@@ -31,6 +46,25 @@ public abstract class TintProvider {
      */
     public abstract int tintForItem(int groupCount, int groupIndex);
 
+    /**
+     * Defines the tint colors of a range of groups with a single call.
+     * <br>
+     * The divider calls this method once per frame for the visible groups.
+     * The default implementation calls {@link #tintForItem(int, int)} for each group,
+     * override it if the tints can be resolved more efficiently all together (e.g. with a single query).
+     *
+     * @param groupCount number of groups in a list.
+     *                   The groupCount value is equal to the list size when the span count is 1 (e.g. LinearLayoutManager).
+     * @param fromGroup  index of the first group to resolve, inclusive
+     * @param toGroup    index of the last group to resolve, exclusive
+     * @param out        array that will receive the tints, the tint at index i is related to the group fromGroup + i
+     */
+    public void fillTints(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+        for (int groupIndex = fromGroup; groupIndex < toGroup; groupIndex++) {
+            out[groupIndex - fromGroup] = tintForItem(groupCount, groupIndex);
+        }
+    }
+
     /**
      * General instance of a {@link TintProvider} used when the tint color is set with {@link RecyclerViewDivider.Builder#tint(int)}
      */
@@ -46,5 +80,65 @@ public abstract class TintProvider {
         public int tintForItem(int groupCount, int groupIndex) {
             return tint;
         }
+
+        @Override
+        public void fillTints(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+            Arrays.fill(out, 0, toGroup - fromGroup, tint);
+        }
+    }
+
+    /**
+     * Instance of a {@link TintProvider} used when a gradient is set with {@link RecyclerViewDivider.Builder#gradientTint(int...)}.
+     * It returns at most {@link #TABLE_SIZE} different colors, so the divider can cache a tinted drawable for each of them.
+     */
+    static class Gradient extends TintProvider {
+        static final int TABLE_SIZE = 256;
+
+        private final int[] table = new int[TABLE_SIZE];
+
+        Gradient(@NonNull @ColorInt int[] colors) {
+            final int lastStop = colors.length - 1;
+            for (int i = 0; i < TABLE_SIZE; i++) {
+                if (lastStop <= 0) {
+                    table[i] = colors.length > 0 ? colors[0] : 0;
+                    continue;
+                }
+                final float position = (float) i * lastStop / (TABLE_SIZE - 1);
+                final int stop = Math.min((int) position, lastStop - 1);
+                table[i] = interpolate(colors[stop], colors[stop + 1], position - stop);
+            }
+        }
+
+        @Override
+        public int tintForItem(int groupCount, int groupIndex) {
+            return table[tableIndexOf(groupCount, groupIndex)];
+        }
+
+        @Override
+        public void fillTints(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+            for (int groupIndex = fromGroup; groupIndex < toGroup; groupIndex++) {
+                out[groupIndex - fromGroup] = table[tableIndexOf(groupCount, groupIndex)];
+            }
+        }
+
+        private static int tableIndexOf(int groupCount, int groupIndex) {
+            if (groupCount <= 1 || groupIndex <= 0)
+                return 0;
+
+            return (int) Math.min(TABLE_SIZE - 1, (long) groupIndex * (TABLE_SIZE - 1) / (groupCount - 1));
+        }
+
+        @ColorInt
+        private static int interpolate(@ColorInt int from, @ColorInt int to, float fraction) {
+            final int a = channel(from >>> 24, to >>> 24, fraction);
+            final int r = channel((from >> 16) & 0xFF, (to >> 16) & 0xFF, fraction);
+            final int g = channel((from >> 8) & 0xFF, (to >> 8) & 0xFF, fraction);
+            final int b = channel(from & 0xFF, to & 0xFF, fraction);
+            return a << 24 | r << 16 | g << 8 | b;
+        }
+
+        private static int channel(int from, int to, float fraction) {
+            return Math.round(from + (to - from) * fraction);
+        }
     }
-}
\ No newline at end of file
+}
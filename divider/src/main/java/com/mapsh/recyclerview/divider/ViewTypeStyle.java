@@ -0,0 +1,102 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+
+/**
+ * Style of the dividers of all the items with the same view type.
+ * <br>
+ * You can add a {@link ViewTypeStyle} in your {@link RecyclerViewDivider.Builder} using
+ * {@link RecyclerViewDivider.Builder#viewTypeStyle(int, ViewTypeStyle)} method.
+ * The properties that aren't set in the style are taken from the divider's factories.
+ */
+public final class ViewTypeStyle {
+    static final int UNSET = Integer.MIN_VALUE;
+
+    Drawable drawable;
+    Integer tint;
+    int size = UNSET;
+    int marginSize = UNSET;
+    int visibility = UNSET;
+
+    /**
+     * Creates a new empty {@link ViewTypeStyle}
+     *
+     * @return a new {@link ViewTypeStyle} instance
+     */
+    public static ViewTypeStyle create() {
+        return new ViewTypeStyle();
+    }
+
+    private ViewTypeStyle() {
+        // use create() instead
+    }
+
+    /**
+     * Set the color of the dividers of this view type. This method can't be used with {@link #drawable(Drawable)}
+     *
+     * @param color resolved color for this divider, not a resource
+     * @return {@link ViewTypeStyle} instance
+     */
+    public ViewTypeStyle color(@ColorInt int color) {
+        drawable = RecyclerViewDividerUtils.colorToDrawable(color);
+        return this;
+    }
+
+    /**
+     * Set the drawable of the dividers of this view type. This method can't be used with {@link #color(int)}
+     *
+     * @param drawable custom drawable for this divider
+     * @return {@link ViewTypeStyle} instance
+     */
+    public ViewTypeStyle drawable(@NonNull Drawable drawable) {
+        this.drawable = drawable;
+        return this;
+    }
+
+    /**
+     * Set the tint color of the drawable set with {@link #drawable(Drawable)}.
+     * The tint is applied once when the divider is built.
+     *
+     * @param color color that will be used as drawable's tint
+     * @return {@link ViewTypeStyle} instance
+     */
+    public ViewTypeStyle tint(@ColorInt int color) {
+        tint = color;
+        return this;
+    }
+
+    /**
+     * Set the size of the dividers of this view type
+     *
+     * @param size size in pixels for this divider
+     * @return {@link ViewTypeStyle} instance
+     */
+    public ViewTypeStyle size(int size) {
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * Set the margin size of the dividers of this view type
+     *
+     * @param marginSize margins' size in pixels for this divider
+     * @return {@link ViewTypeStyle} instance
+     */
+    public ViewTypeStyle marginSize(int marginSize) {
+        this.marginSize = marginSize;
+        return this;
+    }
+
+    /**
+     * Set the visibility of the dividers of this view type
+     *
+     * @param visibility one of {@link VisibilityProvider.Show}
+     * @return {@link ViewTypeStyle} instance
+     */
+    public ViewTypeStyle visibility(@VisibilityProvider.Show int visibility) {
+        this.visibility = visibility;
+        return this;
+    }
+}
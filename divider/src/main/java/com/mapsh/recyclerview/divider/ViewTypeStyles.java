@@ -0,0 +1,96 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.v4.graphics.drawable.DrawableCompat;
+import android.util.SparseArray;
+
+import java.util.Arrays;
+
+/**
+ * Lookup table of the {@link ViewTypeStyle}s of a divider, resolved once when the divider is built.
+ * <br>
+ * Each style is stored at an index in primitive arrays. The index of a view type is read from an array indexed
+ * by the view type itself when all the view types are small and positive, otherwise it's found with a binary search.
+ */
+final class ViewTypeStyles {
+    private static final int DIRECT_TABLE_LIMIT = 256;
+    static final int UNSET = ViewTypeStyle.UNSET;
+
+    // index + 1 of the style of each view type, 0 if the view type hasn't a style
+    private final int[] directIndexes;
+    private final int[] sortedViewTypes;
+
+    final Drawable[] drawables;
+    final int[] sizes;
+    final int[] margins;
+    final int[] visibilities;
+
+    /**
+     * @param styles styles keyed by view type
+     */
+    ViewTypeStyles(@NonNull SparseArray<ViewTypeStyle> styles) {
+        final int count = styles.size();
+        sortedViewTypes = new int[count];
+        drawables = new Drawable[count];
+        sizes = new int[count];
+        margins = new int[count];
+        visibilities = new int[count];
+
+        int maxViewType = -1;
+        boolean direct = true;
+        for (int i = 0; i < count; i++) {
+            // SparseArray's keys are already sorted
+            final int viewType = styles.keyAt(i);
+            final ViewTypeStyle style = styles.valueAt(i);
+            sortedViewTypes[i] = viewType;
+            drawables[i] = tinted(style.drawable, style.tint);
+            sizes[i] = style.size;
+            margins[i] = style.marginSize;
+            visibilities[i] = style.visibility;
+
+            direct &= viewType >= 0 && viewType < DIRECT_TABLE_LIMIT;
+            maxViewType = Math.max(maxViewType, viewType);
+        }
+
+        if (direct) {
+            directIndexes = new int[maxViewType + 1];
+            for (int i = 0; i < count; i++) {
+                directIndexes[sortedViewTypes[i]] = i + 1;
+            }
+        } else {
+            directIndexes = null;
+        }
+    }
+
+    /**
+     * @param viewType view type of an item
+     * @return index of the view type's style in the arrays or -1 if the view type hasn't a style
+     */
+    int indexOf(int viewType) {
+        if (directIndexes != null) {
+            return viewType >= 0 && viewType < directIndexes.length ? directIndexes[viewType] - 1 : -1;
+        }
+        final int index = Arrays.binarySearch(sortedViewTypes, viewType);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Tints a copy of the style's drawable, so the drawable passed by the caller is never changed
+     *
+     * @param drawable drawable of the style
+     * @param tint     tint of the style
+     * @return tinted copy of the drawable, the drawable itself if there's no tint
+     */
+    private static Drawable tinted(Drawable drawable, Integer tint) {
+        if (drawable == null || tint == null)
+            return drawable;
+
+        // a drawable without a constant state can't be copied, it's mutated to avoid at least changing the shared state
+        final Drawable.ConstantState constantState = drawable.getConstantState();
+        final Drawable copy = constantState != null ? constantState.newDrawable().mutate() : drawable.mutate();
+        final Drawable wrappedDrawable = DrawableCompat.wrap(copy);
+        DrawableCompat.setTint(wrappedDrawable, tint);
+        return wrappedDrawable;
+    }
+}
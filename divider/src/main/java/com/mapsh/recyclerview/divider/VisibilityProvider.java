@@ -1,9 +1,11 @@
 package com.mapsh.recyclerview.divider;
 
 import android.support.annotation.IntDef;
+import android.support.annotation.NonNull;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
 
 /**
  * Factory used to specify a custom logic to set visibility for each divider.
@@ -70,6 +72,25 @@ public abstract class VisibilityProvider {
     @Show
     int displayDividerForItem(int groupCount, int groupIndex);
 
+    /**
+     * Defines the visibility of a range of groups with a single call.
+     * <br>
+     * The divider calls this method once per frame for the visible groups.
+     * The default implementation calls {@link #displayDividerForItem(int, int)} for each group,
+     * override it if the visibilities can be resolved more efficiently all together (e.g. with a single query).
+     *
+     * @param groupCount number of groups in a list.
+     *                   The groupCount value is equal to the list size when the span count is 1 (e.g. LinearLayoutManager).
+     * @param fromGroup  index of the first group to resolve, inclusive
+     * @param toGroup    index of the last group to resolve, exclusive
+     * @param out        array that will receive the visibilities (one of {@link Show}), the visibility at index i is related to the group fromGroup + i
+     */
+    public void fillVisibilities(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+        for (int groupIndex = fromGroup; groupIndex < toGroup; groupIndex++) {
+            out[groupIndex - fromGroup] = displayDividerForItem(groupCount, groupIndex);
+        }
+    }
+
     /**
      * Default instance of a {@link VisibilityProvider}
      */
@@ -84,6 +105,11 @@ public abstract class VisibilityProvider {
         int displayDividerForItem(int groupCount, int groupIndex) {
             return SHOW_ALL;
         }
+
+        @Override
+        public void fillVisibilities(int groupCount, int fromGroup, int toGroup, @NonNull int[] out) {
+            Arrays.fill(out, 0, toGroup - fromGroup, SHOW_ALL);
+        }
     }
 
     /**
@@ -0,0 +1,97 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.view.ContextThemeWrapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks which builders share a divider through {@link RecyclerViewDivider.Builder#buildShared()}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BuildSharedTest {
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void equalPropertiesShareTheDivider() {
+        final RecyclerViewDivider first = RecyclerViewDivider.with(context).color(Color.RED).size(4).marginSize(2).buildShared();
+        final RecyclerViewDivider second = RecyclerViewDivider.with(context).color(Color.RED).size(4).marginSize(2).buildShared();
+
+        assertSame(first, second);
+        assertEquals(RecyclerViewDivider.with(context).color(Color.RED).size(4).config(),
+                RecyclerViewDivider.with(context).color(Color.RED).size(4).config());
+    }
+
+    @Test
+    public void differentPropertiesDontShareTheDivider() {
+        final RecyclerViewDivider red = RecyclerViewDivider.with(context).color(Color.RED).size(4).buildShared();
+        final RecyclerViewDivider blue = RecyclerViewDivider.with(context).color(Color.BLUE).size(4).buildShared();
+        final RecyclerViewDivider thick = RecyclerViewDivider.with(context).color(Color.RED).size(8).buildShared();
+        final RecyclerViewDivider inside = RecyclerViewDivider.with(context).color(Color.RED).size(4).insideItem().buildShared();
+
+        assertNotSame(red, blue);
+        assertNotSame(red, thick);
+        assertNotSame(red, inside);
+    }
+
+    @Test
+    public void drawablesAreComparedByIdentity() {
+        final Drawable drawable = new ColorDrawable(Color.RED);
+        final RecyclerViewDivider first = RecyclerViewDivider.with(context).drawable(drawable).size(4).buildShared();
+        final RecyclerViewDivider second = RecyclerViewDivider.with(context).drawable(drawable).size(4).buildShared();
+        final RecyclerViewDivider copy = RecyclerViewDivider.with(context).drawable(new ColorDrawable(Color.RED)).size(4).buildShared();
+
+        assertSame(first, second);
+        assertNotSame(first, copy);
+    }
+
+    @Test
+    public void defaultSizeIsntSharedBetweenDensities() {
+        final Configuration configuration = new Configuration(context.getResources().getConfiguration());
+        configuration.densityDpi = configuration.densityDpi * 2;
+        final Context denserContext = context.createConfigurationContext(configuration);
+
+        assertNotEquals(RecyclerViewDivider.with(context).color(Color.RED).config(),
+                RecyclerViewDivider.with(denserContext).color(Color.RED).config());
+        assertNotSame(RecyclerViewDivider.with(context).color(Color.RED).buildShared(),
+                RecyclerViewDivider.with(denserContext).color(Color.RED).buildShared());
+    }
+
+    @Test
+    public void defaultColorIsntSharedBetweenThemes() {
+        final Context themedContext = new ContextThemeWrapper(context, android.R.style.Theme_Black);
+
+        assertNotSame(RecyclerViewDivider.with(context).size(4).marginSize(0).buildShared(),
+                RecyclerViewDivider.with(themedContext).size(4).marginSize(0).buildShared());
+    }
+
+    @Test
+    public void contextIsIgnoredWithoutDefaultValues() {
+        final Context themedContext = new ContextThemeWrapper(context, android.R.style.Theme_Black);
+        final Configuration configuration = new Configuration(context.getResources().getConfiguration());
+        configuration.densityDpi = configuration.densityDpi * 2;
+        final Context denserContext = context.createConfigurationContext(configuration);
+
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(4).marginSize(0).buildShared();
+        assertSame(divider, RecyclerViewDivider.with(themedContext).color(Color.RED).size(4).marginSize(0).buildShared());
+        assertSame(divider, RecyclerViewDivider.with(denserContext).color(Color.RED).size(4).marginSize(0).buildShared());
+    }
+}
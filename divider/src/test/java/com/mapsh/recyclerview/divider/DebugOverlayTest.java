@@ -0,0 +1,68 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.graphics.Color;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks the costs measured by {@link RecyclerViewDivider.Builder#debugOverlay()}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DebugOverlayTest {
+    private Context context;
+    private int appFlags;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        appFlags = context.getApplicationInfo().flags;
+    }
+
+    @After
+    public void tearDown() {
+        context.getApplicationInfo().flags = appFlags;
+    }
+
+    @Test
+    public void costsAreMeasuredForEachRecyclerView() {
+        context.getApplicationInfo().flags |= ApplicationInfo.FLAG_DEBUGGABLE;
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(4).debugOverlay().build();
+        final RecyclerView first = newLaidOutList(divider);
+        final RecyclerView second = newLaidOutList(divider);
+
+        final DividerStats firstStats = divider.stateOf(first).stats;
+        assertNotNull(firstStats);
+        assertNotNull(divider.stateOf(second).stats);
+        assertNotSame(firstStats, divider.stateOf(second).stats);
+    }
+
+    @Test
+    public void debugOverlayIsIgnoredIfTheAppIsntDebuggable() {
+        context.getApplicationInfo().flags &= ~ApplicationInfo.FLAG_DEBUGGABLE;
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(4).debugOverlay().build();
+
+        assertNull(divider.stateOf(newLaidOutList(divider)).stats);
+    }
+
+    private RecyclerView newLaidOutList(RecyclerViewDivider divider) {
+        final RecyclerView recyclerView = TestLists.newList(context, new LinearLayoutManager(context),
+                new TestLists.Adapter(10, ViewGroup.LayoutParams.MATCH_PARENT, 50));
+        divider.addTo(recyclerView);
+        TestLists.layout(recyclerView, 200, 600);
+        return recyclerView;
+    }
+}
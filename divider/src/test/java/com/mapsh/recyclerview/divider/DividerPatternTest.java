@@ -0,0 +1,109 @@
+package com.mapsh.recyclerview.divider;
+
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.support.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks the shaders used by {@link DividerPattern} to draw the dashed dividers
+ */
+@RunWith(RobolectricTestRunner.class)
+public class DividerPatternTest {
+    private ShaderCanvas canvas;
+
+    @Before
+    public void setUp() {
+        canvas = new ShaderCanvas();
+    }
+
+    @Test
+    public void eachDividerIsASingleRect() {
+        final DividerPattern pattern = new DividerPattern(6, 4, RecyclerViewDivider.CAP_BUTT);
+        pattern.draw(canvas, 10, 20, 110, 24);
+        pattern.draw(canvas, 50, 0, 54, 300);
+
+        assertEquals(2, canvas.shaders.size());
+        assertNotNull(canvas.shaders.get(0));
+    }
+
+    @Test
+    public void shaderIsAnchoredToEachDivider() {
+        final DividerPattern pattern = new DividerPattern(6, 4, RecyclerViewDivider.CAP_BUTT);
+        pattern.draw(canvas, 10, 20, 110, 24);
+        pattern.draw(canvas, 10, 83, 110, 87);
+
+        // the dashes start at the left edge of each divider, so they don't slide while scrolling
+        assertEquals(10f, canvas.translations.get(0)[0], 0f);
+        assertEquals(20f, canvas.translations.get(0)[1], 0f);
+        assertEquals(10f, canvas.translations.get(1)[0], 0f);
+        assertEquals(83f, canvas.translations.get(1)[1], 0f);
+    }
+
+    @Test
+    public void buttDashesShareTheShaderOfEachDirection() {
+        final DividerPattern pattern = new DividerPattern(6, 4, RecyclerViewDivider.CAP_BUTT);
+        pattern.draw(canvas, 0, 0, 100, 2);
+        pattern.draw(canvas, 0, 10, 100, 16);
+        pattern.draw(canvas, 0, 0, 2, 100);
+
+        assertSame(canvas.shaders.get(0), canvas.shaders.get(1));
+        assertNotSame(canvas.shaders.get(0), canvas.shaders.get(2));
+    }
+
+    @Test
+    public void roundDashesHaveAShaderForEachThickness() {
+        final DividerPattern pattern = new DividerPattern(6, 4, RecyclerViewDivider.CAP_ROUND);
+        pattern.draw(canvas, 0, 0, 100, 2);
+        pattern.draw(canvas, 0, 10, 100, 16);
+        pattern.draw(canvas, 0, 20, 100, 22);
+
+        assertNotSame(canvas.shaders.get(0), canvas.shaders.get(1));
+        assertSame(canvas.shaders.get(0), canvas.shaders.get(2));
+    }
+
+    @Test
+    public void emptyDividerIsntDrawn() {
+        final DividerPattern pattern = new DividerPattern(6, 4, RecyclerViewDivider.CAP_BUTT);
+        pattern.draw(canvas, 10, 20, 10, 24);
+        pattern.draw(canvas, 10, 20, 110, 20);
+
+        assertEquals(0, canvas.shaders.size());
+    }
+
+    /**
+     * Canvas that records the shader of each rect and the translation of the shader's local matrix
+     */
+    private static class ShaderCanvas extends Canvas {
+        final List<Shader> shaders = new ArrayList<>();
+        final List<float[]> translations = new ArrayList<>();
+        private final Matrix matrix = new Matrix();
+        private final float[] values = new float[9];
+
+        @Override
+        public void drawRect(float left, float top, float right, float bottom, @NonNull Paint paint) {
+            final Shader shader = paint.getShader();
+            shaders.add(shader);
+            if (shader != null) {
+                matrix.reset();
+                shader.getLocalMatrix(matrix);
+                matrix.getValues(values);
+                translations.add(new float[]{values[Matrix.MTRANS_X], values[Matrix.MTRANS_Y]});
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the tinted copies of the drawables created by {@link RecyclerViewDivider.Builder#gradientTint(int...)}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class GradientTintTest {
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+    private RecyclerView recyclerView;
+    private Canvas canvas;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        recyclerView = TestLists.newList(context, new LinearLayoutManager(context),
+                new TestLists.Adapter(10, ViewGroup.LayoutParams.MATCH_PARENT, 50));
+        canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+    }
+
+    @Test
+    public void alternatingDrawablesReuseTheirTintedCopies() {
+        final CopyCounter evenCopies = new CopyCounter();
+        final CopyCounter oddCopies = new CopyCounter();
+        final Drawable even = new CopyCountingDrawable(evenCopies);
+        final Drawable odd = new CopyCountingDrawable(oddCopies);
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).size(4).gradientTint(Color.RED, Color.BLUE)
+                .drawableFactory(new DrawableProvider() {
+                    @Override
+                    public Drawable drawableForItem(int groupCount, int groupIndex) {
+                        return groupIndex % 2 == 0 ? even : odd;
+                    }
+                }).build();
+        divider.addTo(recyclerView);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        divider.onDraw(canvas, recyclerView, new RecyclerView.State());
+        final int evenCount = evenCopies.copies;
+        final int oddCount = oddCopies.copies;
+        assertTrue(evenCount > 0);
+        assertTrue(oddCount > 0);
+
+        // the next frame finds the copies of both drawables
+        divider.onDraw(canvas, recyclerView, new RecyclerView.State());
+        assertEquals(evenCount, evenCopies.copies);
+        assertEquals(oddCount, oddCopies.copies);
+    }
+
+    @Test
+    public void gradientGoesFromTheFirstStopToTheLastOne() {
+        final TintProvider gradient = TintProvider.getGradientFactory(Color.BLACK, Color.WHITE);
+        final int groupCount = TintProvider.Gradient.TABLE_SIZE;
+
+        assertEquals(Color.BLACK, gradient.tintForItem(groupCount, 0));
+        assertEquals(0xFF808080, gradient.tintForItem(groupCount, 128));
+        assertEquals(Color.WHITE, gradient.tintForItem(groupCount, groupCount - 1));
+    }
+
+    @Test
+    public void stopsAreEvenlyDistributed() {
+        final TintProvider gradient = TintProvider.getGradientFactory(Color.RED, Color.GREEN, Color.BLUE, Color.WHITE);
+        final int groupCount = TintProvider.Gradient.TABLE_SIZE;
+
+        assertEquals(Color.RED, gradient.tintForItem(groupCount, 0));
+        assertEquals(Color.GREEN, gradient.tintForItem(groupCount, groupCount / 3));
+        assertEquals(Color.BLUE, gradient.tintForItem(groupCount, groupCount * 2 / 3));
+        assertEquals(Color.WHITE, gradient.tintForItem(groupCount, groupCount - 1));
+    }
+
+    @Test
+    public void singleStopIsASingleTint() {
+        final TintProvider gradient = TintProvider.getGradientFactory(Color.RED);
+
+        assertEquals(Color.RED, gradient.tintForItem(10, 0));
+        assertEquals(Color.RED, gradient.tintForItem(10, 9));
+    }
+
+    @Test
+    public void fillTintsMatchesTintForItem() {
+        final TintProvider gradient = TintProvider.getGradientFactory(Color.RED, Color.BLUE);
+        final int groupCount = 1000;
+        final int[] filled = new int[50];
+        gradient.fillTints(groupCount, 400, 450, filled);
+
+        final int[] expected = new int[50];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = gradient.tintForItem(groupCount, 400 + i);
+        }
+        assertArrayEquals(expected, filled);
+    }
+
+    @Test
+    public void longListUsesAtMostTheColorsOfTheTable() {
+        final TintProvider gradient = TintProvider.getGradientFactory(Color.RED, Color.BLUE);
+        final int groupCount = 100000;
+        final Set<Integer> tints = new HashSet<>();
+        for (int groupIndex = 0; groupIndex < groupCount; groupIndex++) {
+            tints.add(gradient.tintForItem(groupCount, groupIndex));
+        }
+
+        // the divider tints a copy of each drawable at most once for each color
+        assertTrue(tints.size() <= TintProvider.Gradient.TABLE_SIZE);
+    }
+
+    /**
+     * Constant state that counts the copies of its drawable
+     */
+    private static class CopyCounter extends Drawable.ConstantState {
+        int copies;
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            copies++;
+            return new CopyCountingDrawable(this);
+        }
+
+        @Override
+        public int getChangingConfigurations() {
+            return 0;
+        }
+    }
+
+    private static class CopyCountingDrawable extends Drawable {
+        private final CopyCounter state;
+
+        CopyCountingDrawable(@NonNull CopyCounter state) {
+            this.state = state;
+        }
+
+        @Override
+        public void draw(@NonNull Canvas canvas) {
+            // only the copies are counted
+        }
+
+        @Override
+        public ConstantState getConstantState() {
+            return state;
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            // not needed by the test
+        }
+
+        @Override
+        public void setColorFilter(@Nullable ColorFilter colorFilter) {
+            // not needed by the test
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
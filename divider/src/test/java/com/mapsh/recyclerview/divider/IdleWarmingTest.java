@@ -0,0 +1,132 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the caches warmed ahead of the scroll direction by {@link RecyclerViewDivider.Builder#idleWarming()}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class IdleWarmingTest {
+    private static final int ITEM_COUNT = 1000;
+    private static final int ITEM_HEIGHT = 50;
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+    private CountingSizeProvider sizeProvider;
+    private RecyclerViewDivider divider;
+    private RecyclerView recyclerView;
+    private Canvas canvas;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        sizeProvider = new CountingSizeProvider();
+        divider = RecyclerViewDivider.with(context).color(Color.RED).sizeFactory(sizeProvider).marginSize(0).idleWarming().build();
+        recyclerView = TestLists.newList(context, new LinearLayoutManager(context),
+                new TestLists.Adapter(ITEM_COUNT, ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+        divider.addTo(recyclerView);
+        canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+        draw();
+    }
+
+    @Test
+    public void warmingCoversTheWindowInTheScrollDirection() {
+        final ParentState parentState = divider.stateOf(recyclerView);
+        final int screen = parentState.toGroup - parentState.fromGroup;
+
+        assertTrue(divider.warmAhead(recyclerView, parentState, 1, Long.MAX_VALUE));
+        assertTrue(parentState.groupValues.coversWarm(ITEM_COUNT, parentState.fromGroup, parentState.toGroup + 2 * screen));
+        assertFalse(parentState.groupValues.covers(ITEM_COUNT, parentState.fromGroup, parentState.toGroup + 2 * screen + 1));
+    }
+
+    @Test
+    public void expiredSliceIsContinuedByTheNextOne() {
+        final ParentState parentState = divider.stateOf(recyclerView);
+        final int screen = parentState.toGroup - parentState.fromGroup;
+
+        assertFalse(divider.warmAhead(recyclerView, parentState, 1, System.nanoTime() - 1));
+        assertFalse(parentState.groupValues.covers(ITEM_COUNT, parentState.fromGroup, parentState.toGroup + 2 * screen));
+
+        assertTrue(divider.warmAhead(recyclerView, parentState, 1, Long.MAX_VALUE));
+        assertTrue(parentState.groupValues.coversWarm(ITEM_COUNT, parentState.fromGroup, parentState.toGroup + 2 * screen));
+    }
+
+    @Test
+    public void scrollInsideTheWarmWindowDoesntCallTheProviders() {
+        final ParentState parentState = divider.stateOf(recyclerView);
+        assertTrue(divider.warmAhead(recyclerView, parentState, 1, Long.MAX_VALUE));
+
+        sizeProvider.calls = 0;
+        recyclerView.scrollBy(0, HEIGHT / 2);
+        draw();
+        assertEquals(0, sizeProvider.calls);
+    }
+
+    @Test
+    public void changedGroupsArentWarmAnymore() {
+        final ParentState parentState = divider.stateOf(recyclerView);
+        assertTrue(divider.warmAhead(recyclerView, parentState, 1, Long.MAX_VALUE));
+
+        parentState.groupValues.invalidateGroups(parentState.toGroup + 1, parentState.toGroup + 2);
+        assertFalse(parentState.groupValues.coversWarm(ITEM_COUNT, parentState.fromGroup, parentState.toGroup));
+    }
+
+    @Test
+    public void extendedValuesFollowTheirGroups() {
+        final GroupValues values = new GroupValues();
+        final VisibilityProvider visibility = VisibilityProvider.getDefault();
+        final DrawableProvider drawables = DrawableProvider.getGeneralFactory(RecyclerViewDividerUtils.colorToDrawable(Color.RED));
+        final MarginProvider margins = MarginProvider.getGeneralFactory(0);
+        values.resolve(visibility, drawables, null, sizeProvider, margins, RecyclerView.VERTICAL, 100, 10, 20);
+
+        // a chunk after the resolved groups and a chunk before them
+        values.extend(visibility, drawables, null, sizeProvider, margins, RecyclerView.VERTICAL, 20, 30);
+        values.extend(visibility, drawables, null, sizeProvider, margins, RecyclerView.VERTICAL, 5, 10);
+
+        assertTrue(values.covers(100, 5, 30));
+        for (int groupIndex = 5; groupIndex < 30; groupIndex++) {
+            assertEquals(CountingSizeProvider.sizeOf(groupIndex), values.sizes[values.indexOf(groupIndex)]);
+        }
+    }
+
+    private void draw() {
+        divider.onDraw(canvas, recyclerView, new RecyclerView.State());
+    }
+
+    /**
+     * Size provider that counts its calls, the size of each group is different
+     */
+    private static class CountingSizeProvider extends SizeProvider {
+        int calls;
+
+        static int sizeOf(int groupIndex) {
+            return 1 + groupIndex % 7;
+        }
+
+        @Override
+        public int sizeForItem(@Nullable Drawable drawable, int orientation, int groupCount, int groupIndex) {
+            calls++;
+            return sizeOf(groupIndex);
+        }
+    }
+}
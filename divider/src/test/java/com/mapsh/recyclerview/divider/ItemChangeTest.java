@@ -0,0 +1,91 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the offsets of a grid after notifyItemChanged() of an item whose span size depends on its content
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ItemChangeTest {
+    private static final int SPAN_COUNT = 2;
+    private static final int ITEM_COUNT = 6;
+    private static final int SIZE = 4;
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+    private final int[] spanSizes = new int[ITEM_COUNT];
+    private TestLists.Adapter adapter;
+    private RecyclerView recyclerView;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        Arrays.fill(spanSizes, 1);
+        final GridLayoutManager layoutManager = new GridLayoutManager(context, SPAN_COUNT);
+        layoutManager.setSpanSizeLookup(new GridLayoutManager.SpanSizeLookup() {
+            @Override
+            public int getSpanSize(int position) {
+                return spanSizes[position];
+            }
+        });
+        adapter = new TestLists.Adapter(ITEM_COUNT, ViewGroup.LayoutParams.MATCH_PARENT, 50);
+        recyclerView = TestLists.newList(context, layoutManager, adapter);
+    }
+
+    @Test
+    public void changedSpanSizeUpdatesTheOffsets() {
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(SIZE).marginSize(0).build();
+        divider.addTo(recyclerView);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        // lines: [0, 1] [2, 3] [4, 5]
+        assertEquals(new Rect(0, 0, SIZE / 2, SIZE), TestLists.offsetsOf(divider, recyclerView, 0));
+        assertEquals(new Rect(SIZE / 2, 0, 0, SIZE), TestLists.offsetsOf(divider, recyclerView, 1));
+
+        spanSizes[1] = SPAN_COUNT;
+        adapter.notifyItemChanged(1);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        // lines: [0] [1] [2, 3] [4, 5]
+        assertEquals(new Rect(0, 0, SIZE / 2, SIZE), TestLists.offsetsOf(divider, recyclerView, 0));
+        assertEquals(new Rect(0, 0, 0, SIZE), TestLists.offsetsOf(divider, recyclerView, 1));
+        assertEquals(new Rect(0, 0, SIZE / 2, SIZE), TestLists.offsetsOf(divider, recyclerView, 2));
+        assertEquals(new Rect(SIZE / 2, 0, 0, SIZE), TestLists.offsetsOf(divider, recyclerView, 3));
+    }
+
+    @Test
+    public void changedSpanSizeUpdatesTheLastGroup() {
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(SIZE).marginSize(0)
+                .hideLastDivider().build();
+        divider.addTo(recyclerView);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        // the last line [4, 5] has no divider after it
+        assertEquals(new Rect(SIZE / 2, 0, 0, SIZE), TestLists.offsetsOf(divider, recyclerView, 3));
+        assertEquals(new Rect(SIZE / 2, 0, 0, 0), TestLists.offsetsOf(divider, recyclerView, 5));
+
+        spanSizes[5] = SPAN_COUNT;
+        adapter.notifyItemChanged(5);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        // lines: [0, 1] [2, 3] [4] [5], now the last line is [5]
+        assertEquals(new Rect(0, 0, SIZE / 2, SIZE), TestLists.offsetsOf(divider, recyclerView, 4));
+        assertEquals(new Rect(0, 0, 0, 0), TestLists.offsetsOf(divider, recyclerView, 5));
+    }
+}
@@ -0,0 +1,162 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.SimpleItemAnimator;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Checks when the draw pass of the RecyclerView records the overlay of {@link RecyclerViewDivider.Builder#overlayLayer()} again
+ */
+@RunWith(RobolectricTestRunner.class)
+public class OverlayLayerTest {
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 600;
+
+    private TestLists.Adapter adapter;
+    private RecyclerView recyclerView;
+    private ManualItemAnimator itemAnimator;
+    private RecyclerViewDivider divider;
+
+    @Before
+    public void setUp() {
+        final Context context = RuntimeEnvironment.application;
+        adapter = new TestLists.Adapter(10, ViewGroup.LayoutParams.MATCH_PARENT, 50);
+        recyclerView = TestLists.newList(context, new LinearLayoutManager(context), adapter);
+        itemAnimator = new ManualItemAnimator();
+        recyclerView.setItemAnimator(itemAnimator);
+        divider = RecyclerViewDivider.with(context).color(Color.RED).size(4).insideItem().overlayLayer().build();
+        divider.addTo(recyclerView);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void idleListDoesntRecordTheOverlayAgain() {
+        final ShadowView overlay = overlayOf();
+
+        overlay.clearWasInvalidated();
+        divider.onDrawOver(null, recyclerView, new RecyclerView.State());
+        assertFalse(overlay.wasInvalidated());
+    }
+
+    @Test
+    public void itemAnimationRecordsTheOverlayAgain() {
+        final ShadowView overlay = overlayOf();
+
+        // the items after the inserted one are moved by the animation
+        adapter.setItemCount(11);
+        adapter.notifyItemInserted(0);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+        assertTrue(recyclerView.isAnimating());
+
+        overlay.clearWasInvalidated();
+        divider.onDrawOver(null, recyclerView, new RecyclerView.State());
+        assertTrue(overlay.wasInvalidated());
+
+        // the last frame of the animation records the children at their final positions
+        itemAnimator.endAnimations();
+        overlay.clearWasInvalidated();
+        divider.onDrawOver(null, recyclerView, new RecyclerView.State());
+        assertFalse(overlay.wasInvalidated());
+    }
+
+    @Test
+    public void translatedChildRecordsTheOverlayAgain() {
+        final ShadowView overlay = overlayOf();
+
+        // e.g. a swipe of ItemTouchHelper, without an item animation
+        recyclerView.getChildAt(2).setTranslationX(30);
+        overlay.clearWasInvalidated();
+        divider.onDrawOver(null, recyclerView, new RecyclerView.State());
+        assertTrue(overlay.wasInvalidated());
+    }
+
+    private ShadowView overlayOf() {
+        // the overlay is created by the first draw pass
+        divider.onDrawOver(null, recyclerView, new RecyclerView.State());
+        final DividerOverlay overlay = divider.stateOf(recyclerView).overlayRef.get();
+        assertNotNull(overlay);
+        return shadowOf(overlay);
+    }
+
+    /**
+     * Item animator whose animations run until {@link #endAnimations()}, the moved items keep their starting translation
+     */
+    private static class ManualItemAnimator extends SimpleItemAnimator {
+        private final List<RecyclerView.ViewHolder> running = new ArrayList<>();
+
+        @Override
+        public boolean animateRemove(RecyclerView.ViewHolder holder) {
+            running.add(holder);
+            return true;
+        }
+
+        @Override
+        public boolean animateAdd(RecyclerView.ViewHolder holder) {
+            running.add(holder);
+            return true;
+        }
+
+        @Override
+        public boolean animateMove(RecyclerView.ViewHolder holder, int fromX, int fromY, int toX, int toY) {
+            holder.itemView.setTranslationX(fromX - toX);
+            holder.itemView.setTranslationY(fromY - toY);
+            running.add(holder);
+            return true;
+        }
+
+        @Override
+        public boolean animateChange(RecyclerView.ViewHolder oldHolder, RecyclerView.ViewHolder newHolder,
+                                     int fromX, int fromY, int toX, int toY) {
+            dispatchAnimationFinished(oldHolder);
+            if (newHolder != oldHolder) {
+                dispatchAnimationFinished(newHolder);
+            }
+            return false;
+        }
+
+        @Override
+        public void runPendingAnimations() {
+            // the animations run until they're ended by the test
+        }
+
+        @Override
+        public void endAnimation(RecyclerView.ViewHolder holder) {
+            if (running.remove(holder)) {
+                holder.itemView.setTranslationX(0);
+                holder.itemView.setTranslationY(0);
+                dispatchAnimationFinished(holder);
+            }
+        }
+
+        @Override
+        public void endAnimations() {
+            for (RecyclerView.ViewHolder holder : new ArrayList<>(running)) {
+                endAnimation(holder);
+            }
+            dispatchAnimationsFinished();
+        }
+
+        @Override
+        public boolean isRunning() {
+            return !running.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks which dividers' bounds {@link SegmentBuffer} translates from the previous frame
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SegmentBufferTest {
+    private static final int ITEM_COUNT = 10;
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 50;
+    private static final int SIZE = 4;
+
+    private final ViewGroup.MarginLayoutParams params = new ViewGroup.MarginLayoutParams(WIDTH, HEIGHT);
+    private SegmentBuffer buffer;
+
+    @Before
+    public void setUp() {
+        buffer = new SegmentBuffer();
+        startFrame(ITEM_COUNT);
+        // the child at the position 3 with a divider under it
+        final int entry = buffer.add(3, 0, 100, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE, 0, params);
+        buffer.addSegment(entry, 0, 150, WIDTH, 150 + SIZE);
+        startFrame(ITEM_COUNT);
+    }
+
+    @Test
+    public void scrolledChildTranslatesItsDividers() {
+        final int entry = buffer.reuse(3, 0, 63, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE, 0, params);
+
+        assertEquals(0, entry);
+        assertEquals(1, buffer.segmentCount(entry));
+        final int offset = buffer.segmentOffset(entry, 0);
+        final int[] segments = buffer.segments();
+        assertEquals(0, segments[offset]);
+        assertEquals(113, segments[offset + 1]);
+        assertEquals(WIDTH, segments[offset + 2]);
+        assertEquals(113 + SIZE, segments[offset + 3]);
+    }
+
+    @Test
+    public void resizedChildIsComputedAgain() {
+        assertEquals(-1, buffer.reuse(3, 0, 63, WIDTH, HEIGHT + 10, VisibilityProvider.SHOW_ALL, SIZE, 0, params));
+    }
+
+    @Test
+    public void changedDividerIsComputedAgain() {
+        assertEquals(-1, buffer.reuse(3, 0, 63, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE * 2, 0, params));
+        assertEquals(-1, buffer.reuse(3, 0, 63, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE, 8, params));
+        final ViewGroup.MarginLayoutParams movedParams = new ViewGroup.MarginLayoutParams(WIDTH, HEIGHT);
+        movedParams.leftMargin = 5;
+        assertEquals(-1, buffer.reuse(3, 0, 63, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE, 0, movedParams));
+    }
+
+    @Test
+    public void newPositionIsComputedAgain() {
+        assertEquals(-1, buffer.reuse(4, 0, 63, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE, 0, params));
+    }
+
+    @Test
+    public void discardedPositionIsComputedAgain() {
+        buffer.discard(3, 4);
+        assertEquals(-1, buffer.reuse(3, 0, 63, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE, 0, params));
+    }
+
+    @Test
+    public void changedItemCountDiscardsThePreviousFrame() {
+        startFrame(ITEM_COUNT);
+        buffer.add(3, 0, 100, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE, 0, params);
+        startFrame(ITEM_COUNT + 1);
+        assertEquals(-1, buffer.reuse(3, 0, 100, WIDTH, HEIGHT, VisibilityProvider.SHOW_ALL, SIZE, 0, params));
+    }
+
+    private void startFrame(int itemCount) {
+        buffer.startFrame(itemCount, itemCount, 1, RecyclerView.VERTICAL, 1);
+    }
+}
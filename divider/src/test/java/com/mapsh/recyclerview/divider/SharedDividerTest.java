@@ -0,0 +1,98 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks a single divider added to more RecyclerViews, each one with its own state
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SharedDividerTest {
+    private static final int SIZE = 4;
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void eachRecyclerViewHasItsOwnLayout() {
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(SIZE).marginSize(0).build();
+        final RecyclerView list = newList(new LinearLayoutManager(context), 10);
+        final RecyclerView grid = newList(new GridLayoutManager(context, 2), 10);
+        divider.addTo(list);
+        divider.addTo(grid);
+        TestLists.layout(list, WIDTH, HEIGHT);
+        TestLists.layout(grid, WIDTH, HEIGHT);
+
+        assertNotSame(divider.stateOf(list), divider.stateOf(grid));
+        assertEquals(new Rect(0, 0, 0, SIZE), TestLists.offsetsOf(divider, list, 1));
+        assertEquals(new Rect(0, 0, SIZE / 2, SIZE), TestLists.offsetsOf(divider, grid, 0));
+        assertEquals(new Rect(SIZE / 2, 0, 0, SIZE), TestLists.offsetsOf(divider, grid, 1));
+    }
+
+    @Test
+    public void eachRecyclerViewHasItsOwnItemCount() {
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(SIZE).marginSize(0)
+                .hideLastDivider().build();
+        final RecyclerView shortList = newList(new LinearLayoutManager(context), 5);
+        final RecyclerView longList = newList(new LinearLayoutManager(context), 10);
+        divider.addTo(shortList);
+        divider.addTo(longList);
+        TestLists.layout(shortList, WIDTH, HEIGHT);
+        TestLists.layout(longList, WIDTH, HEIGHT);
+
+        // the position 4 is the last one only in the short list
+        assertEquals(new Rect(0, 0, 0, 0), TestLists.offsetsOf(divider, shortList, 4));
+        assertEquals(new Rect(0, 0, 0, SIZE), TestLists.offsetsOf(divider, longList, 4));
+        assertEquals(new Rect(0, 0, 0, 0), TestLists.offsetsOf(divider, longList, 9));
+    }
+
+    @Test
+    public void removedRecyclerViewReleasesOnlyItsState() {
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(SIZE).marginSize(0).build();
+        final RecyclerView removed = newList(new LinearLayoutManager(context), 10);
+        final RecyclerView kept = newList(new GridLayoutManager(context, 2), 10);
+        divider.addTo(removed);
+        divider.addTo(kept);
+        TestLists.layout(removed, WIDTH, HEIGHT);
+        TestLists.layout(kept, WIDTH, HEIGHT);
+        final ParentState removedState = divider.stateOf(removed);
+
+        divider.removeFrom(removed);
+        assertTrue(removedState.released);
+        assertFalse(divider.stateOf(kept).released);
+
+        // the remaining RecyclerView still follows the changes of its adapter
+        final TestLists.Adapter adapter = (TestLists.Adapter) kept.getAdapter();
+        adapter.setItemCount(3);
+        adapter.notifyDataSetChanged();
+        TestLists.layout(kept, WIDTH, HEIGHT);
+        // lines: [0, 1] [2]
+        assertEquals(new Rect(0, 0, SIZE / 2, SIZE), TestLists.offsetsOf(divider, kept, 2));
+    }
+
+    private RecyclerView newList(RecyclerView.LayoutManager layoutManager, int itemCount) {
+        return TestLists.newList(context, layoutManager, new TestLists.Adapter(itemCount, ViewGroup.LayoutParams.MATCH_PARENT, 50));
+    }
+}
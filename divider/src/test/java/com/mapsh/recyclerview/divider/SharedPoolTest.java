@@ -0,0 +1,70 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the span data stored in the children moved between RecyclerViews by a shared RecycledViewPool
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SharedPoolTest {
+    private static final int LIST_COUNT = 20;
+    private static final int ITEM_COUNT = 10;
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 600;
+
+    @Test
+    public void childrenOfASharedPoolDontAccumulateSpanData() {
+        final Context context = RuntimeEnvironment.application;
+        final RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+        pool.setMaxRecycledViews(0, ITEM_COUNT);
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(4).build();
+
+        // the first holder stored in each child, new holders would be added at the head of the list
+        final Map<View, Object> heads = new IdentityHashMap<>();
+        int reusedChildren = 0;
+        ParentState previousState = null;
+        for (int i = 0; i < LIST_COUNT; i++) {
+            // e.g. the carousels of a feed, each one is a RecyclerView with the same divider
+            final RecyclerView recyclerView = TestLists.newList(context, new LinearLayoutManager(context),
+                    new TestLists.Adapter(ITEM_COUNT, ViewGroup.LayoutParams.MATCH_PARENT, 50));
+            recyclerView.setRecycledViewPool(pool);
+            divider.addTo(recyclerView);
+            TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+            for (int k = 0; k < recyclerView.getChildCount(); k++) {
+                final View child = recyclerView.getChildAt(k);
+                final Object head = child.getTag(R.id.recyclerview_divider_spec);
+                if (heads.containsKey(child)) {
+                    reusedChildren++;
+                    assertSame(heads.get(child), head);
+                    if (previousState != null) {
+                        assertNull(ChildSpec.find(child, previousState));
+                    }
+                } else {
+                    heads.put(child, head);
+                }
+            }
+            previousState = divider.stateOf(recyclerView);
+            // the children go back to the shared pool
+            recyclerView.swapAdapter(new TestLists.Adapter(0, ViewGroup.LayoutParams.MATCH_PARENT, 50), true);
+        }
+        assertTrue(reusedChildren > 0);
+    }
+}
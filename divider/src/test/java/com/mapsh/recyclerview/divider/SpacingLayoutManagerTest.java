@@ -0,0 +1,129 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that {@link SpacingLinearLayoutManager} and {@link SpacingGridLayoutManager} place the children
+ * like a divider set with {@link RecyclerViewDivider.Builder#asSpace()}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SpacingLayoutManagerTest {
+    private static final int SPAN_COUNT = 3;
+    private static final int ITEM_COUNT = 12;
+    private static final int ITEM_HEIGHT = 50;
+    private static final int SPACING = 8;
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 1000;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void linearLayoutPlacesTheSpaceAfterEachItem() {
+        final SpacingLinearLayoutManager layoutManager = new SpacingLinearLayoutManager(context);
+        layoutManager.setSpacing(SPACING);
+        final RecyclerView recyclerView = newList(layoutManager);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        for (int position = 0; position < ITEM_COUNT; position++) {
+            assertEquals(position * (ITEM_HEIGHT + SPACING), childAt(recyclerView, position).getTop());
+        }
+    }
+
+    @Test
+    public void linearLayoutMatchesASpaceDivider() {
+        final SpacingLinearLayoutManager layoutManager = new SpacingLinearLayoutManager(context);
+        layoutManager.setSpacing(SPACING);
+        layoutManager.setHideLastSpacing(true);
+
+        assertSameBounds(spaceDividerList(new LinearLayoutManager(context)), newList(layoutManager));
+    }
+
+    @Test
+    public void gridLayoutMatchesASpaceDivider() {
+        final GridLayoutManager expectedLayoutManager = new GridLayoutManager(context, SPAN_COUNT);
+        expectedLayoutManager.setSpanSizeLookup(new FullWidthHeaders());
+        final SpacingGridLayoutManager layoutManager = new SpacingGridLayoutManager(context, SPAN_COUNT);
+        layoutManager.setSpanSizeLookup(new FullWidthHeaders());
+        layoutManager.setSpacing(SPACING);
+        layoutManager.setHideLastSpacing(true);
+
+        assertSameBounds(spaceDividerList(expectedLayoutManager), newList(layoutManager));
+    }
+
+    @Test
+    public void changedSpacingReplacesThePreviousOne() {
+        final SpacingLinearLayoutManager layoutManager = new SpacingLinearLayoutManager(context);
+        layoutManager.setSpacing(SPACING);
+        final RecyclerView recyclerView = newList(layoutManager);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        layoutManager.setSpacing(2 * SPACING);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        // the margins don't accumulate the spacing of the previous layouts
+        final ViewGroup.MarginLayoutParams params = (ViewGroup.MarginLayoutParams) childAt(recyclerView, 1).getLayoutParams();
+        assertEquals(2 * SPACING, params.bottomMargin);
+        assertEquals(ITEM_HEIGHT + 2 * SPACING, childAt(recyclerView, 1).getTop());
+    }
+
+    private RecyclerView spaceDividerList(RecyclerView.LayoutManager layoutManager) {
+        final RecyclerView recyclerView = newList(layoutManager);
+        RecyclerViewDivider.with(context).asSpace().size(SPACING).marginSize(0).hideLastDivider().build().addTo(recyclerView);
+        return recyclerView;
+    }
+
+    private RecyclerView newList(RecyclerView.LayoutManager layoutManager) {
+        return TestLists.newList(context, layoutManager, new TestLists.Adapter(ITEM_COUNT, ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+    }
+
+    private static void assertSameBounds(RecyclerView expected, RecyclerView actual) {
+        TestLists.layout(expected, WIDTH, HEIGHT);
+        TestLists.layout(actual, WIDTH, HEIGHT);
+        assertEquals(expected.getChildCount(), actual.getChildCount());
+        for (int position = 0; position < ITEM_COUNT; position++) {
+            final View expectedChild = childAt(expected, position);
+            final View actualChild = childAt(actual, position);
+            final String message = "position " + position;
+            assertEquals(message, expectedChild.getLeft(), actualChild.getLeft());
+            assertEquals(message, expectedChild.getTop(), actualChild.getTop());
+            assertEquals(message, expectedChild.getRight(), actualChild.getRight());
+            assertEquals(message, expectedChild.getBottom(), actualChild.getBottom());
+        }
+    }
+
+    private static View childAt(RecyclerView recyclerView, int position) {
+        final RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(position);
+        if (holder == null)
+            throw new IllegalArgumentException("the position " + position + " isn't laid out");
+
+        return holder.itemView;
+    }
+
+    /**
+     * Every fifth item fills its line
+     */
+    private static class FullWidthHeaders extends GridLayoutManager.SpanSizeLookup {
+        @Override
+        public int getSpanSize(int position) {
+            return position % 5 == 0 ? SPAN_COUNT : 1;
+        }
+    }
+}
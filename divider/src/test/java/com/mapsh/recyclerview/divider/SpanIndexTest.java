@@ -0,0 +1,105 @@
+package com.mapsh.recyclerview.divider;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the span data built in parallel by {@link SpanIndexBuilder} and walked by {@link SpanWalk}
+ * matches the sequential {@link SpanIndex#build(GridLayoutManager.SpanSizeLookup, int, int)}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SpanIndexTest {
+    private static final int SPAN_COUNT = 4;
+    // the last chunk is partial and the lines cross the chunks' boundaries
+    private static final int ITEM_COUNT = 3 * SpanIndexBuilder.CHUNK_SIZE + 517;
+
+    @Test
+    public void parallelIndexMatchesSequentialIndex() throws InterruptedException {
+        assertSameIndex(new UnevenSpanSizeLookup(), SPAN_COUNT, ITEM_COUNT);
+    }
+
+    @Test
+    public void parallelIndexMatchesSequentialIndexWithFullLinesAtTheBoundaries() throws InterruptedException {
+        // each chunk ends with a full width item, so every chunk starts a new line
+        assertSameIndex(new GridLayoutManager.SpanSizeLookup() {
+            @Override
+            public int getSpanSize(int position) {
+                return (position + 1) % SpanIndexBuilder.CHUNK_SIZE == 0 ? SPAN_COUNT : 1;
+            }
+        }, SPAN_COUNT, ITEM_COUNT);
+    }
+
+    @Test
+    public void parallelIndexMatchesSequentialIndexWithASingleSpan() throws InterruptedException {
+        assertSameIndex(new UnevenSpanSizeLookup(), 1, ITEM_COUNT);
+    }
+
+    @Test
+    public void walkMatchesSequentialIndex() {
+        final GridLayoutManager.SpanSizeLookup lookup = new UnevenSpanSizeLookup();
+        final int itemCount = 2000;
+        final SpanIndex expected = SpanIndex.build(lookup, SPAN_COUNT, itemCount);
+        final SpanWalk walk = new SpanWalk(lookup, SPAN_COUNT, itemCount);
+
+        // the walk is extended on demand, also by a position far from the last walked one
+        for (int pos : new int[]{10, 1500, 3, itemCount - 1, 700}) {
+            final int groupIndex = walk.groupIndexOf(pos);
+            final int spanSize = Math.min(lookup.getSpanSize(pos), SPAN_COUNT);
+            assertEquals(expected.groupIndexOf(pos), groupIndex);
+            assertEquals(expected.spanIndexOf(pos) + spanSize, walk.accumulatedSpanOf(pos, spanSize, groupIndex));
+        }
+    }
+
+    @Test
+    public void walkIgnoresPositionsOutsideTheList() {
+        final SpanWalk walk = new SpanWalk(new UnevenSpanSizeLookup(), SPAN_COUNT, 100);
+
+        final int groupIndex = walk.groupIndexOf(RecyclerView.NO_POSITION);
+        assertEquals(RecyclerView.NO_POSITION, groupIndex);
+        assertEquals(1, walk.accumulatedSpanOf(RecyclerView.NO_POSITION, 1, groupIndex));
+        assertEquals(2, walk.accumulatedSpanOf(100, 2, walk.groupIndexOf(100)));
+    }
+
+    private static void assertSameIndex(@NonNull GridLayoutManager.SpanSizeLookup lookup, int spanCount, int itemCount)
+            throws InterruptedException {
+        final SpanIndex expected = SpanIndex.build(lookup, spanCount, itemCount);
+        final SpanIndex[] built = new SpanIndex[1];
+        final CountDownLatch latch = new CountDownLatch(1);
+        SpanIndexBuilder.buildAsync(lookup, spanCount, itemCount, new SpanIndexBuilder.Callback() {
+            @Override
+            public void onSpanIndexBuilt(@NonNull SpanIndex spanIndex) {
+                built[0] = spanIndex;
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+
+        final SpanIndex actual = built[0];
+        assertEquals(expected.groupCount, actual.groupCount);
+        for (int pos = 0; pos < itemCount; pos++) {
+            assertEquals("span index of " + pos, expected.spanIndexOf(pos), actual.spanIndexOf(pos));
+            assertEquals("group index of " + pos, expected.groupIndexOf(pos), actual.groupIndexOf(pos));
+        }
+    }
+
+    /**
+     * Lookup with span sizes from 1 to more than the span count, so some lines aren't filled
+     */
+    private static class UnevenSpanSizeLookup extends GridLayoutManager.SpanSizeLookup {
+        @Override
+        public int getSpanSize(int position) {
+            return position * 7 % 5 + 1;
+        }
+    }
+}
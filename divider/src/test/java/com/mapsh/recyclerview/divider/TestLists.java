@@ -0,0 +1,126 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Headless RecyclerViews used by the unit tests of the divider.
+ * <br>
+ * The tests that record the dividers' drawing use the fixtures of divider-testing instead.
+ */
+final class TestLists {
+
+    private TestLists() {
+        // utility class
+    }
+
+    /**
+     * Creates a RecyclerView without item animator, not laid out yet
+     *
+     * @param context       current context
+     * @param layoutManager layout manager of the RecyclerView
+     * @param adapter       adapter of the RecyclerView
+     * @return a new RecyclerView
+     */
+    @NonNull
+    static RecyclerView newList(@NonNull Context context, @NonNull RecyclerView.LayoutManager layoutManager, @NonNull RecyclerView.Adapter adapter) {
+        final RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setItemAnimator(null);
+        recyclerView.setLayoutManager(layoutManager);
+        recyclerView.setAdapter(adapter);
+        return recyclerView;
+    }
+
+    /**
+     * Measures and lays out a RecyclerView, calling getItemOffsets() of the attached decorations for each child
+     *
+     * @param recyclerView RecyclerView to lay out
+     * @param width        width of the RecyclerView in px
+     * @param height       height of the RecyclerView in px
+     */
+    static void layout(@NonNull RecyclerView recyclerView, int width, int height) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, width, height);
+    }
+
+    /**
+     * @param decoration   decoration added to the RecyclerView
+     * @param recyclerView RecyclerView already laid out
+     * @param position     adapter position of a child
+     * @return the offsets of the child computed by the decoration
+     */
+    @NonNull
+    static Rect offsetsOf(@NonNull RecyclerView.ItemDecoration decoration, @NonNull RecyclerView recyclerView, int position) {
+        final RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(position);
+        if (holder == null)
+            throw new IllegalArgumentException("the position " + position + " isn't laid out");
+
+        final Rect offsets = new Rect();
+        decoration.getItemOffsets(offsets, holder.itemView, recyclerView, new RecyclerView.State());
+        return offsets;
+    }
+
+    /**
+     * Adapter of fixed size items, the view type of each position can be changed
+     */
+    static class Adapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        private final int itemWidth;
+        private final int itemHeight;
+        private final SparseIntArray viewTypes = new SparseIntArray();
+        private int itemCount;
+
+        /**
+         * @param itemCount  number of items
+         * @param itemWidth  width of each item in px, or {@link ViewGroup.LayoutParams#MATCH_PARENT}
+         * @param itemHeight height of each item in px, or {@link ViewGroup.LayoutParams#MATCH_PARENT}
+         */
+        Adapter(int itemCount, int itemWidth, int itemHeight) {
+            this.itemCount = itemCount;
+            this.itemWidth = itemWidth;
+            this.itemHeight = itemHeight;
+        }
+
+        /**
+         * Changes the number of items without notifying the change
+         */
+        void setItemCount(int itemCount) {
+            this.itemCount = itemCount;
+        }
+
+        /**
+         * Changes the view type of a position without notifying the change
+         */
+        void setViewType(int position, int viewType) {
+            viewTypes.put(position, viewType);
+        }
+
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            final View view = new View(parent.getContext());
+            view.setLayoutParams(new RecyclerView.LayoutParams(itemWidth, itemHeight));
+            return new RecyclerView.ViewHolder(view) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+            // fixed size items don't need to be bound
+        }
+
+        @Override
+        public int getItemViewType(int position) {
+            return viewTypes.get(position);
+        }
+
+        @Override
+        public int getItemCount() {
+            return itemCount;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.mapsh.recyclerview.divider;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the dividers styled by {@link RecyclerViewDivider.Builder#viewTypeStyle(int, ViewTypeStyle)}
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ViewTypeStyleTest {
+    private static final int SIZE = 4;
+    private static final int HEADER_SIZE = 10;
+    private static final int TYPE_HEADER = 1;
+    private static final int TYPE_AD = 2;
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 600;
+
+    private Context context;
+    private TestLists.Adapter adapter;
+    private RecyclerView recyclerView;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.application;
+        adapter = new TestLists.Adapter(10, ViewGroup.LayoutParams.MATCH_PARENT, 50);
+        adapter.setViewType(0, TYPE_HEADER);
+        adapter.setViewType(5, TYPE_HEADER);
+        adapter.setViewType(3, TYPE_AD);
+        recyclerView = TestLists.newList(context, new LinearLayoutManager(context), adapter);
+    }
+
+    @Test
+    public void stylesOverrideTheFactoriesOfTheirViewTypes() {
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(SIZE).marginSize(0)
+                .viewTypeStyle(TYPE_HEADER, ViewTypeStyle.create().size(HEADER_SIZE))
+                .viewTypeStyle(TYPE_AD, ViewTypeStyle.create().visibility(VisibilityProvider.SHOW_NONE))
+                .build();
+        divider.addTo(recyclerView);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+
+        assertEquals(new Rect(0, 0, 0, HEADER_SIZE), TestLists.offsetsOf(divider, recyclerView, 0));
+        assertEquals(new Rect(0, 0, 0, HEADER_SIZE), TestLists.offsetsOf(divider, recyclerView, 5));
+        assertEquals(new Rect(0, 0, 0, 0), TestLists.offsetsOf(divider, recyclerView, 3));
+        // the view types without a style use the factories
+        assertEquals(new Rect(0, 0, 0, SIZE), TestLists.offsetsOf(divider, recyclerView, 1));
+    }
+
+    @Test
+    public void changedViewTypeUsesItsStyle() {
+        final RecyclerViewDivider divider = RecyclerViewDivider.with(context).color(Color.RED).size(SIZE).marginSize(0)
+                .viewTypeStyle(TYPE_HEADER, ViewTypeStyle.create().size(HEADER_SIZE))
+                .build();
+        divider.addTo(recyclerView);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+        assertEquals(new Rect(0, 0, 0, SIZE), TestLists.offsetsOf(divider, recyclerView, 2));
+
+        adapter.setViewType(2, TYPE_HEADER);
+        adapter.notifyItemChanged(2);
+        TestLists.layout(recyclerView, WIDTH, HEIGHT);
+        assertEquals(new Rect(0, 0, 0, HEADER_SIZE), TestLists.offsetsOf(divider, recyclerView, 2));
+    }
+
+    @Test
+    public void viewTypesOutsideTheDirectTableAreFound() {
+        final SparseArray<ViewTypeStyle> styles = new SparseArray<>();
+        styles.put(-3, ViewTypeStyle.create().size(1));
+        styles.put(7, ViewTypeStyle.create().size(2));
+        styles.put(5000, ViewTypeStyle.create().size(3));
+        final ViewTypeStyles table = new ViewTypeStyles(styles);
+
+        assertEquals(1, table.sizes[table.indexOf(-3)]);
+        assertEquals(2, table.sizes[table.indexOf(7)]);
+        assertEquals(3, table.sizes[table.indexOf(5000)]);
+        assertEquals(-1, table.indexOf(8));
+    }
+
+    @Test
+    public void smallViewTypesAreFoundInTheDirectTable() {
+        final SparseArray<ViewTypeStyle> styles = new SparseArray<>();
+        styles.put(0, ViewTypeStyle.create().size(1));
+        styles.put(4, ViewTypeStyle.create().size(2));
+        final ViewTypeStyles table = new ViewTypeStyles(styles);
+
+        assertEquals(1, table.sizes[table.indexOf(0)]);
+        assertEquals(2, table.sizes[table.indexOf(4)]);
+        assertEquals(-1, table.indexOf(2));
+        assertEquals(-1, table.indexOf(5));
+        assertEquals(-1, table.indexOf(-1));
+    }
+}